@@ -0,0 +1,434 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.TypeConverter;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Measures {@link InfluxCli#bind(Class, String[])} for commands of different sizes and for the conversion paths which
+ * the binding pipeline supports: built-in types, short flag clusters, declared and registered
+ * {@link TypeConverter}s and defaults which are read from the environment.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BindBenchmark {
+
+    private static final String PORT_VARIABLE = "INFLUX_CLI_BENCHMARK_PORT";
+
+    private static final String HOST_VARIABLE = "INFLUX_CLI_BENCHMARK_HOST";
+
+    private InfluxCli influxCli;
+    private InfluxCli registeredCli;
+    private String[] smallArgs;
+    private String[] mediumArgs;
+    private String[] largeSparseArgs;
+    private String[] largeFullArgs;
+    private String[] clusterArgs;
+    private String[] converterArgs;
+
+    /**
+     * Default constructor.
+     */
+    public BindBenchmark() {
+    }
+
+    /**
+     * Creates the arguments and publishes the environment defaults as system properties.
+     */
+    @Setup
+    public void setUp() {
+        // The properties are published first, because each instance takes a snapshot of them when it is created
+        System.setProperty(PORT_VARIABLE, "8080");
+        System.setProperty(HOST_VARIABLE, "localhost");
+
+        influxCli = new InfluxCli();
+        registeredCli = new InfluxCli().register(Point.class, new PointConverter());
+
+        smallArgs = new String[]{"--name", "benchmark", "-c", "42", "--verbose"};
+        mediumArgs = new String[]{
+            "--host", "localhost", "--port", "8080", "--user", "admin", "--password", "secret", "--database", "metrics",
+            "--timeout", "30000", "--retries", "3", "--ratio", "0.75", "--threshold", "12.5", "--region", "us-east-1",
+            "--tag", "a", "--tag", "b", "--tag", "c", "--compress", "--secure", "--batch-size", "500",
+            "--buffer-size", "65536", "--initial", "x", "--label", "production", "--owner", "ops"
+        };
+
+        List<String> sparse = new ArrayList<>();
+        List<String> full = new ArrayList<>();
+
+        for (int i = 0; i < LargeCommand.OPTION_COUNT; i++) {
+            String flag = String.format("--option%04d", i);
+            full.add(flag);
+            full.add("value" + i);
+
+            // Every hundredth option, so that looking options up dominates rather than setting fields
+            if (i % 100 == 0) {
+                sparse.add(flag);
+                sparse.add("value" + i);
+            }
+        }
+
+        largeSparseArgs = sparse.toArray(new String[0]);
+        largeFullArgs = full.toArray(new String[0]);
+        clusterArgs = new String[]{"-abcdefgi", "-ab", "-cd", "-efgi"};
+        converterArgs = new String[]{"--origin", "3,4", "--target", "10,20"};
+    }
+
+    /**
+     * Removes the environment defaults.
+     */
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(PORT_VARIABLE);
+        System.clearProperty(HOST_VARIABLE);
+    }
+
+    /**
+     * Binds a command with three options.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindSmall() throws ParseException, HelpException {
+        return influxCli.bind(SmallCommand.class, smallArgs);
+    }
+
+    /**
+     * Binds a command with twenty options of mixed types.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindMedium() throws ParseException, HelpException {
+        return influxCli.bind(MediumCommand.class, mediumArgs);
+    }
+
+    /**
+     * Binds ten of the options of a command with 1,000 options.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindLargeSparse() throws ParseException, HelpException {
+        return influxCli.bind(LargeCommand.class, largeSparseArgs);
+    }
+
+    /**
+     * Binds every option of a command with 1,000 options.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindLargeFull() throws ParseException, HelpException {
+        return influxCli.bind(LargeCommand.class, largeFullArgs);
+    }
+
+    /**
+     * Binds clusters of short boolean flags such as {@code -abcdefgi}.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindShortFlagClusters() throws ParseException, HelpException {
+        return influxCli.bind(ClusterCommand.class, clusterArgs);
+    }
+
+    /**
+     * Binds values with the converter which is declared on the field.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindDeclaredConverter() throws ParseException, HelpException {
+        return influxCli.bind(ConverterCommand.class, converterArgs);
+    }
+
+    /**
+     * Binds values with a converter which is registered with {@link InfluxCli}.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindRegisteredConverter() throws ParseException, HelpException {
+        return registeredCli.bind(ConverterCommand.class, converterArgs);
+    }
+
+    /**
+     * Binds a command whose options default to environment variables, without any arguments.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindEnvironmentDefaults() throws ParseException, HelpException {
+        return influxCli.bind(EnvironmentCommand.class, new String[0]);
+    }
+
+    /**
+     * A command with three options.
+     */
+    public static class SmallCommand {
+        @Arg(required = true)
+        String name;
+
+        @Arg(code = 'c')
+        int count;
+
+        @Arg
+        boolean verbose;
+
+        /**
+         * Default constructor.
+         */
+        public SmallCommand() {
+        }
+    }
+
+    /**
+     * A command with twenty options of mixed types, which is typical of a command line tool.
+     */
+    public static class MediumCommand {
+        @Arg(code = 'H', description = "The host to connect to")
+        String host;
+
+        @Arg(code = 'p', description = "The port to connect to")
+        int port;
+
+        @Arg(code = 'u', description = "The user to connect as")
+        String user;
+
+        @Arg(description = "The password of the user")
+        String password;
+
+        @Arg(code = 'd', description = "The database to write to")
+        String database;
+
+        @Arg(description = "The timeout in milliseconds")
+        long timeout;
+
+        @Arg(description = "The number of times a failed write is retried")
+        Integer retries;
+
+        @Arg(description = "The sampling ratio")
+        double ratio;
+
+        @Arg(description = "The alerting threshold")
+        Double threshold;
+
+        @Arg(description = "The region of the database")
+        String region;
+
+        @Arg(flag = "tag", collectionType = String.class, description = "A tag which is added to every point")
+        List<String> tags;
+
+        @Arg(description = "Compress requests")
+        boolean compress;
+
+        @Arg(description = "Connect with TLS")
+        boolean secure;
+
+        @Arg(description = "The number of points per request")
+        int batchSize;
+
+        @Arg(description = "The size of the write buffer in bytes")
+        int bufferSize;
+
+        @Arg(description = "An initial")
+        char initial;
+
+        @Arg(description = "The label of the deployment")
+        String label;
+
+        @Arg(description = "The owner of the deployment")
+        String owner;
+
+        @Arg(description = "Only print what would be written")
+        boolean dryRun;
+
+        @Arg(description = "The precision of timestamps")
+        String precision;
+
+        /**
+         * Default constructor.
+         */
+        public MediumCommand() {
+        }
+    }
+
+    /**
+     * A command with eight short boolean flags.
+     */
+    public static class ClusterCommand {
+        @Arg(code = 'a')
+        boolean alpha;
+
+        @Arg(code = 'b')
+        boolean bravo;
+
+        @Arg(code = 'c')
+        boolean charlie;
+
+        @Arg(code = 'd')
+        boolean delta;
+
+        @Arg(code = 'e')
+        boolean echo;
+
+        @Arg(code = 'f')
+        boolean foxtrot;
+
+        @Arg(code = 'g')
+        boolean golf;
+
+        @Arg(code = 'i')
+        boolean india;
+
+        /**
+         * Default constructor.
+         */
+        public ClusterCommand() {
+        }
+    }
+
+    /**
+     * A command whose options are converted by a {@link TypeConverter}.
+     */
+    public static class ConverterCommand {
+        @Arg(converter = PointConverter.class)
+        Point origin;
+
+        @Arg(converter = PointConverter.class)
+        Point target;
+
+        /**
+         * Default constructor.
+         */
+        public ConverterCommand() {
+        }
+    }
+
+    /**
+     * A command whose options default to environment variables.
+     */
+    public static class EnvironmentCommand {
+        @Arg(environmentVariable = PORT_VARIABLE)
+        int port;
+
+        @Arg(environmentVariable = HOST_VARIABLE)
+        String host;
+
+        /**
+         * Default constructor.
+         */
+        public EnvironmentCommand() {
+        }
+    }
+
+    /**
+     * A value which is not supported by default.
+     */
+    public static class Point {
+        private final int column;
+        private final int row;
+
+        /**
+         * Creates a point.
+         *
+         * @param column The column of the point
+         * @param row The row of the point
+         */
+        public Point(int column, int row) {
+            this.column = column;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Converts strings such as {@code 3,4} into points.
+     */
+    public static class PointConverter implements TypeConverter<Point> {
+        /**
+         * Default constructor.
+         */
+        public PointConverter() {
+        }
+
+        @Override
+        public Class<Point> getType() {
+            return Point.class;
+        }
+
+        @Override
+        public Point read(String value) {
+            int comma = value.indexOf(',');
+            return new Point(Integer.parseInt(value.substring(0, comma)), Integer.parseInt(value.substring(comma + 1)));
+        }
+
+        @Override
+        public String write(Point value) {
+            return value.column + "," + value.row;
+        }
+    }
+}
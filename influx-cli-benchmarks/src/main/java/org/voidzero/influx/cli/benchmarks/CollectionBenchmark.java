@@ -0,0 +1,142 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Measures binding large numbers of values into collection and array fields, both as trailing positional values and
+ * as repeated options.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int count;
+
+    private InfluxCli influxCli;
+    private String[] positionalArgs;
+    private String[] repeatedArgs;
+
+    /**
+     * Default constructor.
+     */
+    public CollectionBenchmark() {
+    }
+
+    /**
+     * Creates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        influxCli = new InfluxCli();
+        positionalArgs = new String[count];
+        repeatedArgs = new String[count * 2];
+
+        for (int i = 0; i < count; i++) {
+            positionalArgs[i] = "file" + i + ".txt";
+            repeatedArgs[i * 2] = "--size";
+            repeatedArgs[i * 2 + 1] = Integer.toString(i);
+        }
+    }
+
+    /**
+     * Binds every argument to a trailing positional list.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindPositionalList() throws ParseException, HelpException {
+        return influxCli.bind(PositionalCommand.class, positionalArgs);
+    }
+
+    /**
+     * Binds a repeated option to an int array.
+     *
+     * @return The bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public Object bindRepeatedIntArray() throws ParseException, HelpException {
+        return influxCli.bind(RepeatedCommand.class, repeatedArgs);
+    }
+
+    /**
+     * A command which accepts any number of files.
+     */
+    public static class PositionalCommand {
+        @Ordered(order = 0, collectionType = String.class)
+        List<String> files;
+
+        /**
+         * Default constructor.
+         */
+        public PositionalCommand() {
+        }
+    }
+
+    /**
+     * A command which accepts any number of sizes.
+     */
+    public static class RepeatedCommand {
+        @Arg(flag = "size")
+        int[] sizes;
+
+        /**
+         * Default constructor.
+         */
+        public RepeatedCommand() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.voidzero.influx.cli.FieldAccessor;
+import org.voidzero.influx.cli.ReflectionUtil;
+
+/**
+ * Compares the exception driven access cascade which {@link ReflectionUtil} used before {@link FieldAccessor}
+ * existed with a resolved {@link FieldAccessor}. Each operation is a write followed by a read.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldAccessorBenchmark {
+
+    private Field field;
+    private FieldAccessor accessor;
+    private Target target;
+
+    /**
+     * Default constructor.
+     */
+    public FieldAccessorBenchmark() {
+    }
+
+    /**
+     * Resolves the field and its accessor.
+     *
+     * @throws NoSuchFieldException If the field does not exist
+     */
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        field = Target.class.getDeclaredField("value");
+        accessor = FieldAccessor.of(field);
+        target = new Target();
+    }
+
+    /**
+     * Writes and reads the field through the exception driven cascade.
+     *
+     * @return The value which was read
+     * @throws IllegalAccessException If the field cannot be accessed
+     */
+    @Benchmark
+    public Object legacyCascade() throws IllegalAccessException {
+        legacySet(field, target, "value");
+        return legacyGet(field, target);
+    }
+
+    /**
+     * Writes and reads the field through the resolved accessor.
+     *
+     * @return The value which was read
+     * @throws IllegalAccessException If the field cannot be accessed
+     */
+    @Benchmark
+    public Object fieldAccessor() throws IllegalAccessException {
+        accessor.set(target, "value");
+        return accessor.get(target);
+    }
+
+    /**
+     * The read cascade as it was implemented before accessors were resolved ahead of time.
+     *
+     * @param field The field to read
+     * @param instance The instance to read from
+     *
+     * @return The value of the field
+     * @throws IllegalAccessException If the field cannot be read
+     */
+    private static Object legacyGet(Field field, Object instance) throws IllegalAccessException {
+        Method getterMethod = ReflectionUtil.findGetterMethod(field);
+
+        try {
+            return getterMethod.invoke(instance);
+        } catch (NullPointerException | InvocationTargetException | IllegalAccessException e1) {
+            try {
+                return field.get(instance);
+            } catch (IllegalAccessException e2) {
+                try {
+                    getterMethod.setAccessible(true);
+                    return getterMethod.invoke(instance);
+                } catch (NullPointerException | InvocationTargetException | IllegalAccessException e3) {
+                    field.setAccessible(true);
+                    return field.get(instance);
+                }
+            }
+        }
+    }
+
+    /**
+     * The write cascade as it was implemented before accessors were resolved ahead of time.
+     *
+     * @param field The field to write
+     * @param instance The instance to write to
+     * @param value The value to write
+     * @throws IllegalAccessException If the field cannot be written
+     */
+    private static void legacySet(Field field, Object instance, Object value) throws IllegalAccessException {
+        Method setterMethod = ReflectionUtil.findSetterMethod(field);
+
+        try {
+            setterMethod.invoke(instance, value);
+        } catch (NullPointerException | IllegalAccessException | InvocationTargetException e1) {
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException e2) {
+                try {
+                    setterMethod.setAccessible(true);
+                    setterMethod.invoke(instance, value);
+                } catch (NullPointerException | IllegalAccessException | InvocationTargetException e3) {
+                    field.setAccessible(true);
+                    field.set(instance, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * A class without accessor methods, which is the worst case for the legacy cascade.
+     */
+    private static class Target {
+        private String value;
+    }
+}
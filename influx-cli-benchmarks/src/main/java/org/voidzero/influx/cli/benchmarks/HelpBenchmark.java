@@ -0,0 +1,89 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.voidzero.influx.cli.InfluxCli;
+
+/**
+ * Measures rendering help messages with {@link InfluxCli#help(Class)}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HelpBenchmark {
+
+    /**
+     * Default constructor.
+     */
+    public HelpBenchmark() {
+    }
+
+    /**
+     * Renders the help message of a command with twenty documented options.
+     *
+     * @return The help message
+     */
+    @Benchmark
+    public String helpMedium() {
+        return InfluxCli.help(BindBenchmark.MediumCommand.class);
+    }
+
+    /**
+     * Renders the help message of a command with 1,000 options.
+     *
+     * @return The help message
+     */
+    @Benchmark
+    public String helpLarge() {
+        return InfluxCli.help(LargeCommand.class);
+    }
+
+    /**
+     * Renders the help message of a command with nested sub-commands.
+     *
+     * @return The help message
+     */
+    @Benchmark
+    public String helpSubCommands() {
+        return InfluxCli.help(SubCommandBenchmark.RootCommand.class);
+    }
+}
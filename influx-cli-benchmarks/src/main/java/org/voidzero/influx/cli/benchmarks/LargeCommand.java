@@ -0,0 +1,1047 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * A command with 1,000 options, which is the largest command the benchmarks bind. The fields are named
+ * {@code option0000} to {@code option0999} so that the benchmarks can build arguments for them in a loop.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class LargeCommand {
+    /**
+     * The number of options which are declared by this command.
+     */
+    public static final int OPTION_COUNT = 1000;
+
+    String option0000;
+    String option0001;
+    String option0002;
+    String option0003;
+    String option0004;
+    String option0005;
+    String option0006;
+    String option0007;
+    String option0008;
+    String option0009;
+    String option0010;
+    String option0011;
+    String option0012;
+    String option0013;
+    String option0014;
+    String option0015;
+    String option0016;
+    String option0017;
+    String option0018;
+    String option0019;
+    String option0020;
+    String option0021;
+    String option0022;
+    String option0023;
+    String option0024;
+    String option0025;
+    String option0026;
+    String option0027;
+    String option0028;
+    String option0029;
+    String option0030;
+    String option0031;
+    String option0032;
+    String option0033;
+    String option0034;
+    String option0035;
+    String option0036;
+    String option0037;
+    String option0038;
+    String option0039;
+    String option0040;
+    String option0041;
+    String option0042;
+    String option0043;
+    String option0044;
+    String option0045;
+    String option0046;
+    String option0047;
+    String option0048;
+    String option0049;
+    String option0050;
+    String option0051;
+    String option0052;
+    String option0053;
+    String option0054;
+    String option0055;
+    String option0056;
+    String option0057;
+    String option0058;
+    String option0059;
+    String option0060;
+    String option0061;
+    String option0062;
+    String option0063;
+    String option0064;
+    String option0065;
+    String option0066;
+    String option0067;
+    String option0068;
+    String option0069;
+    String option0070;
+    String option0071;
+    String option0072;
+    String option0073;
+    String option0074;
+    String option0075;
+    String option0076;
+    String option0077;
+    String option0078;
+    String option0079;
+    String option0080;
+    String option0081;
+    String option0082;
+    String option0083;
+    String option0084;
+    String option0085;
+    String option0086;
+    String option0087;
+    String option0088;
+    String option0089;
+    String option0090;
+    String option0091;
+    String option0092;
+    String option0093;
+    String option0094;
+    String option0095;
+    String option0096;
+    String option0097;
+    String option0098;
+    String option0099;
+    String option0100;
+    String option0101;
+    String option0102;
+    String option0103;
+    String option0104;
+    String option0105;
+    String option0106;
+    String option0107;
+    String option0108;
+    String option0109;
+    String option0110;
+    String option0111;
+    String option0112;
+    String option0113;
+    String option0114;
+    String option0115;
+    String option0116;
+    String option0117;
+    String option0118;
+    String option0119;
+    String option0120;
+    String option0121;
+    String option0122;
+    String option0123;
+    String option0124;
+    String option0125;
+    String option0126;
+    String option0127;
+    String option0128;
+    String option0129;
+    String option0130;
+    String option0131;
+    String option0132;
+    String option0133;
+    String option0134;
+    String option0135;
+    String option0136;
+    String option0137;
+    String option0138;
+    String option0139;
+    String option0140;
+    String option0141;
+    String option0142;
+    String option0143;
+    String option0144;
+    String option0145;
+    String option0146;
+    String option0147;
+    String option0148;
+    String option0149;
+    String option0150;
+    String option0151;
+    String option0152;
+    String option0153;
+    String option0154;
+    String option0155;
+    String option0156;
+    String option0157;
+    String option0158;
+    String option0159;
+    String option0160;
+    String option0161;
+    String option0162;
+    String option0163;
+    String option0164;
+    String option0165;
+    String option0166;
+    String option0167;
+    String option0168;
+    String option0169;
+    String option0170;
+    String option0171;
+    String option0172;
+    String option0173;
+    String option0174;
+    String option0175;
+    String option0176;
+    String option0177;
+    String option0178;
+    String option0179;
+    String option0180;
+    String option0181;
+    String option0182;
+    String option0183;
+    String option0184;
+    String option0185;
+    String option0186;
+    String option0187;
+    String option0188;
+    String option0189;
+    String option0190;
+    String option0191;
+    String option0192;
+    String option0193;
+    String option0194;
+    String option0195;
+    String option0196;
+    String option0197;
+    String option0198;
+    String option0199;
+    String option0200;
+    String option0201;
+    String option0202;
+    String option0203;
+    String option0204;
+    String option0205;
+    String option0206;
+    String option0207;
+    String option0208;
+    String option0209;
+    String option0210;
+    String option0211;
+    String option0212;
+    String option0213;
+    String option0214;
+    String option0215;
+    String option0216;
+    String option0217;
+    String option0218;
+    String option0219;
+    String option0220;
+    String option0221;
+    String option0222;
+    String option0223;
+    String option0224;
+    String option0225;
+    String option0226;
+    String option0227;
+    String option0228;
+    String option0229;
+    String option0230;
+    String option0231;
+    String option0232;
+    String option0233;
+    String option0234;
+    String option0235;
+    String option0236;
+    String option0237;
+    String option0238;
+    String option0239;
+    String option0240;
+    String option0241;
+    String option0242;
+    String option0243;
+    String option0244;
+    String option0245;
+    String option0246;
+    String option0247;
+    String option0248;
+    String option0249;
+    String option0250;
+    String option0251;
+    String option0252;
+    String option0253;
+    String option0254;
+    String option0255;
+    String option0256;
+    String option0257;
+    String option0258;
+    String option0259;
+    String option0260;
+    String option0261;
+    String option0262;
+    String option0263;
+    String option0264;
+    String option0265;
+    String option0266;
+    String option0267;
+    String option0268;
+    String option0269;
+    String option0270;
+    String option0271;
+    String option0272;
+    String option0273;
+    String option0274;
+    String option0275;
+    String option0276;
+    String option0277;
+    String option0278;
+    String option0279;
+    String option0280;
+    String option0281;
+    String option0282;
+    String option0283;
+    String option0284;
+    String option0285;
+    String option0286;
+    String option0287;
+    String option0288;
+    String option0289;
+    String option0290;
+    String option0291;
+    String option0292;
+    String option0293;
+    String option0294;
+    String option0295;
+    String option0296;
+    String option0297;
+    String option0298;
+    String option0299;
+    String option0300;
+    String option0301;
+    String option0302;
+    String option0303;
+    String option0304;
+    String option0305;
+    String option0306;
+    String option0307;
+    String option0308;
+    String option0309;
+    String option0310;
+    String option0311;
+    String option0312;
+    String option0313;
+    String option0314;
+    String option0315;
+    String option0316;
+    String option0317;
+    String option0318;
+    String option0319;
+    String option0320;
+    String option0321;
+    String option0322;
+    String option0323;
+    String option0324;
+    String option0325;
+    String option0326;
+    String option0327;
+    String option0328;
+    String option0329;
+    String option0330;
+    String option0331;
+    String option0332;
+    String option0333;
+    String option0334;
+    String option0335;
+    String option0336;
+    String option0337;
+    String option0338;
+    String option0339;
+    String option0340;
+    String option0341;
+    String option0342;
+    String option0343;
+    String option0344;
+    String option0345;
+    String option0346;
+    String option0347;
+    String option0348;
+    String option0349;
+    String option0350;
+    String option0351;
+    String option0352;
+    String option0353;
+    String option0354;
+    String option0355;
+    String option0356;
+    String option0357;
+    String option0358;
+    String option0359;
+    String option0360;
+    String option0361;
+    String option0362;
+    String option0363;
+    String option0364;
+    String option0365;
+    String option0366;
+    String option0367;
+    String option0368;
+    String option0369;
+    String option0370;
+    String option0371;
+    String option0372;
+    String option0373;
+    String option0374;
+    String option0375;
+    String option0376;
+    String option0377;
+    String option0378;
+    String option0379;
+    String option0380;
+    String option0381;
+    String option0382;
+    String option0383;
+    String option0384;
+    String option0385;
+    String option0386;
+    String option0387;
+    String option0388;
+    String option0389;
+    String option0390;
+    String option0391;
+    String option0392;
+    String option0393;
+    String option0394;
+    String option0395;
+    String option0396;
+    String option0397;
+    String option0398;
+    String option0399;
+    String option0400;
+    String option0401;
+    String option0402;
+    String option0403;
+    String option0404;
+    String option0405;
+    String option0406;
+    String option0407;
+    String option0408;
+    String option0409;
+    String option0410;
+    String option0411;
+    String option0412;
+    String option0413;
+    String option0414;
+    String option0415;
+    String option0416;
+    String option0417;
+    String option0418;
+    String option0419;
+    String option0420;
+    String option0421;
+    String option0422;
+    String option0423;
+    String option0424;
+    String option0425;
+    String option0426;
+    String option0427;
+    String option0428;
+    String option0429;
+    String option0430;
+    String option0431;
+    String option0432;
+    String option0433;
+    String option0434;
+    String option0435;
+    String option0436;
+    String option0437;
+    String option0438;
+    String option0439;
+    String option0440;
+    String option0441;
+    String option0442;
+    String option0443;
+    String option0444;
+    String option0445;
+    String option0446;
+    String option0447;
+    String option0448;
+    String option0449;
+    String option0450;
+    String option0451;
+    String option0452;
+    String option0453;
+    String option0454;
+    String option0455;
+    String option0456;
+    String option0457;
+    String option0458;
+    String option0459;
+    String option0460;
+    String option0461;
+    String option0462;
+    String option0463;
+    String option0464;
+    String option0465;
+    String option0466;
+    String option0467;
+    String option0468;
+    String option0469;
+    String option0470;
+    String option0471;
+    String option0472;
+    String option0473;
+    String option0474;
+    String option0475;
+    String option0476;
+    String option0477;
+    String option0478;
+    String option0479;
+    String option0480;
+    String option0481;
+    String option0482;
+    String option0483;
+    String option0484;
+    String option0485;
+    String option0486;
+    String option0487;
+    String option0488;
+    String option0489;
+    String option0490;
+    String option0491;
+    String option0492;
+    String option0493;
+    String option0494;
+    String option0495;
+    String option0496;
+    String option0497;
+    String option0498;
+    String option0499;
+    String option0500;
+    String option0501;
+    String option0502;
+    String option0503;
+    String option0504;
+    String option0505;
+    String option0506;
+    String option0507;
+    String option0508;
+    String option0509;
+    String option0510;
+    String option0511;
+    String option0512;
+    String option0513;
+    String option0514;
+    String option0515;
+    String option0516;
+    String option0517;
+    String option0518;
+    String option0519;
+    String option0520;
+    String option0521;
+    String option0522;
+    String option0523;
+    String option0524;
+    String option0525;
+    String option0526;
+    String option0527;
+    String option0528;
+    String option0529;
+    String option0530;
+    String option0531;
+    String option0532;
+    String option0533;
+    String option0534;
+    String option0535;
+    String option0536;
+    String option0537;
+    String option0538;
+    String option0539;
+    String option0540;
+    String option0541;
+    String option0542;
+    String option0543;
+    String option0544;
+    String option0545;
+    String option0546;
+    String option0547;
+    String option0548;
+    String option0549;
+    String option0550;
+    String option0551;
+    String option0552;
+    String option0553;
+    String option0554;
+    String option0555;
+    String option0556;
+    String option0557;
+    String option0558;
+    String option0559;
+    String option0560;
+    String option0561;
+    String option0562;
+    String option0563;
+    String option0564;
+    String option0565;
+    String option0566;
+    String option0567;
+    String option0568;
+    String option0569;
+    String option0570;
+    String option0571;
+    String option0572;
+    String option0573;
+    String option0574;
+    String option0575;
+    String option0576;
+    String option0577;
+    String option0578;
+    String option0579;
+    String option0580;
+    String option0581;
+    String option0582;
+    String option0583;
+    String option0584;
+    String option0585;
+    String option0586;
+    String option0587;
+    String option0588;
+    String option0589;
+    String option0590;
+    String option0591;
+    String option0592;
+    String option0593;
+    String option0594;
+    String option0595;
+    String option0596;
+    String option0597;
+    String option0598;
+    String option0599;
+    String option0600;
+    String option0601;
+    String option0602;
+    String option0603;
+    String option0604;
+    String option0605;
+    String option0606;
+    String option0607;
+    String option0608;
+    String option0609;
+    String option0610;
+    String option0611;
+    String option0612;
+    String option0613;
+    String option0614;
+    String option0615;
+    String option0616;
+    String option0617;
+    String option0618;
+    String option0619;
+    String option0620;
+    String option0621;
+    String option0622;
+    String option0623;
+    String option0624;
+    String option0625;
+    String option0626;
+    String option0627;
+    String option0628;
+    String option0629;
+    String option0630;
+    String option0631;
+    String option0632;
+    String option0633;
+    String option0634;
+    String option0635;
+    String option0636;
+    String option0637;
+    String option0638;
+    String option0639;
+    String option0640;
+    String option0641;
+    String option0642;
+    String option0643;
+    String option0644;
+    String option0645;
+    String option0646;
+    String option0647;
+    String option0648;
+    String option0649;
+    String option0650;
+    String option0651;
+    String option0652;
+    String option0653;
+    String option0654;
+    String option0655;
+    String option0656;
+    String option0657;
+    String option0658;
+    String option0659;
+    String option0660;
+    String option0661;
+    String option0662;
+    String option0663;
+    String option0664;
+    String option0665;
+    String option0666;
+    String option0667;
+    String option0668;
+    String option0669;
+    String option0670;
+    String option0671;
+    String option0672;
+    String option0673;
+    String option0674;
+    String option0675;
+    String option0676;
+    String option0677;
+    String option0678;
+    String option0679;
+    String option0680;
+    String option0681;
+    String option0682;
+    String option0683;
+    String option0684;
+    String option0685;
+    String option0686;
+    String option0687;
+    String option0688;
+    String option0689;
+    String option0690;
+    String option0691;
+    String option0692;
+    String option0693;
+    String option0694;
+    String option0695;
+    String option0696;
+    String option0697;
+    String option0698;
+    String option0699;
+    String option0700;
+    String option0701;
+    String option0702;
+    String option0703;
+    String option0704;
+    String option0705;
+    String option0706;
+    String option0707;
+    String option0708;
+    String option0709;
+    String option0710;
+    String option0711;
+    String option0712;
+    String option0713;
+    String option0714;
+    String option0715;
+    String option0716;
+    String option0717;
+    String option0718;
+    String option0719;
+    String option0720;
+    String option0721;
+    String option0722;
+    String option0723;
+    String option0724;
+    String option0725;
+    String option0726;
+    String option0727;
+    String option0728;
+    String option0729;
+    String option0730;
+    String option0731;
+    String option0732;
+    String option0733;
+    String option0734;
+    String option0735;
+    String option0736;
+    String option0737;
+    String option0738;
+    String option0739;
+    String option0740;
+    String option0741;
+    String option0742;
+    String option0743;
+    String option0744;
+    String option0745;
+    String option0746;
+    String option0747;
+    String option0748;
+    String option0749;
+    String option0750;
+    String option0751;
+    String option0752;
+    String option0753;
+    String option0754;
+    String option0755;
+    String option0756;
+    String option0757;
+    String option0758;
+    String option0759;
+    String option0760;
+    String option0761;
+    String option0762;
+    String option0763;
+    String option0764;
+    String option0765;
+    String option0766;
+    String option0767;
+    String option0768;
+    String option0769;
+    String option0770;
+    String option0771;
+    String option0772;
+    String option0773;
+    String option0774;
+    String option0775;
+    String option0776;
+    String option0777;
+    String option0778;
+    String option0779;
+    String option0780;
+    String option0781;
+    String option0782;
+    String option0783;
+    String option0784;
+    String option0785;
+    String option0786;
+    String option0787;
+    String option0788;
+    String option0789;
+    String option0790;
+    String option0791;
+    String option0792;
+    String option0793;
+    String option0794;
+    String option0795;
+    String option0796;
+    String option0797;
+    String option0798;
+    String option0799;
+    String option0800;
+    String option0801;
+    String option0802;
+    String option0803;
+    String option0804;
+    String option0805;
+    String option0806;
+    String option0807;
+    String option0808;
+    String option0809;
+    String option0810;
+    String option0811;
+    String option0812;
+    String option0813;
+    String option0814;
+    String option0815;
+    String option0816;
+    String option0817;
+    String option0818;
+    String option0819;
+    String option0820;
+    String option0821;
+    String option0822;
+    String option0823;
+    String option0824;
+    String option0825;
+    String option0826;
+    String option0827;
+    String option0828;
+    String option0829;
+    String option0830;
+    String option0831;
+    String option0832;
+    String option0833;
+    String option0834;
+    String option0835;
+    String option0836;
+    String option0837;
+    String option0838;
+    String option0839;
+    String option0840;
+    String option0841;
+    String option0842;
+    String option0843;
+    String option0844;
+    String option0845;
+    String option0846;
+    String option0847;
+    String option0848;
+    String option0849;
+    String option0850;
+    String option0851;
+    String option0852;
+    String option0853;
+    String option0854;
+    String option0855;
+    String option0856;
+    String option0857;
+    String option0858;
+    String option0859;
+    String option0860;
+    String option0861;
+    String option0862;
+    String option0863;
+    String option0864;
+    String option0865;
+    String option0866;
+    String option0867;
+    String option0868;
+    String option0869;
+    String option0870;
+    String option0871;
+    String option0872;
+    String option0873;
+    String option0874;
+    String option0875;
+    String option0876;
+    String option0877;
+    String option0878;
+    String option0879;
+    String option0880;
+    String option0881;
+    String option0882;
+    String option0883;
+    String option0884;
+    String option0885;
+    String option0886;
+    String option0887;
+    String option0888;
+    String option0889;
+    String option0890;
+    String option0891;
+    String option0892;
+    String option0893;
+    String option0894;
+    String option0895;
+    String option0896;
+    String option0897;
+    String option0898;
+    String option0899;
+    String option0900;
+    String option0901;
+    String option0902;
+    String option0903;
+    String option0904;
+    String option0905;
+    String option0906;
+    String option0907;
+    String option0908;
+    String option0909;
+    String option0910;
+    String option0911;
+    String option0912;
+    String option0913;
+    String option0914;
+    String option0915;
+    String option0916;
+    String option0917;
+    String option0918;
+    String option0919;
+    String option0920;
+    String option0921;
+    String option0922;
+    String option0923;
+    String option0924;
+    String option0925;
+    String option0926;
+    String option0927;
+    String option0928;
+    String option0929;
+    String option0930;
+    String option0931;
+    String option0932;
+    String option0933;
+    String option0934;
+    String option0935;
+    String option0936;
+    String option0937;
+    String option0938;
+    String option0939;
+    String option0940;
+    String option0941;
+    String option0942;
+    String option0943;
+    String option0944;
+    String option0945;
+    String option0946;
+    String option0947;
+    String option0948;
+    String option0949;
+    String option0950;
+    String option0951;
+    String option0952;
+    String option0953;
+    String option0954;
+    String option0955;
+    String option0956;
+    String option0957;
+    String option0958;
+    String option0959;
+    String option0960;
+    String option0961;
+    String option0962;
+    String option0963;
+    String option0964;
+    String option0965;
+    String option0966;
+    String option0967;
+    String option0968;
+    String option0969;
+    String option0970;
+    String option0971;
+    String option0972;
+    String option0973;
+    String option0974;
+    String option0975;
+    String option0976;
+    String option0977;
+    String option0978;
+    String option0979;
+    String option0980;
+    String option0981;
+    String option0982;
+    String option0983;
+    String option0984;
+    String option0985;
+    String option0986;
+    String option0987;
+    String option0988;
+    String option0989;
+    String option0990;
+    String option0991;
+    String option0992;
+    String option0993;
+    String option0994;
+    String option0995;
+    String option0996;
+    String option0997;
+    String option0998;
+    String option0999;
+
+    /**
+     * Default constructor.
+     */
+    public LargeCommand() {
+    }
+}
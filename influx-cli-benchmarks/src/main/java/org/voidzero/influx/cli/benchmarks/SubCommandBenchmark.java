@@ -0,0 +1,187 @@
+package org.voidzero.influx.cli.benchmarks;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.ParseContext;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Measures dispatching arguments through nested sub-commands with
+ * {@link InfluxCli#bindContext(Class, String[])}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubCommandBenchmark {
+
+    private InfluxCli influxCli;
+    private String[] rootArgs;
+    private String[] nestedArgs;
+
+    /**
+     * Default constructor.
+     */
+    public SubCommandBenchmark() {
+    }
+
+    /**
+     * Creates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        influxCli = new InfluxCli();
+        rootArgs = new String[]{"--verbose"};
+        nestedArgs = new String[]{"remote", "add", "--name", "origin", "--url", "https://example.com/repository"};
+    }
+
+    /**
+     * Binds the root command, which has to rule out its sub-commands first.
+     *
+     * @return The context of the bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public ParseContext<?> bindRoot() throws ParseException, HelpException {
+        return influxCli.bindContext(RootCommand.class, rootArgs);
+    }
+
+    /**
+     * Binds a sub-command which is nested two levels below the root command.
+     *
+     * @return The context of the bound command
+     * @throws ParseException If the arguments cannot be parsed
+     * @throws HelpException If help is requested
+     */
+    @Benchmark
+    public ParseContext<?> bindNested() throws ParseException, HelpException {
+        return influxCli.bindContext(RootCommand.class, nestedArgs);
+    }
+
+    /**
+     * The root command.
+     */
+    @Command(description = "The root command")
+    public static class RootCommand {
+        @Arg
+        boolean verbose;
+
+        RemoteCommand remote;
+
+        StatusCommand status;
+
+        /**
+         * Default constructor.
+         */
+        public RootCommand() {
+        }
+    }
+
+    /**
+     * A sub-command which has sub-commands of its own.
+     */
+    @Command(name = "remote", description = "Manages remotes")
+    public static class RemoteCommand {
+        AddCommand add;
+
+        RemoveCommand remove;
+
+        /**
+         * Default constructor.
+         */
+        public RemoteCommand() {
+        }
+    }
+
+    /**
+     * A sibling of {@link RemoteCommand}.
+     */
+    @Command(name = "status", description = "Shows the status")
+    public static class StatusCommand {
+        @Arg
+        boolean shortFormat;
+
+        /**
+         * Default constructor.
+         */
+        public StatusCommand() {
+        }
+    }
+
+    /**
+     * The innermost sub-command.
+     */
+    @Command(name = "add", description = "Adds a remote")
+    public static class AddCommand {
+        @Arg(required = true)
+        String name;
+
+        @Arg(required = true)
+        String url;
+
+        /**
+         * Default constructor.
+         */
+        public AddCommand() {
+        }
+    }
+
+    /**
+     * A sibling of {@link AddCommand}.
+     */
+    @Command(name = "remove", description = "Removes a remote")
+    public static class RemoveCommand {
+        @Arg(required = true)
+        String name;
+
+        /**
+         * Default constructor.
+         */
+        public RemoveCommand() {
+        }
+    }
+}
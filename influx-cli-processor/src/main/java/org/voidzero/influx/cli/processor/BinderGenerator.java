@@ -0,0 +1,1129 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.voidzero.influx.cli.BinderSupport;
+import org.voidzero.influx.cli.FlagIndex;
+import org.voidzero.influx.cli.Parser;
+import org.voidzero.influx.cli.StringValueParser;
+import org.voidzero.influx.cli.ValueBuffer;
+import org.voidzero.influx.cli.ValueBuffers;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.StandardInput;
+
+/**
+ * Generates the source code of the binder for a single class. The generated code mirrors the reflective binding
+ * which is performed by {@link org.voidzero.influx.cli.ParseContext}: the same option names are accepted, fields
+ * are accessed in the same order of preference and values are converted with the same rules. Anything which cannot
+ * be expressed without reflection causes an {@link UnsupportedCommandException}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class BinderGenerator {
+
+    private static final String SUPPORT = BinderSupport.class.getCanonicalName();
+
+    private static final String PARSE_EXCEPTION = "org.voidzero.influx.cli.exception.ParseException";
+
+    private static final String FLAG_INDEX = FlagIndex.class.getCanonicalName();
+
+    private static final String PARSERS =
+            "java.util.Map<java.lang.Class<?>, org.voidzero.influx.cli.ValueParser>";
+
+    private static final String BUFFERS = ValueBuffers.class.getCanonicalName();
+
+    private static final String BUFFER = ValueBuffer.class.getCanonicalName();
+
+    private static final String GENERATED = "javax.annotation.processing.Generated";
+
+    /**
+     * The {@link ValueBuffer} methods which add the elements of primitive arrays without boxing them.
+     */
+    private static final Map<TypeKind, String> PRIMITIVE_ADDERS = new EnumMap<>(TypeKind.class);
+
+    static {
+        PRIMITIVE_ADDERS.put(TypeKind.INT, "addInt");
+        PRIMITIVE_ADDERS.put(TypeKind.LONG, "addLong");
+        PRIMITIVE_ADDERS.put(TypeKind.DOUBLE, "addDouble");
+    }
+
+    private static final List<String> DEFAULT_HELP_TOKENS = Arrays.asList("-h", "--help");
+
+    /**
+     * The types which are supported by default, mapped to the {@link BinderSupport} method which converts them. An
+     * empty method name means that no conversion is necessary.
+     */
+    private static final Map<String, String> BUILTIN_CONVERSIONS = new HashMap<>();
+
+    static {
+        BUILTIN_CONVERSIONS.put("java.lang.String", "");
+        BUILTIN_CONVERSIONS.put("int", "toInt");
+        BUILTIN_CONVERSIONS.put("java.lang.Integer", "toInt");
+        BUILTIN_CONVERSIONS.put("short", "toShort");
+        BUILTIN_CONVERSIONS.put("java.lang.Short", "toShort");
+        BUILTIN_CONVERSIONS.put("long", "toLong");
+        BUILTIN_CONVERSIONS.put("java.lang.Long", "toLong");
+        BUILTIN_CONVERSIONS.put("float", "toFloat");
+        BUILTIN_CONVERSIONS.put("java.lang.Float", "toFloat");
+        BUILTIN_CONVERSIONS.put("double", "toDouble");
+        BUILTIN_CONVERSIONS.put("java.lang.Double", "toDouble");
+        BUILTIN_CONVERSIONS.put("byte", "toByte");
+        BUILTIN_CONVERSIONS.put("java.lang.Byte", "toByte");
+        BUILTIN_CONVERSIONS.put("java.math.BigInteger", "toBigInteger");
+        BUILTIN_CONVERSIONS.put("java.math.BigDecimal", "toBigDecimal");
+        BUILTIN_CONVERSIONS.put("char", "toChar");
+        BUILTIN_CONVERSIONS.put("java.lang.Character", "toChar");
+        BUILTIN_CONVERSIONS.put("boolean", "toBoolean");
+        BUILTIN_CONVERSIONS.put("java.lang.Boolean", "toBoolean");
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement command;
+    private final PackageElement commandPackage;
+    private final String commandName;
+    private final String binderSimpleName;
+    private final String binderName;
+    private final StringBuilder sb = new StringBuilder();
+
+    /**
+     * Creates a generator for the given class.
+     *
+     * @param processingEnv The processing environment
+     * @param command The class for which a binder should be generated
+     */
+    BinderGenerator(ProcessingEnvironment processingEnv, TypeElement command) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.command = command;
+        this.commandPackage = elements.getPackageOf(command);
+        this.commandName = command.getQualifiedName().toString();
+
+        // Nested class names are joined with underscores, see BinderSupport.binderName(Class)
+        String flattened = elements.getBinaryName(command).toString();
+
+        if (!commandPackage.isUnnamed()) {
+            flattened = flattened.substring(commandPackage.getQualifiedName().length() + 1);
+        }
+
+        this.binderSimpleName = flattened.replace('$', '_') + BinderSupport.BINDER_SUFFIX;
+        this.binderName = commandPackage.isUnnamed() ? binderSimpleName
+                : commandPackage.getQualifiedName() + "." + binderSimpleName;
+    }
+
+    /**
+     * Returns the fully qualified name of the generated binder.
+     *
+     * @return The fully qualified name of the generated binder
+     */
+    String getBinderName() {
+        return binderName;
+    }
+
+    /**
+     * Generates the source code of the binder.
+     *
+     * @return The source code of the binder
+     * @throws UnsupportedCommandException If the class cannot be bound without reflection
+     */
+    String generate() throws UnsupportedCommandException {
+        verifyCommand();
+
+        Map<String, FieldInfo> named = new LinkedHashMap<>();
+        List<FieldInfo> ordered = new ArrayList<>();
+        List<FieldInfo> required = new ArrayList<>();
+        List<FieldInfo> booleans = new ArrayList<>();
+        List<FieldInfo> environment = new ArrayList<>();
+        List<FieldInfo> buffered = new ArrayList<>();
+        List<FieldInfo> values = new ArrayList<>();
+        Map<String, TypeElement> subCommands = new LinkedHashMap<>();
+
+        for (VariableElement element : ElementFilter.fieldsIn(command.getEnclosedElements())) {
+            FieldInfo field = new FieldInfo(element);
+            Arg arg = field.arg;
+
+            findSubCommand(subCommands, element);
+
+            // Fields may be populated from environment and system variables before any arguments are parsed
+            if (arg != null && !arg.environmentVariable().isEmpty()) {
+                environment.add(field);
+            }
+
+            // Ignore fields marked with the @Ignore annotation
+            if (element.getAnnotation(Ignore.class) != null) {
+                continue;
+            }
+
+            if (field.lazy) {
+                throw new UnsupportedCommandException("field " + field.name + " is converted lazily");
+            }
+
+            if (field.ordered != null && field.ordered.standardInput() != StandardInput.NONE) {
+                throw new UnsupportedCommandException("field " + field.name + " reads standard input");
+            }
+
+            // The values of collections and arrays are accumulated and written once the arguments have been parsed
+            if (field.multiValued) {
+                field.bufferIndex = buffered.size();
+                buffered.add(field);
+            }
+
+            if (field.ordered != null) {
+                ordered.add(field);
+
+                // Remember required fields
+                if (field.required) {
+                    required.add(field);
+                }
+
+                continue;
+            }
+
+            // The raw values of options are kept until the arguments have been parsed, so only the last is converted
+            if (!field.multiValued) {
+                field.valueIndex = values.size();
+                values.add(field);
+            }
+
+            // Boolean fields are initialized to false by default
+            if (field.booleanType) {
+                booleans.add(field);
+            }
+
+            String longName = Parser.camelCaseToHyphenCase(field.name);
+
+            if (arg == null) {
+                named.putIfAbsent(longName, field);
+                continue;
+            }
+
+            // Remember required fields
+            if (field.required) {
+                required.add(field);
+            }
+
+            if (arg.flag().isEmpty()) {
+                named.putIfAbsent(longName, field);
+            } else if (named.putIfAbsent(arg.flag(), field) != null) {
+                throw new UnsupportedCommandException("it declares the option name " + arg.flag() + " twice");
+            }
+
+            if (arg.code() != ' ' && named.putIfAbsent(String.valueOf(arg.code()), field) != null) {
+                throw new UnsupportedCommandException("it declares the option name " + arg.code() + " twice");
+            }
+        }
+
+        // Sort the ordered fields, which is stable so fields with the same order keep their declaration order
+        ordered.sort(Comparator.comparingInt(field -> field.ordered.order()));
+
+        writeHeader();
+        writeNewInstance();
+        // The variables of options are only read if the command line does not override them
+        environment.removeIf(field -> field.valueIndex >= 0);
+
+        writeInitialize(booleans, environment);
+        writeFindSubCommand(subCommands);
+        writeIsHelpToken();
+        writeFindOption(named);
+        writeIsBoolean(named);
+        writeSetNamedValue(named);
+        writeSetOrderedValue(ordered);
+        writeValues(values);
+        writeFlush(buffered);
+        writeVerify(required);
+        sb.append("}\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * Verifies that the class can be instantiated and referenced by a class in the same package.
+     *
+     * @throws UnsupportedCommandException If the class cannot be used by generated code
+     */
+    private void verifyCommand() throws UnsupportedCommandException {
+        if (command.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedCommandException("it is abstract");
+        }
+
+        if (!command.getTypeParameters().isEmpty()) {
+            throw new UnsupportedCommandException("it declares type parameters");
+        }
+
+        Command annotation = command.getAnnotation(Command.class);
+
+        if (annotation != null && !annotation.environmentPrefix().isEmpty()) {
+            throw new UnsupportedCommandException("it declares an environment prefix");
+        }
+
+        for (Element element = command; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement type = (TypeElement) element;
+
+            if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedCommandException("it is a local class");
+            }
+
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+                    && type.getKind() == ElementKind.CLASS) {
+                throw new UnsupportedCommandException("it is an inner class which is not static");
+            }
+        }
+
+        requireAccessible(command);
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(command.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    throw new UnsupportedCommandException("its no-arg constructor is private");
+                }
+
+                return;
+            }
+        }
+
+        throw new UnsupportedCommandException("it does not have a no-arg constructor");
+    }
+
+    /**
+     * Remembers the field if its type is a sub-command. The first field with a given name wins.
+     *
+     * @param subCommands The sub-commands which have been found so far
+     * @param element The field to check
+     * @throws UnsupportedCommandException If the sub-command cannot be referenced by generated code
+     */
+    private void findSubCommand(Map<String, TypeElement> subCommands, VariableElement element)
+            throws UnsupportedCommandException {
+        if (element.asType().getKind() != TypeKind.DECLARED) {
+            return;
+        }
+
+        TypeElement type = (TypeElement) types.asElement(element.asType());
+        Command subCommand = type.getAnnotation(Command.class);
+
+        if (subCommand != null) {
+            String name = subCommand.name().isEmpty() ? element.getSimpleName().toString() : subCommand.name();
+
+            if (!subCommands.containsKey(name)) {
+                requireAccessible(type);
+                subCommands.put(name, type);
+            }
+        }
+    }
+
+    /**
+     * Writes the package declaration and the start of the class.
+     */
+    private void writeHeader() {
+        if (!commandPackage.isUnnamed()) {
+            sb.append("package ").append(commandPackage.getQualifiedName()).append(";\n\n");
+        }
+
+        sb.append("/**\n")
+                .append(" * Binds arguments to {@link ").append(commandName).append("} without reflection.\n")
+                .append(" */\n");
+
+        if (elements.getTypeElement(GENERATED) != null) {
+            sb.append('@').append(GENERATED).append('(')
+                    .append(literal(BinderProcessor.class.getCanonicalName())).append(")\n");
+        }
+
+        sb.append("@SuppressWarnings(\"unchecked\")\n")
+                .append("public final class ").append(binderSimpleName)
+                .append(" implements org.voidzero.influx.cli.Binder<").append(commandName).append("> {\n\n")
+                .append("    /**\n")
+                .append("     * Default constructor.\n")
+                .append("     */\n")
+                .append("    public ").append(binderSimpleName).append("() {\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which creates the instance.
+     */
+    private void writeNewInstance() {
+        sb.append("\n    @Override\n")
+                .append("    public ").append(commandName).append(" newInstance() {\n")
+                .append("        return new ").append(commandName).append("();\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which populates default values.
+     *
+     * @param booleans The boolean flags which default to false
+     * @param environment The fields other than single valued options which may be populated from the environment
+     * @throws UnsupportedCommandException If a field cannot be written by generated code
+     */
+    private void writeInitialize(List<FieldInfo> booleans, List<FieldInfo> environment)
+            throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public void initialize(").append(commandName)
+                .append(" instance, org.voidzero.influx.cli.ValueSource variables,\n")
+                .append("                           ").append(PARSERS).append(" valueParsers) throws ")
+                .append(PARSE_EXCEPTION).append(" {\n");
+
+        for (FieldInfo field : booleans) {
+            sb.append("        ").append(write(field, "false")).append('\n');
+        }
+
+        if (!environment.isEmpty()) {
+            sb.append("        java.lang.String value;\n");
+        }
+
+        for (FieldInfo field : environment) {
+            String name = field.arg.environmentVariable();
+
+            sb.append("\n        value = variables.get(").append(literal(name)).append(");\n\n")
+                    .append("        if (value != null) {\n");
+
+            // Collections and arrays cannot be populated from a variable
+            if (field.multiValued) {
+                sb.append("            throw new ").append(PARSE_EXCEPTION)
+                        .append("(\"Unable to parse value \" + value + \" into type \" + ")
+                        .append(classLiteral(field.type)).append(");\n");
+            } else {
+                sb.append("            ").append(write(field, conversion(field.type, field))).append('\n');
+            }
+
+            sb.append("        }\n");
+        }
+
+        sb.append("    }\n");
+    }
+
+    /**
+     * Writes the method which resolves sub-commands.
+     *
+     * @param subCommands The sub-commands keyed by name
+     */
+    private void writeFindSubCommand(Map<String, TypeElement> subCommands) {
+        sb.append("\n    @Override\n")
+                .append("    public java.lang.Class<?> findSubCommand(java.lang.String name) {\n");
+
+        if (subCommands.isEmpty()) {
+            sb.append("        return null;\n")
+                    .append("    }\n");
+            return;
+        }
+
+        sb.append("        switch (name) {\n");
+
+        for (Map.Entry<String, TypeElement> entry : subCommands.entrySet()) {
+            sb.append("            case ").append(literal(entry.getKey())).append(":\n")
+                    .append("                return ").append(entry.getValue().getQualifiedName()).append(".class;\n");
+        }
+
+        sb.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which recognizes help tokens.
+     */
+    private void writeIsHelpToken() {
+        Command annotation = command.getAnnotation(Command.class);
+        Set<String> tokens = new LinkedHashSet<>(annotation != null ? Arrays.asList(annotation.helpTokens())
+                : DEFAULT_HELP_TOKENS);
+
+        sb.append("\n    @Override\n")
+                .append("    public boolean isHelpToken(java.lang.String token) {\n")
+                .append("        switch (token) {\n");
+
+        for (String token : tokens) {
+            sb.append("            case ").append(literal(token)).append(":\n");
+        }
+
+        if (!tokens.isEmpty()) {
+            sb.append("                return true;\n");
+        }
+
+        sb.append("            default:\n")
+                .append("                return false;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the index of option names and the method which looks options up in it.
+     *
+     * @param named The named fields keyed by option name
+     */
+    private void writeFindOption(Map<String, FieldInfo> named) {
+        sb.append("\n    private static final ").append(FLAG_INDEX).append("<java.lang.String> OPTIONS =\n")
+                .append("            ").append(FLAG_INDEX).append(".of(");
+
+        String separator = "";
+
+        for (String name : named.keySet()) {
+            sb.append(separator).append(literal(name));
+            separator = ", ";
+        }
+
+        sb.append(");\n")
+                .append("\n    @Override\n")
+                .append("    public java.lang.String findOption(java.lang.String token, int start, int end) {\n")
+                .append("        return OPTIONS.get(token, start, end);\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which recognizes boolean flags.
+     *
+     * @param named The named fields keyed by option name
+     */
+    private void writeIsBoolean(Map<String, FieldInfo> named) {
+        sb.append("\n    @Override\n")
+                .append("    public boolean isBoolean(java.lang.String name) {\n")
+                .append("        switch (name) {\n");
+
+        boolean found = false;
+
+        for (Map.Entry<String, FieldInfo> entry : named.entrySet()) {
+            if (entry.getValue().booleanType) {
+                sb.append("            case ").append(literal(entry.getKey())).append(":\n");
+                found = true;
+            }
+        }
+
+        if (found) {
+            sb.append("                return true;\n");
+        }
+
+        sb.append("            default:\n")
+                .append("                return false;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which populates named options.
+     *
+     * @param named The named fields keyed by option name
+     * @throws UnsupportedCommandException If a field cannot be written by generated code
+     */
+    private void writeSetNamedValue(Map<String, FieldInfo> named) throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public void setNamedValue(").append(commandName)
+                .append(" instance, java.lang.String name, java.lang.String value,\n")
+                .append("                              ").append(PARSERS).append(" valueParsers, ").append(BUFFERS)
+                .append(" buffers)\n")
+                .append("            throws ").append(PARSE_EXCEPTION).append(" {\n")
+                .append("        switch (name) {\n");
+
+        // Group the names of each field so that every field is assigned in exactly one place
+        Map<FieldInfo, List<String>> names = new LinkedHashMap<>();
+
+        for (Map.Entry<String, FieldInfo> entry : named.entrySet()) {
+            names.computeIfAbsent(entry.getValue(), key -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        for (Map.Entry<FieldInfo, List<String>> entry : names.entrySet()) {
+            FieldInfo field = entry.getKey();
+
+            for (String name : entry.getValue()) {
+                sb.append("            case ").append(literal(name)).append(":\n");
+            }
+
+            // It is not possible to add an element to a collection without this annotation because we need to know
+            // what type the collection contains
+            if (field.multiValued && field.arg == null) {
+                sb.append("                throw new java.lang.NullPointerException(")
+                        .append(literal(Arg.class.getName() + " is missing. This should never happen"))
+                        .append(");\n");
+                continue;
+            }
+
+            writeAssignment(field, "                ");
+        }
+
+        sb.append("            default:\n")
+                .append("                break;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the method which populates ordered fields.
+     *
+     * @param ordered The ordered fields sorted by position
+     * @throws UnsupportedCommandException If a field cannot be written by generated code
+     */
+    private void writeSetOrderedValue(List<FieldInfo> ordered) throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public void setOrderedValue(").append(commandName)
+                .append(" instance, int index, java.lang.String value,\n")
+                .append("                                ").append(PARSERS).append(" valueParsers, ")
+                .append(BUFFERS).append(" buffers)\n")
+                .append("            throws ").append(PARSE_EXCEPTION).append(" {\n")
+                .append("        switch (index) {\n");
+
+        for (int i = 0; i < ordered.size(); i++) {
+            sb.append("            case ").append(i).append(":\n");
+
+            // A trailing collection or array receives all remaining positional values
+            if (i == ordered.size() - 1 && ordered.get(i).multiValued) {
+                sb.append("            default:\n");
+                writeAssignment(ordered.get(i), "                ");
+                sb.append("        }\n")
+                        .append("    }\n");
+                return;
+            }
+
+            writeAssignment(ordered.get(i), "                ");
+        }
+
+        sb.append("            default:\n")
+                .append("                throw ").append(SUPPORT).append(".unexpected(value);\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the methods which convert the values of single valued options once the arguments have been parsed.
+     * Each option is assigned in exactly one place, which is reached at most once per parse.
+     *
+     * @param values The single valued options in the order of their value indices
+     * @throws UnsupportedCommandException If a field cannot be written by generated code
+     */
+    private void writeValues(List<FieldInfo> values) throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public int getValueCount() {\n")
+                .append("        return ").append(values.size()).append(";\n")
+                .append("    }\n")
+                .append("\n    @Override\n")
+                .append("    public java.lang.String getEnvironmentVariable(int index) {\n")
+                .append("        switch (index) {\n");
+
+        for (FieldInfo field : values) {
+            if (field.arg != null && !field.arg.environmentVariable().isEmpty()) {
+                sb.append("            case ").append(field.valueIndex).append(":\n")
+                        .append("                return ").append(literal(field.arg.environmentVariable()))
+                        .append(";\n");
+            }
+        }
+
+        sb.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("\n    @Override\n")
+                .append("    public void setValue(").append(commandName)
+                .append(" instance, int index, java.lang.String value,\n")
+                .append("                         ").append(PARSERS).append(" valueParsers) throws ")
+                .append(PARSE_EXCEPTION).append(" {\n")
+                .append("        switch (index) {\n");
+
+        for (FieldInfo field : values) {
+            sb.append("            case ").append(field.valueIndex).append(":\n")
+                    .append("                ").append(write(field, conversion(field.type, field))).append('\n')
+                    .append("                break;\n");
+        }
+
+        sb.append("            default:\n")
+                .append("                break;\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Writes the methods which write the accumulated values of collections and arrays to their fields. Existing
+     * elements are kept and the accumulated values are added after them.
+     *
+     * @param buffered The collection and array fields in the order of their buffer indices
+     * @throws UnsupportedCommandException If a field cannot be accessed by generated code
+     */
+    private void writeFlush(List<FieldInfo> buffered) throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public int getBufferCount() {\n")
+                .append("        return ").append(buffered.size()).append(";\n")
+                .append("    }\n")
+                .append("\n    @Override\n")
+                .append("    public void flush(").append(commandName).append(" instance, ").append(BUFFERS)
+                .append(" buffers) {\n");
+
+        if (!buffered.isEmpty()) {
+            sb.append("        ").append(BUFFER).append(" buffer;\n");
+        }
+
+        for (FieldInfo field : buffered) {
+            String merged;
+
+            if (field.type.getKind() == TypeKind.ARRAY) {
+                TypeMirror component = ((ArrayType) field.type).getComponentType();
+                merged = "(" + className(field.type) + ") buffer.toArray(" + read(field) + ", "
+                        + classLiteral(component) + ")";
+            } else {
+                merged = "buffer.addTo(" + read(field) + ", " + classLiteral(field.type) + ")";
+            }
+
+            sb.append("\n        buffer = buffers.find(").append(field.bufferIndex).append(");\n\n")
+                    .append("        if (buffer != null) {\n")
+                    .append("            ").append(write(field, merged)).append('\n')
+                    .append("        }\n");
+        }
+
+        sb.append("    }\n");
+    }
+
+    /**
+     * Writes the method which verifies that required fields are populated.
+     *
+     * @param required The required fields
+     * @throws UnsupportedCommandException If a field cannot be read by generated code
+     */
+    private void writeVerify(List<FieldInfo> required) throws UnsupportedCommandException {
+        sb.append("\n    @Override\n")
+                .append("    public void verify(").append(commandName).append(" instance) throws ")
+                .append(PARSE_EXCEPTION).append(" {\n");
+
+        for (FieldInfo field : required) {
+            // Primitive values can never be null
+            if (field.type.getKind().isPrimitive()) {
+                continue;
+            }
+
+            String message = "Required argument --" + Parser.camelCaseToHyphenCase(field.name) + " is not set";
+
+            sb.append("        if (").append(read(field)).append(" == null) {\n")
+                    .append("            throw ").append(SUPPORT).append(".notSet(").append(literal(message))
+                    .append(");\n")
+                    .append("        }\n");
+        }
+
+        sb.append("    }\n");
+    }
+
+    /**
+     * Writes the statements which parse the value and assign it to the field, followed by a break. The values of
+     * collections and arrays are added to their buffer instead, see {@link #writeFlush(List)}, and the raw values of
+     * single valued options are kept until the arguments have been parsed, see {@link #writeValues(List)}.
+     *
+     * @param field The field to assign
+     * @param indent The indentation of the statements
+     * @throws UnsupportedCommandException If the field cannot be assigned by generated code
+     */
+    private void writeAssignment(FieldInfo field, String indent) throws UnsupportedCommandException {
+        String statement;
+        TypeMirror element = field.elementType;
+
+        if (field.multiValued && field.type.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) field.type).getComponentType();
+
+            // Arrays of primitives declare their element type themselves, see FieldModel
+            if (component.getKind().isPrimitive()) {
+                element = component;
+            } else if (!types.isSameType(types.erasure(component), types.erasure(element))) {
+                throw new UnsupportedCommandException("the element type of array " + field.name
+                        + " does not match its collection type");
+            }
+        }
+
+        if (field.multiValued) {
+            String method = PRIMITIVE_ADDERS.getOrDefault(element.getKind(), "add");
+            statement = "buffers.get(" + field.bufferIndex + ")." + method + "(" + conversion(element, field) + ");";
+        } else if (field.valueIndex >= 0) {
+            statement = "buffers.setValue(" + field.valueIndex + ", value);";
+        } else {
+            statement = write(field, conversion(field.type, field));
+        }
+
+        sb.append(indent).append(statement).append('\n')
+                .append(indent).append("break;\n");
+    }
+
+    /**
+     * Returns the expression which converts the value variable into the given type.
+     *
+     * @param target The type to convert into
+     * @param field The field which is being populated
+     *
+     * @return The conversion expression
+     * @throws UnsupportedCommandException If the type cannot be referenced by generated code
+     */
+    private String conversion(TypeMirror target, FieldInfo field) throws UnsupportedCommandException {
+        String builtin = builtinConversion(target, "value");
+
+        if (builtin != null) {
+            return builtin;
+        }
+
+        return SUPPORT + ".convert(value, " + classLiteral(target) + ", " + classLiteral(field.type) + ", "
+                + field.converter + ", valueParsers)";
+    }
+
+    /**
+     * Returns the expression which converts a string into a type which is supported by default.
+     *
+     * @param target The type to convert into
+     * @param value The expression which evaluates to the string
+     *
+     * @return The conversion expression or null if the type is not supported by default
+     */
+    private String builtinConversion(TypeMirror target, String value) {
+        String name = target.getKind().isPrimitive() ? target.getKind().name().toLowerCase()
+                : target.getKind() == TypeKind.DECLARED
+                ? ((TypeElement) types.asElement(target)).getQualifiedName().toString() : "";
+        String method = BUILTIN_CONVERSIONS.get(name);
+
+        if (method == null) {
+            return null;
+        }
+
+        // Strings do not need to be converted
+        if (method.isEmpty()) {
+            return value;
+        }
+
+        return SUPPORT + "." + method + "(" + value + ", " + name + ".class)";
+    }
+
+    /**
+     * Returns the statement which assigns the given expression to the field. The members which may be used are
+     * considered in the same order as {@link org.voidzero.influx.cli.FieldAccessor}. A field which reflection cannot
+     * write either, such as a static final field, is left to reflection so that it fails in the same way.
+     *
+     * @param field The field to assign
+     * @param expression The expression to assign
+     *
+     * @return The assignment statement
+     * @throws UnsupportedCommandException If the field cannot be written by generated code
+     */
+    private String write(FieldInfo field, String expression) throws UnsupportedCommandException {
+        for (Element candidate : candidates(field, field.setter)) {
+            if (candidate instanceof VariableElement && candidate.getModifiers().contains(Modifier.FINAL)) {
+                // Reflection cannot write static final fields either, so move on to the next candidate
+                if (field.isStatic) {
+                    continue;
+                }
+
+                throw new UnsupportedCommandException("field " + field.name + " is final");
+            }
+
+            if (candidate.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedCommandException("field " + field.name
+                        + " is private and does not have a non-private setter");
+            }
+
+            if (candidate instanceof ExecutableElement) {
+                return owner(candidate) + "." + candidate.getSimpleName() + "(" + expression + ");";
+            }
+
+            return owner(candidate) + "." + field.name + " = " + expression + ";";
+        }
+
+        throw new UnsupportedCommandException("field " + field.name + " cannot be written");
+    }
+
+    /**
+     * Returns the expression which reads the field. The members which may be used are considered in the same order
+     * as {@link org.voidzero.influx.cli.FieldAccessor}.
+     *
+     * @param field The field to read
+     *
+     * @return The expression which reads the field
+     * @throws UnsupportedCommandException If the field can only be read with reflection
+     */
+    private String read(FieldInfo field) throws UnsupportedCommandException {
+        Element candidate = candidates(field, field.getter).get(0);
+
+        if (candidate.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedCommandException("field " + field.name
+                    + " is private and does not have a non-private getter");
+        }
+
+        if (candidate instanceof ExecutableElement) {
+            return owner(candidate) + "." + candidate.getSimpleName() + "()";
+        }
+
+        return owner(candidate) + "." + field.name;
+    }
+
+    /**
+     * Returns the members which may be used to access a field in order of preference.
+     *
+     * @param field The field
+     * @param method The accessor method of the field or null if there isn't one
+     *
+     * @return The members in order of preference
+     */
+    private static List<Element> candidates(FieldInfo field, ExecutableElement method) {
+        if (method == null) {
+            return List.of(field.element);
+        }
+
+        if (method.getModifiers().contains(Modifier.PUBLIC)
+                || !field.element.getModifiers().contains(Modifier.PUBLIC)) {
+            return List.of(method, field.element);
+        }
+
+        return List.of(field.element, method);
+    }
+
+    /**
+     * Returns the expression on which the given member is accessed.
+     *
+     * @param member The member
+     *
+     * @return The class name for static members, otherwise the instance variable
+     */
+    private String owner(Element member) {
+        return member.getModifiers().contains(Modifier.STATIC) ? commandName : "instance";
+    }
+
+    /**
+     * Returns the class literal of the erasure of the given type.
+     *
+     * @param type The type
+     *
+     * @return The class literal
+     * @throws UnsupportedCommandException If the type cannot be referenced by generated code
+     */
+    private String classLiteral(TypeMirror type) throws UnsupportedCommandException {
+        return className(type) + ".class";
+    }
+
+    /**
+     * Returns the source code name of the erasure of the given type.
+     *
+     * @param type The type
+     *
+     * @return The source code name
+     * @throws UnsupportedCommandException If the type cannot be referenced by generated code
+     */
+    private String className(TypeMirror type) throws UnsupportedCommandException {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            return className(((ArrayType) type).getComponentType()) + "[]";
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            requireAccessible(element);
+            return element.getQualifiedName().toString();
+        }
+
+        throw new UnsupportedCommandException("type " + type + " cannot be referenced");
+    }
+
+    /**
+     * Verifies that generated code in the package of the command can refer to the given class.
+     *
+     * @param type The class to check
+     * @throws UnsupportedCommandException If the class is not accessible
+     */
+    private void requireAccessible(TypeElement type) throws UnsupportedCommandException {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE) || !modifiers.contains(Modifier.PUBLIC)
+                    && !elements.getPackageOf(element).equals(commandPackage)) {
+                throw new UnsupportedCommandException(type.getQualifiedName() + " is not accessible");
+            }
+        }
+    }
+
+    /**
+     * Returns the given string as a Java string literal.
+     *
+     * @param value The string
+     *
+     * @return The string literal
+     */
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c == '\n') {
+                literal.append("\\n");
+            } else if (c == '\r') {
+                literal.append("\\r");
+            } else if (c == '\t') {
+                literal.append("\\t");
+            } else if (c < 0x20 || c > 0x7e) {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * The metadata of a single field which is needed to generate code for it.
+     */
+    private final class FieldInfo {
+        private final VariableElement element;
+        private final String name;
+        private final TypeMirror type;
+        private final boolean isStatic;
+        private final Arg arg;
+        private final Ordered ordered;
+        private final boolean required;
+        private final boolean booleanType;
+        private final boolean multiValued;
+        private final boolean lazy;
+        private final TypeMirror elementType;
+        private final String converter;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+        private int bufferIndex = -1;
+        private int valueIndex = -1;
+
+        /**
+         * Collects the metadata of the given field.
+         *
+         * @param element The field
+         * @throws UnsupportedCommandException If the converter of the field cannot be referenced
+         */
+        private FieldInfo(VariableElement element) throws UnsupportedCommandException {
+            this.element = element;
+            this.name = element.getSimpleName().toString();
+            this.type = element.asType();
+            this.isStatic = element.getModifiers().contains(Modifier.STATIC);
+            this.arg = element.getAnnotation(Arg.class);
+            this.ordered = element.getAnnotation(Ordered.class);
+            this.required = ordered != null ? ordered.required() : arg != null && arg.required();
+
+            String typeName = type.getKind() == TypeKind.DECLARED
+                    ? ((TypeElement) types.asElement(type)).getQualifiedName().toString() : "";
+            this.booleanType = type.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(typeName);
+
+            TypeMirror collection = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+            this.multiValued = type.getKind() == TypeKind.ARRAY || types.isAssignable(types.erasure(type), collection);
+            this.lazy = "java.lang.Iterable".equals(typeName) || "java.util.stream.Stream".equals(typeName)
+                    || "java.util.Spliterator".equals(typeName);
+
+            String annotation = ordered != null ? Ordered.class.getCanonicalName()
+                    : arg != null ? Arg.class.getCanonicalName() : null;
+            TypeMirror declaredElementType = annotationClass(annotation, "collectionType");
+            TypeMirror declaredConverter = annotationClass(annotation, "converter");
+
+            this.elementType = declaredElementType != null ? declaredElementType
+                    : elements.getTypeElement("java.lang.Object").asType();
+
+            // The default converter is a placeholder which means that no converter was specified
+            if (declaredConverter == null || StringValueParser.class.getCanonicalName().equals(
+                    ((TypeElement) types.asElement(declaredConverter)).getQualifiedName().toString())) {
+                this.converter = "null";
+            } else {
+                this.converter = classLiteral(declaredConverter);
+            }
+
+            String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+            ExecutableElement getterMethod = null;
+            ExecutableElement setterMethod = null;
+
+            for (ExecutableElement method : ElementFilter.methodsIn(command.getEnclosedElements())) {
+                String methodName = method.getSimpleName().toString();
+
+                if (getterMethod == null && methodName.equals("get" + suffix) && method.getParameters().isEmpty()) {
+                    getterMethod = method;
+                } else if (setterMethod == null && methodName.equals("set" + suffix)
+                        && method.getParameters().size() == 1
+                        && types.isSameType(types.erasure(method.getParameters().get(0).asType()),
+                        types.erasure(type))) {
+                    setterMethod = method;
+                }
+            }
+
+            this.getter = getterMethod;
+            this.setter = setterMethod;
+        }
+
+        /**
+         * Returns a class valued member of the given annotation on this field.
+         *
+         * @param annotation The qualified name of the annotation or null
+         * @param member The name of the annotation member
+         *
+         * @return The type or null if the annotation is not present
+         */
+        private TypeMirror annotationClass(String annotation, String member) {
+            if (annotation == null) {
+                return null;
+            }
+
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+                if (!annotationType.getQualifiedName().contentEquals(annotation)) {
+                    continue;
+                }
+
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals(member)) {
+                        return (TypeMirror) entry.getValue().getValue();
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+
+/**
+ * Generates a {@link org.voidzero.influx.cli.Binder} for every class which is annotated with {@link Command} or which
+ * declares fields annotated with {@link Arg} or {@link Ordered}. Classes which cannot be bound without reflection,
+ * for example because they have private fields without accessor methods, are skipped and continue to be bound with
+ * reflection at runtime.
+ *
+ * <p>The processor also writes a command index which lists the help entries and sub-commands of every class it
+ * processes, so that routing and help do not need to load the classes of sub-commands which are not invoked.</p>
+ *
+ * <p>Finally, it writes the GraalVM native-image metadata of the classes which it processes, which lists the members
+ * that binding reflects on, so that commands can be bound in native images. Pass
+ * {@code -A}{@value #ARTIFACT_OPTION}{@code =group-id/artifact-id} to the compiler so that the metadata is written to
+ * a directory of its own, as native-image recommends.</p>
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class BinderProcessor extends AbstractProcessor {
+
+    /**
+     * The processor option which names the directory of the native-image metadata, usually the group id and artifact
+     * id of the jar separated by a slash.
+     */
+    public static final String ARTIFACT_OPTION = "influx.cli.artifact";
+
+    private final Set<String> generated = new HashSet<>();
+    private CommandIndexGenerator index;
+    private NativeImageConfigGenerator nativeImageConfig;
+
+    /**
+     * Default constructor.
+     */
+    public BinderProcessor() {
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>();
+        types.add(Command.class.getCanonicalName());
+        types.add(Arg.class.getCanonicalName());
+        types.add(Ordered.class.getCanonicalName());
+        return types;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(ARTIFACT_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (index == null) {
+            index = new CommandIndexGenerator(processingEnv);
+            nativeImageConfig = new NativeImageConfigGenerator(processingEnv);
+        }
+
+        // The index can only be written once, so it is written after every class has been processed
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            writeNativeImageConfig();
+            return false;
+        }
+
+        Set<TypeElement> commands = new LinkedHashSet<>();
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Command.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                commands.add((TypeElement) element);
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Arg.class)) {
+            addEnclosingClass(commands, element);
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Ordered.class)) {
+            addEnclosingClass(commands, element);
+        }
+
+        for (TypeElement command : commands) {
+            if (generated.add(command.getQualifiedName().toString())) {
+                index.add(command);
+                nativeImageConfig.add(command);
+                generate(command);
+            }
+        }
+
+        // Other processors are free to process the same annotations
+        return false;
+    }
+
+    /**
+     * Adds the class which declares the given field.
+     *
+     * @param commands The classes for which binders should be generated
+     * @param field The annotated field
+     */
+    private void addEnclosingClass(Set<TypeElement> commands, Element field) {
+        Element enclosing = field.getEnclosingElement();
+
+        if (enclosing != null && enclosing.getKind() == ElementKind.CLASS) {
+            commands.add((TypeElement) enclosing);
+        }
+    }
+
+    /**
+     * Generates the binder for the given class.
+     *
+     * @param command The class for which a binder should be generated
+     */
+    private void generate(TypeElement command) {
+        BinderGenerator generator = new BinderGenerator(processingEnv, command);
+        String source;
+
+        try {
+            source = generator.generate();
+        } catch (UnsupportedCommandException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No binder was generated for "
+                    + command.getQualifiedName() + " because " + e.getMessage(), command);
+            return;
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(generator.getBinderName(), command);
+
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+
+            nativeImageConfig.addBinder(generator.getBinderName());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write binder "
+                    + generator.getBinderName() + ": " + e.getMessage(), command);
+        }
+    }
+
+    /**
+     * Writes the index of every class which has been processed.
+     */
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    CommandIndexGenerator.RESOURCE, index.getCommands());
+
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(index.generate());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the command index "
+                    + CommandIndexGenerator.RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the native-image metadata of every class which has been processed.
+     */
+    private void writeNativeImageConfig() {
+        if (nativeImageConfig.isEmpty()) {
+            return;
+        }
+
+        String directory;
+
+        try {
+            directory = nativeImageConfig.getDirectory();
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+            return;
+        }
+
+        writeResource(directory + NativeImageConfigGenerator.REFLECT_CONFIG,
+                nativeImageConfig.generateReflectConfig());
+        writeResource(directory + NativeImageConfigGenerator.RESOURCE_CONFIG,
+                nativeImageConfig.generateResourceConfig());
+    }
+
+    /**
+     * Writes a native-image metadata file.
+     *
+     * @param name The location of the file within the class output
+     * @param content The content of the file
+     */
+    private void writeResource(String name, String content) {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", name,
+                    nativeImageConfig.getCommands());
+
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the native-image "
+                    + "metadata " + name + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.voidzero.influx.cli.Parser;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+
+/**
+ * Collects the records of the command index for the classes which are processed. The index is read at runtime by
+ * {@code org.voidzero.influx.cli.CommandIndex}, whose documentation describes the format. The help entries mirror
+ * {@link org.voidzero.influx.cli.OptionInfo} and the routes mirror the sub-command lookup which is performed with
+ * reflection, so that a class is routed and described the same way whether or not it is indexed.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class CommandIndexGenerator {
+
+    /**
+     * The location of the index within a jar.
+     */
+    static final String RESOURCE = "META-INF/influx-cli/commands.idx";
+
+    /**
+     * Starts the entries of a class: the binary name of the class.
+     */
+    static final String COMMAND = "command";
+
+    /**
+     * A help entry for an option: the flag, the code, whether it is required, the category and the description.
+     */
+    static final String OPTION = "option";
+
+    /**
+     * A help entry for a sub-command: the name of the command, the flag of the field and the description.
+     */
+    static final String SUB_COMMAND = "subcommand";
+
+    /**
+     * A sub-command which arguments can be routed to: the name which selects it and the binary name of its class.
+     */
+    static final String ROUTE = "route";
+
+    /**
+     * The descriptions of fields which do not declare one, keyed by type. Other types are described as numbers.
+     */
+    private static final Map<String, String> DEFAULT_DESCRIPTIONS = new HashMap<>();
+
+    static {
+        DEFAULT_DESCRIPTIONS.put("boolean", "Boolean flag which requires no argument");
+        DEFAULT_DESCRIPTIONS.put("java.lang.Boolean", "Boolean flag which requires no argument");
+        DEFAULT_DESCRIPTIONS.put("java.lang.String", "Accepts a string value");
+        DEFAULT_DESCRIPTIONS.put("double", "Accepts a floating point number");
+        DEFAULT_DESCRIPTIONS.put("java.lang.Double", "Accepts a floating point number");
+        DEFAULT_DESCRIPTIONS.put("float", "Accepts a floating point number");
+        DEFAULT_DESCRIPTIONS.put("java.lang.Float", "Accepts a floating point number");
+        DEFAULT_DESCRIPTIONS.put("char", "Accepts a single character");
+        DEFAULT_DESCRIPTIONS.put("java.lang.Character", "Accepts a single character");
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final List<String> records = new ArrayList<>();
+    private final List<TypeElement> commands = new ArrayList<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param processingEnv The processing environment
+     */
+    CommandIndexGenerator(ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * Returns true if no class has been added.
+     *
+     * @return True if the index is empty
+     */
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Returns the classes which have been added, so that the index can be attributed to them.
+     *
+     * @return The classes which have been added
+     */
+    TypeElement[] getCommands() {
+        return commands.toArray(new TypeElement[0]);
+    }
+
+    /**
+     * Adds the help entries and sub-commands of the given class.
+     *
+     * @param command The class to add
+     */
+    void add(TypeElement command) {
+        commands.add(command);
+        records.add(record(COMMAND, elements.getBinaryName(command).toString()));
+
+        List<String> routes = new ArrayList<>();
+
+        for (VariableElement element : ElementFilter.fieldsIn(command.getEnclosedElements())) {
+            String name = element.getSimpleName().toString();
+            TypeElement type = element.asType().getKind() == TypeKind.DECLARED
+                    ? (TypeElement) types.asElement(element.asType()) : null;
+            Command subCommand = type == null ? null : type.getAnnotation(Command.class);
+
+            if (subCommand != null) {
+                routes.add(record(ROUTE, subCommand.name().isEmpty() ? name
+                        : subCommand.name(), elements.getBinaryName(type).toString()));
+            }
+
+            // Ignored and ordered fields are not listed in the help message
+            if (element.getAnnotation(Ignore.class) != null || element.getAnnotation(Ordered.class) != null) {
+                continue;
+            }
+
+            String flag = Parser.camelCaseToHyphenCase(name);
+            Arg arg = element.getAnnotation(Arg.class);
+
+            if (arg == null && subCommand != null) {
+                records.add(record(SUB_COMMAND, subCommand.name().isEmpty() ? flag
+                        : subCommand.name(), flag, subCommand.description()));
+            } else if (arg == null) {
+                records.add(record(OPTION, flag, "", "false", "",
+                        describe(element.asType())));
+            } else {
+                records.add(record(OPTION, arg.flag().isEmpty() ? flag : arg.flag(),
+                        arg.code() == ' ' ? "" : String.valueOf(arg.code()), String.valueOf(arg.required()),
+                        arg.category(), arg.description().isEmpty() ? describe(element.asType())
+                                : arg.description()));
+            }
+        }
+
+        records.addAll(routes);
+    }
+
+    /**
+     * Returns the contents of the index file.
+     *
+     * @return The contents of the index file
+     */
+    String generate() {
+        StringBuilder sb = new StringBuilder("# Generated by ").append(BinderProcessor.class.getName()).append('\n');
+
+        for (String record : records) {
+            sb.append(record).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Formats a single record of the index, without the trailing line separator.
+     *
+     * @param kind The kind of the record
+     * @param values The values of the record, which are escaped
+     *
+     * @return The record
+     */
+    static String record(String kind, String... values) {
+        StringBuilder sb = new StringBuilder(kind);
+
+        for (String value : values) {
+            sb.append('\t').append(escape(value));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Escapes backslashes, tabs and line separators so that a value fits in a single field of a record.
+     *
+     * @param value The value to escape
+     *
+     * @return The escaped value
+     */
+    static String escape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+
+            if (character == '\\') {
+                sb.append("\\\\");
+            } else if (character == '\t') {
+                sb.append("\\t");
+            } else if (character == '\n') {
+                sb.append("\\n");
+            } else if (character == '\r') {
+                sb.append("\\r");
+            } else {
+                sb.append(character);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the description of a field which does not declare one, see
+     * {@link org.voidzero.influx.cli.OptionInfo}.
+     *
+     * @param type The type of the field
+     *
+     * @return The default description
+     */
+    private String describe(TypeMirror type) {
+        String typeName = type.getKind() == TypeKind.DECLARED
+                ? ((TypeElement) types.asElement(type)).getQualifiedName().toString() : type.toString();
+
+        return DEFAULT_DESCRIPTIONS.getOrDefault(typeName, "Accepts a number");
+    }
+}
@@ -0,0 +1,379 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import org.voidzero.influx.cli.StringValueParser;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+
+/**
+ * Collects the GraalVM native-image metadata of the classes which are processed. Native images only support the
+ * reflection which is declared ahead of time, so the metadata lists exactly the members which binding reflects on:
+ * the declared fields of each command, its no-arg constructor, the {@code getX} and {@code setX} methods which
+ * {@link org.voidzero.influx.cli.FieldAccessor} prefers over fields, the no-arg constructors of converters and the
+ * constructors of generated binders. The command index is included as a resource, so that routing and help do not
+ * fall back to reflection.
+ *
+ * <p>The metadata is written below {@value #ROOT}, in the directory of the artifact which is named by the
+ * {@value BinderProcessor#ARTIFACT_OPTION} option, so that the metadata of several processed jars does not collide
+ * when they are shaded into a single jar. Without the option, the directory is named after the first class which
+ * was processed.</p>
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class NativeImageConfigGenerator {
+
+    /**
+     * The directory of a jar which native-image reads metadata from.
+     */
+    static final String ROOT = "META-INF/native-image/";
+
+    /**
+     * The name of the reflection metadata within the directory of the artifact.
+     */
+    static final String REFLECT_CONFIG = "reflect-config.json";
+
+    /**
+     * The name of the resource metadata within the directory of the artifact.
+     */
+    static final String RESOURCE_CONFIG = "resource-config.json";
+
+    private static final Pattern ARTIFACT = Pattern.compile("[\\w.-]+(/[\\w.-]+)*");
+
+    private static final String CONSTRUCTOR = "<init>";
+
+    private final Elements elements;
+    private final Types types;
+    private final String artifact;
+    private final Map<String, TypeEntry> entries = new LinkedHashMap<>();
+    private final List<TypeElement> commands = new ArrayList<>();
+
+    /**
+     * Creates empty metadata.
+     *
+     * @param processingEnv The processing environment
+     */
+    NativeImageConfigGenerator(ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.artifact = processingEnv.getOptions().get(BinderProcessor.ARTIFACT_OPTION);
+    }
+
+    /**
+     * Returns the directory which the metadata is written to.
+     *
+     * @return The directory, ending with a slash
+     * @throws IllegalArgumentException If the artifact option is not a relative path of plain names
+     */
+    String getDirectory() {
+        return directory(artifact, commands.isEmpty() ? null : elements.getBinaryName(commands.get(0)).toString());
+    }
+
+    /**
+     * Returns the directory which metadata is written to.
+     *
+     * @param artifact The value of the {@value BinderProcessor#ARTIFACT_OPTION} option or null
+     * @param firstCommand The binary name of the first class which was processed, which names the directory when
+     *                     the option is not set
+     *
+     * @return The directory, ending with a slash
+     * @throws IllegalArgumentException If the artifact is not a relative path of plain names
+     */
+    static String directory(String artifact, String firstCommand) {
+        if (artifact == null) {
+            return ROOT + "influx-cli/" + firstCommand + "/";
+        }
+
+        if (!ARTIFACT.matcher(artifact).matches() || ("/" + artifact + "/").contains("/../")
+                || ("/" + artifact + "/").contains("/./")) {
+            throw new IllegalArgumentException("The " + BinderProcessor.ARTIFACT_OPTION + " option must be a "
+                    + "relative path such as group-id/artifact-id: " + artifact);
+        }
+
+        return ROOT + artifact + "/";
+    }
+
+    /**
+     * Returns true if no class has been added.
+     *
+     * @return True if the metadata is empty
+     */
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Returns the classes which have been added, so that the metadata can be attributed to them.
+     *
+     * @return The classes which have been added
+     */
+    TypeElement[] getCommands() {
+        return commands.toArray(new TypeElement[0]);
+    }
+
+    /**
+     * Adds the members of the given class which binding reflects on.
+     *
+     * @param command The class to add
+     */
+    void add(TypeElement command) {
+        commands.add(command);
+
+        TypeEntry entry = entry(elements.getBinaryName(command).toString());
+        entry.methods.add(method(CONSTRUCTOR));
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(command.getEnclosedElements());
+
+        for (VariableElement field : ElementFilter.fieldsIn(command.getEnclosedElements())) {
+            String name = field.getSimpleName().toString();
+            String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+            entry.fields.add(name);
+
+            // Accessor methods are matched the same way as FieldAccessor matches them
+            for (ExecutableElement method : methods) {
+                if (isGetter(method, "get" + suffix)) {
+                    entry.methods.add(method(method.getSimpleName().toString()));
+                } else if (isSetter(method, "set" + suffix, field.asType())) {
+                    entry.methods.add(method(method.getSimpleName().toString(), typeName(field.asType())));
+                }
+            }
+
+            addConverter(field, Arg.class.getCanonicalName());
+            addConverter(field, Ordered.class.getCanonicalName());
+        }
+    }
+
+    /**
+     * Adds the no-arg constructor of a generated binder, which is instantiated reflectively.
+     *
+     * @param binderName The fully qualified name of the binder
+     */
+    void addBinder(String binderName) {
+        entry(binderName).methods.add(method(CONSTRUCTOR));
+    }
+
+    /**
+     * Returns the contents of the reflection metadata, with one class per line.
+     *
+     * @return The contents of {@value #REFLECT_CONFIG}
+     */
+    String generateReflectConfig() {
+        StringBuilder sb = new StringBuilder("[\n");
+        int remaining = entries.size();
+
+        for (TypeEntry entry : entries.values()) {
+            sb.append("  {\"name\":").append(quote(entry.name)).append(",\"fields\":[");
+            join(sb, entry.fields, true);
+            sb.append("],\"methods\":[");
+            join(sb, entry.methods, false);
+            sb.append("]}").append(--remaining > 0 ? ",\n" : "\n");
+        }
+
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * Returns the contents of the resource metadata, which includes the command index.
+     *
+     * @return The contents of {@value #RESOURCE_CONFIG}
+     */
+    String generateResourceConfig() {
+        return "{\"resources\":{\"includes\":[{\"pattern\":" + quote("\\Q" + CommandIndexGenerator.RESOURCE + "\\E")
+                + "}]}}\n";
+    }
+
+    /**
+     * Adds the no-arg constructor of the converter which is declared by the given annotation of a field.
+     *
+     * @param field The field
+     * @param annotation The canonical name of the annotation
+     */
+    private void addConverter(Element field, String annotation) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+
+            if (!annotationType.getQualifiedName().contentEquals(annotation)) {
+                continue;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                if (!value.getKey().getSimpleName().contentEquals("converter")) {
+                    continue;
+                }
+
+                String converter = typeName((TypeMirror) value.getValue().getValue());
+
+                // The default converter is a placeholder which means that no converter was specified
+                if (!StringValueParser.class.getName().equals(converter)) {
+                    entry(converter).methods.add(method(CONSTRUCTOR));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the given method is a getter with the given name.
+     *
+     * @param method The method
+     * @param name The name of the getter
+     *
+     * @return True if the method is the getter
+     */
+    private static boolean isGetter(ExecutableElement method, String name) {
+        return method.getParameters().isEmpty() && method.getSimpleName().contentEquals(name);
+    }
+
+    /**
+     * Returns true if the given method is a setter with the given name which accepts the given type.
+     *
+     * @param method The method
+     * @param name The name of the setter
+     * @param type The type of the field
+     *
+     * @return True if the method is the setter
+     */
+    private boolean isSetter(ExecutableElement method, String name, TypeMirror type) {
+        return method.getParameters().size() == 1 && method.getSimpleName().contentEquals(name)
+                && types.isSameType(types.erasure(method.getParameters().get(0).asType()), types.erasure(type));
+    }
+
+    /**
+     * Returns the entry of the given class, creating it if necessary.
+     *
+     * @param name The binary name of the class
+     *
+     * @return The entry of the class
+     */
+    private TypeEntry entry(String name) {
+        return entries.computeIfAbsent(name, TypeEntry::new);
+    }
+
+    /**
+     * Returns the name by which native-image refers to the given type, which is the binary name of a class.
+     *
+     * @param type The type
+     *
+     * @return The name of the erased type
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return elements.getBinaryName((TypeElement) types.asElement(erased)).toString();
+        }
+
+        return erased.toString();
+    }
+
+    /**
+     * Returns the metadata of a method.
+     *
+     * @param name The name of the method
+     * @param parameterTypes The names of the types of its parameters
+     *
+     * @return The method as a JSON object
+     */
+    private static String method(String name, String... parameterTypes) {
+        StringBuilder sb = new StringBuilder("{\"name\":").append(quote(name)).append(",\"parameterTypes\":[");
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            sb.append(i > 0 ? "," : "").append(quote(parameterTypes[i]));
+        }
+
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Appends the given values separated by commas.
+     *
+     * @param sb The builder to append to
+     * @param values The values to append
+     * @param named True if each value is a name which should be wrapped in an object
+     */
+    private static void join(StringBuilder sb, Set<String> values, boolean named) {
+        String separator = "";
+
+        for (String value : values) {
+            sb.append(separator).append(named ? "{\"name\":" + quote(value) + "}" : value);
+            separator = ",";
+        }
+    }
+
+    /**
+     * Returns the given value as a JSON string.
+     *
+     * @param value The value
+     *
+     * @return The quoted and escaped value
+     */
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * The members of a single class.
+     */
+    private static final class TypeEntry {
+        private final String name;
+        private final Set<String> fields = new LinkedHashSet<>();
+        private final Set<String> methods = new LinkedHashSet<>();
+
+        /**
+         * Creates an entry without members.
+         *
+         * @param name The binary name of the class
+         */
+        private TypeEntry(String name) {
+            this.name = name;
+        }
+    }
+}
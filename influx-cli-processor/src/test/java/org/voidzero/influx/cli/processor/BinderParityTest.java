@@ -0,0 +1,293 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.BinderSupport;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.ParseContext;
+import org.voidzero.influx.cli.TypeConverter;
+import org.voidzero.influx.cli.ValueSource;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that a generated binder and reflection bind the same input in the same way. The reflective path is taken by
+ * loading the command with a class loader which hides its generated binder.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class BinderParityTest {
+
+    private static final String PREFIX = BinderParityTest.class.getName();
+
+    private static final String LIMIT_VARIABLE = "BINDER_PARITY_TEST_LIMIT";
+
+    private static final String ORIGIN_VARIABLE = "BINDER_PARITY_TEST_ORIGIN";
+
+    @Test
+    public void testPathsAreDistinct() throws ClassNotFoundException, ParseException {
+        Class<?> hidden = new HidingClassLoader().loadClass(Limits.class.getName());
+
+        assertNotNull(new ParseContext<>(Limits.class, new String[0], null).getBinder());
+        assertNull(new ParseContext<>(hidden, new String[0], null).getBinder());
+        assertNotNull(new ParseContext<>(Service.class, new String[0], null).getBinder());
+    }
+
+    @Test
+    public void testOverriddenVariable() throws Exception {
+        assertSame("limit=5 origin=null conversions=[]",
+                Map.of(LIMIT_VARIABLE, "many"), "--limit", "5");
+    }
+
+    @Test
+    public void testVariableWithConverter() throws Exception {
+        assertSame("limit=0 origin=(7) conversions=[7]",
+                Map.of(ORIGIN_VARIABLE, "7"));
+    }
+
+    @Test
+    public void testRepeatedOptionsAreConvertedOnce() throws Exception {
+        assertSame("limit=3 origin=(2) conversions=[2]",
+                Map.of(ORIGIN_VARIABLE, "7"), "--limit", "x", "--origin", "1", "--limit", "3", "--origin", "2");
+    }
+
+    @Test
+    public void testInvalidWinningValue() throws Exception {
+        assertSame("Failed to parse string x into an instance of class int (limit, 1)",
+                Map.of(), "--limit", "3", "--limit", "x");
+    }
+
+    @Test
+    public void testInvalidVariable() throws Exception {
+        assertSame("Failed to parse string many into an instance of class int (limit, 1)",
+                Map.of(LIMIT_VARIABLE, "many"));
+    }
+
+    @Test
+    public void testMissingRequiredField() throws Exception {
+        assertSame(Service.class, "Required argument --host is not set (host, 7)", Map.of(), "--port", "80");
+        assertSame(Service.class, "host=db port=null conversions=[]", Map.of(), "--host", "db");
+    }
+
+    /**
+     * Binds the arguments to {@link Limits} with the generated binder and with reflection and verifies that both
+     * have the expected outcome.
+     *
+     * @param expected The expected outcome, see {@link #bind(Class, Map, String...)}
+     * @param variables The variables which options read their defaults from
+     * @param args The arguments to bind
+     * @throws Exception If the outcome cannot be described
+     */
+    private static void assertSame(String expected, Map<String, String> variables, String... args)
+            throws Exception {
+        assertSame(Limits.class, expected, variables, args);
+    }
+
+    /**
+     * Binds the arguments to the given class with the generated binder and with reflection and verifies that both
+     * have the expected outcome.
+     *
+     * @param type The class to bind
+     * @param expected The expected outcome, see {@link #bind(Class, Map, String...)}
+     * @param variables The variables which options read their defaults from
+     * @param args The arguments to bind
+     * @throws Exception If the outcome cannot be described
+     */
+    private static void assertSame(Class<?> type, String expected, Map<String, String> variables, String... args)
+            throws Exception {
+        Class<?> hidden = new HidingClassLoader().loadClass(type.getName());
+
+        assertEquals("generated", expected, bind(type, variables, args));
+        assertEquals("reflection", expected, bind(hidden, variables, args));
+    }
+
+    /**
+     * Binds the arguments to the given class and describes the outcome.
+     *
+     * @param type The class to bind
+     * @param variables The variables which options read their defaults from
+     * @param args The arguments to bind
+     *
+     * @return The fields and the converted values, or the message, field and exit status of the failure
+     * @throws Exception If the outcome cannot be described
+     */
+    private static String bind(Class<?> type, Map<String, String> variables, String... args) throws Exception {
+        Field conversions = type.getClassLoader().loadClass(RecordingConverter.class.getName())
+                .getDeclaredField("VALUES");
+        ((List<?>) conversions.get(null)).clear();
+
+        Object instance;
+
+        try {
+            instance = new InfluxCli().setValueSource(ValueSource.of(variables)).bind(type, args);
+        } catch (ParseException e) {
+            Field field = e.getField();
+            return e.getMessage() + " (" + (field == null ? null : field.getName()) + ", " + e.getExitStatus() + ")";
+        }
+
+        StringBuilder description = new StringBuilder();
+
+        for (Field field : type.getDeclaredFields()) {
+            description.append(field.getName()).append('=').append(field.get(instance)).append(' ');
+        }
+
+        return description.append("conversions=").append(conversions.get(null)).toString();
+    }
+
+    /**
+     * A point with a single coordinate.
+     */
+    public static class Origin {
+        private final String value;
+
+        /**
+         * Creates an origin.
+         *
+         * @param value The coordinate
+         */
+        public Origin(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + value + ")";
+        }
+    }
+
+    /**
+     * Converts strings into origins and records every value which it converts.
+     */
+    public static class RecordingConverter implements TypeConverter<Origin> {
+        public static final List<String> VALUES = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Class<Origin> getType() {
+            return Origin.class;
+        }
+
+        @Override
+        public Origin read(String value) {
+            VALUES.add(value);
+            return new Origin(value);
+        }
+
+        @Override
+        public String write(Origin value) {
+            return value.value;
+        }
+    }
+
+    /**
+     * A command whose options may be read from the environment.
+     */
+    public static class Limits {
+        @Arg(environmentVariable = LIMIT_VARIABLE)
+        public int limit;
+
+        @Arg(converter = RecordingConverter.class, environmentVariable = ORIGIN_VARIABLE)
+        public Origin origin;
+
+        /**
+         * Default constructor.
+         */
+        public Limits() {
+        }
+    }
+
+    /**
+     * A command with a required option which reports its own exit status.
+     */
+    public static class Service {
+        @Arg(required = true, exitStatus = 7)
+        public String host;
+
+        @Arg
+        public Integer port;
+
+        /**
+         * Default constructor.
+         */
+        public Service() {
+        }
+    }
+
+    /**
+     * Loads the classes of this test without their generated binders, so that they are bound with reflection.
+     */
+    private static final class HidingClassLoader extends ClassLoader {
+
+        /**
+         * Creates a class loader.
+         */
+        private HidingClassLoader() {
+            super(BinderParityTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+
+            if (name.endsWith(BinderSupport.BINDER_SUFFIX)) {
+                throw new ClassNotFoundException(name);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+
+                if (type != null) {
+                    return type;
+                }
+
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    if (in == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.BindResult;
+import org.voidzero.influx.cli.CommandChain;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.ParseContext;
+import org.voidzero.influx.cli.ReusableBinder;
+import org.voidzero.influx.cli.TypeConverter;
+import org.voidzero.influx.cli.ValueSource;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.StandardInput;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link BinderProcessor}. The test sources of this module are compiled with the processor, so the
+ * commands declared here are bound by generated binders.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class BinderProcessorTest {
+
+    @Test
+    public void testGeneratedBinderIsUsed() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(Tool.class, new String[]{"--name", "test"});
+        assertNotNull(context.getBinder());
+        assertSame(BinderProcessorTest_ToolBinder.class, context.getBinder().getClass());
+    }
+
+    @Test
+    public void testNamedValues() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{
+            "--name", "test", "-c", "42", "--ratio", "1.5", "--initial", "x", "--point", "3,4"
+        });
+
+        assertEquals("test", tool.name);
+        assertEquals(42, tool.count);
+        assertEquals(new BigDecimal("1.5"), tool.ratio);
+        assertEquals(Character.valueOf('x'), tool.initial);
+        assertEquals(3, tool.point.column);
+        assertEquals(4, tool.point.row);
+        assertFalse(tool.verbose);
+        assertFalse(tool.quiet);
+    }
+
+    @Test
+    public void testClusteredBooleans() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{"-vq", "--name", "test"});
+        assertTrue(tool.verbose);
+        assertTrue(tool.quiet);
+    }
+
+    @Test
+    public void testOrderedAndCollectionValues() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{
+            "--name", "test", "-t", "a", "-t", "b", "--level", "1", "--level", "2", "in.txt", "out.txt"
+        });
+
+        assertEquals(Arrays.asList("a", "b"), tool.tags);
+        assertArrayEquals(new Integer[]{1, 2}, tool.levels);
+        assertEquals("in.txt", tool.input);
+        assertEquals("out.txt", tool.output);
+    }
+
+    @Test
+    public void testTrailingOrderedListReceivesRemainingValues() throws ParseException, HelpException {
+        Files files = (Files) new InfluxCli().bind(Files.class, new String[]{"-w", "2", "a", "b", "-w", "3", "c"});
+
+        assertEquals("a", files.first);
+        assertEquals(Arrays.asList("b", "c"), files.rest);
+        assertArrayEquals(new Integer[]{1, 2, 3}, files.weights);
+    }
+
+    @Test
+    public void testPrimitiveArrays() throws ParseException, HelpException {
+        Vectors vectors = (Vectors) new InfluxCli().bind(Vectors.class, new String[]{
+            "--sizes", "1", "--sizes", "2", "--weights", "0.5", "--counts", "7", "3", "4"
+        });
+
+        assertArrayEquals(new int[]{1, 2}, vectors.sizes);
+        assertArrayEquals(new double[]{0.5}, vectors.weights, 0.0);
+        assertArrayEquals(new short[]{7}, vectors.counts);
+        assertArrayEquals(new long[]{0, 3, 4}, vectors.rest);
+    }
+
+    @Test
+    public void testInlineValues() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{"--name=a=b", "-c", "3", "--quiet=true"});
+
+        assertEquals("a=b", tool.name);
+        assertEquals(3, tool.count);
+        assertTrue(tool.quiet);
+    }
+
+    @Test
+    public void testUnknownFlagIsIgnored() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{"--unknown", "x", "--name", "test"});
+        assertEquals("test", tool.name);
+    }
+
+    @Test
+    public void testIgnoredFieldIsNotBound() throws ParseException, HelpException {
+        Tool tool = (Tool) new InfluxCli().bind(Tool.class, new String[]{"--name", "test", "--ignored", "x"});
+        assertNull(tool.ignored);
+    }
+
+    @Test(expected = HelpException.class)
+    public void testHelpToken() throws ParseException, HelpException {
+        new InfluxCli().bind(Tool.class, new String[]{"-?"});
+    }
+
+    @Test
+    public void testRequiredValue() throws HelpException {
+        try {
+            new InfluxCli().bind(Tool.class, new String[]{});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Required argument --name is not set", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidValue() throws HelpException {
+        try {
+            new InfluxCli().bind(Tool.class, new String[]{"--name", "test", "--count", "abc"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string abc into an instance of class int", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRegisteredConverterTakesPrecedence() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().register(Point.class, new PointConverter() {
+            @Override
+            public Point read(String value) {
+                return new Point(-1, -1);
+            }
+        });
+
+        Tool tool = (Tool) influxCli.bind(Tool.class, new String[]{"--name", "test", "--point", "3,4"});
+        assertEquals(-1, tool.point.column);
+    }
+
+    @Test
+    public void testRegisteredValueParser() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().register(Point.class, value -> new Point(0, value.length()));
+
+        Tool tool = (Tool) influxCli.bind(Tool.class, new String[]{"--name", "test", "--point", "3,4"});
+        assertEquals(3, tool.point.row);
+    }
+
+    @Test
+    public void testEnvironmentDefault() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli()
+                .setValueSource(ValueSource.of(Map.of("BINDER_PROCESSOR_TEST_COUNT", "7")));
+        Tool tool = (Tool) influxCli.bind(Tool.class, new String[]{"--name", "test"});
+        assertEquals(7, tool.count);
+    }
+
+    @Test
+    public void testSubCommand() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(Tool.class, new String[]{"sub", "--depth", "3"});
+        assertNotNull(context.getBinder());
+        assertEquals(3, ((Sub) context.getInstance()).depth);
+    }
+
+    @Test
+    public void testSubCommandChain() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Tool.class, new String[]{
+            "--name", "x", "-v", "sub", "--depth", "3", "-c", "2"
+        });
+        Tool tool = chain.getInstance(Tool.class);
+        assertEquals(2, chain.size());
+        assertEquals("x", tool.name);
+        assertTrue(tool.verbose);
+        assertEquals(2, tool.count);
+        assertEquals(3, ((Sub) chain.getInstance()).depth);
+    }
+
+    @Test
+    public void testSetterIsUsed() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(WithSetter.class, new String[]{"--value", "x"});
+        assertNotNull(context.getBinder());
+        assertEquals("x!", ((WithSetter) context.getInstance()).value);
+    }
+
+    @Test
+    public void testReflectionFallback() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(PrivateFields.class, new String[]{"--value", "x"});
+        assertNull(context.getBinder());
+        assertEquals("x", ((PrivateFields) context.getInstance()).value);
+    }
+
+    @Test
+    public void testStandardInputFallsBackToReflection() throws ParseException, HelpException {
+        InfluxCli cli = new InfluxCli().setIn(new ByteArrayInputStream("a\nb\n".getBytes(StandardCharsets.UTF_8)));
+        ParseContext<?> context = cli.bindContext(Lines.class, new String[0]);
+        assertNull(context.getBinder());
+        assertEquals(Arrays.asList("a", "b"), ((Lines) context.getInstance()).lines);
+    }
+
+    @Test
+    public void testEnvironmentPrefixFallsBackToReflection() throws ParseException, HelpException {
+        InfluxCli cli = new InfluxCli().setValueSource(ValueSource.of(Map.of("SERVER_PORT", "8080")));
+        ParseContext<?> context = cli.bindContext(Server.class, new String[0]);
+        assertNull(context.getBinder());
+        assertEquals(8080, ((Server) context.getInstance()).port);
+    }
+
+    @Test
+    public void testReusableBinder() throws ParseException, HelpException {
+        ReusableBinder<Tool> binder = new InfluxCli().newReusableBinder(Tool.class);
+        Tool tool = new Tool();
+
+        binder.bind(tool, new String[]{"--name", "a", "-v", "-c", "3", "-t", "x", "--level", "1", "in.txt"});
+        binder.bind(tool, new String[]{"--name", "b", "--level", "2"});
+
+        assertEquals("b", tool.name);
+        assertEquals(0, tool.count);
+        assertFalse(tool.verbose);
+        assertNull(tool.tags);
+        assertArrayEquals(new Integer[]{2}, tool.levels);
+        assertNull(tool.input);
+    }
+
+    @Test
+    public void testTryBindNamesMissingRequiredField() throws NoSuchFieldException, ParseException {
+        assertNotNull(new ParseContext<>(Mail.class, new String[0], null).getBinder());
+
+        BindResult result = new InfluxCli().tryBind(Mail.class, new String[]{"--retries", "2"});
+
+        assertFalse(result.isSuccess());
+        assertEquals("Required argument --recipient is not set", result.getMessage());
+        assertEquals(Mail.class.getDeclaredField("recipient"), result.getField());
+        assertEquals(7, result.getExitStatus());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testTryBindNamesInvalidField() throws NoSuchFieldException {
+        BindResult result = new InfluxCli().tryBind(Mail.class, new String[]{"--recipient", "ops", "--retries", "x"});
+
+        assertFalse(result.isSuccess());
+        assertEquals(Mail.class.getDeclaredField("retries"), result.getField());
+        assertEquals("x", result.getValue());
+        assertEquals(3, result.getExitStatus());
+    }
+
+    @Command(helpTokens = {"-?"})
+    static class Tool {
+        @Arg(required = true)
+        String name;
+
+        @Arg(code = 'c', environmentVariable = "BINDER_PROCESSOR_TEST_COUNT")
+        int count;
+
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(code = 'q')
+        Boolean quiet;
+
+        BigDecimal ratio;
+
+        Character initial;
+
+        @Arg(converter = PointConverter.class)
+        Point point;
+
+        @Arg(code = 't', collectionType = String.class)
+        List<String> tags;
+
+        @Arg(flag = "level", collectionType = Integer.class)
+        Integer[] levels;
+
+        @Ignore
+        String ignored;
+
+        @Ordered(order = 1)
+        String output;
+
+        @Ordered(order = 0)
+        String input;
+
+        Sub sub;
+    }
+
+    static class Files {
+        @Arg(code = 'w', collectionType = Integer.class)
+        Integer[] weights = {1};
+
+        @Ordered(order = 0)
+        String first;
+
+        @Ordered(order = 1, collectionType = String.class)
+        List<String> rest;
+    }
+
+    static class Vectors {
+        @Arg
+        int[] sizes;
+
+        @Arg(collectionType = Double.class)
+        double[] weights;
+
+        @Arg
+        short[] counts;
+
+        @Ordered(order = 0)
+        long[] rest = {0};
+    }
+
+    @Command(name = "sub")
+    static class Sub {
+        int depth;
+    }
+
+    static class WithSetter {
+        @Arg
+        private String value;
+
+        void setValue(String value) {
+            this.value = value + "!";
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+
+    static class Mail {
+        @Arg(required = true, exitStatus = 7)
+        String recipient;
+
+        @Arg(exitStatus = 3)
+        int retries;
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively from the core module.
+     */
+    public static class PrivateFields {
+        @Arg
+        private String value;
+
+        public PrivateFields() {
+        }
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively from the core module.
+     */
+    public static class Lines {
+        @Ordered(order = 0, collectionType = String.class, standardInput = StandardInput.NEWLINE)
+        List<String> lines;
+
+        public Lines() {
+        }
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively from the core module.
+     */
+    @Command(environmentPrefix = "SERVER_")
+    public static class Server {
+        @Arg
+        int port;
+
+        public Server() {
+        }
+    }
+
+    static class Point {
+        private final int column;
+        private final int row;
+
+        Point(int column, int row) {
+            this.column = column;
+            this.row = row;
+        }
+    }
+
+    static class PointConverter implements TypeConverter<Point> {
+        @Override
+        public Class<Point> getType() {
+            return Point.class;
+        }
+
+        @Override
+        public Point read(String value) {
+            String[] parts = value.split(",");
+            return new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        @Override
+        public String write(Point value) {
+            return value.column + "," + value.row;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+import org.voidzero.influx.cli.InfluxCli;
+import org.voidzero.influx.cli.ParseContext;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for the command index which is written by {@link BinderProcessor}. The commands are loaded by an isolated
+ * class loader, which records the classes that are loaded so that the tests can verify which sub-commands were
+ * loaded.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class CommandIndexTest {
+
+    private static final String PREFIX = CommandIndexTest.class.getName();
+
+    @Test
+    public void testIndexIsWritten() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CommandIndexGenerator.RESOURCE)) {
+            assertNotNull(in);
+        }
+    }
+
+    @Test
+    public void testHelpDoesNotLoadSubCommands() throws ClassNotFoundException {
+        IsolatingClassLoader classLoader = new IsolatingClassLoader(false);
+        String help = InfluxCli.help(classLoader.loadClass(Suite.class.getName()));
+
+        assertTrue(help.contains("alpha\t\tFirst"));
+        assertTrue(help.contains("second-step\t\tSecond\nline"));
+        assertFalse(classLoader.loaded.contains(Alpha.class.getName()));
+        assertFalse(classLoader.loaded.contains(Beta.class.getName()));
+    }
+
+    @Test
+    public void testHelpMatchesReflection() throws ClassNotFoundException {
+        IsolatingClassLoader indexed = new IsolatingClassLoader(false);
+        IsolatingClassLoader reflective = new IsolatingClassLoader(true);
+        String expected = InfluxCli.help(reflective.loadClass(Suite.class.getName()));
+
+        assertEquals(expected, InfluxCli.help(indexed.loadClass(Suite.class.getName())));
+        assertTrue(reflective.loaded.contains(Alpha.class.getName()));
+    }
+
+    @Test
+    public void testRoutingLoadsOnlySelectedSubCommand()
+            throws ClassNotFoundException, ParseException, HelpException, ReflectiveOperationException {
+        IsolatingClassLoader classLoader = new IsolatingClassLoader(false);
+        ParseContext<?> context = new InfluxCli().bindContext(classLoader.loadClass(Suite.class.getName()),
+                new String[]{"secondStep", "--size", "2"});
+
+        // The isolated class is in a different runtime package than this test
+        Field size = context.getInstance().getClass().getDeclaredField("size");
+        size.setAccessible(true);
+
+        assertEquals(Beta.class.getName(), context.getInstance().getClass().getName());
+        assertEquals(2, size.getInt(context.getInstance()));
+        assertFalse(classLoader.loaded.contains(Alpha.class.getName()));
+    }
+
+    /**
+     * A command which cannot be bound without reflection, so that it is routed with the index.
+     */
+    @Command(name = "suite", openingText = "usage: suite")
+    public static class Suite {
+        @Arg(code = 'v', category = "output", description = "Prints\tmore \\ output")
+        private boolean verbose;
+
+        @Arg(required = true)
+        String target;
+
+        double ratio;
+
+        @Ordered(order = 0)
+        String file;
+
+        @Ignore
+        String ignored;
+
+        Alpha alpha;
+
+        Beta secondStep;
+
+        /**
+         * Default constructor.
+         */
+        public Suite() {
+        }
+    }
+
+    /**
+     * The first sub-command.
+     */
+    @Command(name = "alpha", description = "First")
+    public static class Alpha {
+        int count;
+    }
+
+    /**
+     * The second sub-command, which is named after its field.
+     */
+    @Command(description = "Second\nline")
+    public static class Beta {
+        int size;
+    }
+
+    /**
+     * Defines the classes of this test itself and records them, and delegates everything else to its parent.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private final boolean hideIndex;
+        private final Set<String> loaded = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Creates a class loader.
+         *
+         * @param hideIndex True if the command index should not be visible
+         */
+        private IsolatingClassLoader(boolean hideIndex) {
+            super(CommandIndexTest.class.getClassLoader());
+            this.hideIndex = hideIndex;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+
+                if (type != null) {
+                    return type;
+                }
+
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    if (in == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+
+                    byte[] bytes = in.readAllBytes();
+                    type = defineClass(name, bytes, 0, bytes.length);
+                    loaded.add(name);
+                    return type;
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (hideIndex && CommandIndexGenerator.RESOURCE.equals(name)) {
+                return Collections.emptyEnumeration();
+            }
+
+            return super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.voidzero.influx.cli.processor;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+import org.voidzero.influx.cli.BinderSupport;
+import org.voidzero.influx.cli.StringValueParser;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+
+/**
+ * Verifies that the native-image metadata which is written by {@link BinderProcessor} lists every member that binding
+ * reflects on, for every class in the command index of the tests.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class NativeImageConfigTest {
+
+    /**
+     * The directory of the metadata, as named by the processor option in the build of the tests.
+     */
+    private static final String DIRECTORY = "META-INF/native-image/org.voidzero/influx-cli-processor/";
+
+    private static final Pattern NAME = Pattern.compile("^\\s*\\{\"name\":\"([^\"]+)\"");
+
+    @Test
+    public void testEveryCommandIsRegistered() throws IOException, ClassNotFoundException {
+        Map<String, String> entries = readEntries();
+        List<String> commands = readCommands();
+
+        assertFalse(commands.isEmpty());
+
+        for (String command : commands) {
+            Class<?> type = Class.forName(command);
+            String entry = entries.get(type.getName());
+
+            assertNotNull("Missing " + type.getName(), entry);
+            assertContains(entry, method("<init>"));
+
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isSynthetic()) {
+                    assertContains(entry, "{\"name\":\"" + field.getName() + "\"}");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAccessorMethodsAreRegistered() throws IOException, ClassNotFoundException {
+        Map<String, String> entries = readEntries();
+
+        for (String command : readCommands()) {
+            Class<?> type = Class.forName(command);
+            String entry = entries.get(type.getName());
+
+            for (Field field : type.getDeclaredFields()) {
+                String suffix = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+
+                for (Method method : type.getDeclaredMethods()) {
+                    if (method.getName().equals("get" + suffix) && method.getParameterCount() == 0) {
+                        assertContains(entry, method(method.getName()));
+                    } else if (method.getName().equals("set" + suffix) && method.getParameterCount() == 1
+                            && method.getParameterTypes()[0].equals(field.getType())) {
+                        assertContains(entry, method(method.getName(), field.getType().getTypeName()));
+                    }
+                }
+            }
+        }
+
+        assertContains(entries.get(BinderProcessorTest.WithSetter.class.getName()),
+                method("setValue", "java.lang.String"));
+    }
+
+    @Test
+    public void testConvertersAreRegistered() throws IOException, ClassNotFoundException {
+        Map<String, String> entries = readEntries();
+
+        for (String command : readCommands()) {
+            for (Field field : Class.forName(command).getDeclaredFields()) {
+                Arg arg = field.getAnnotation(Arg.class);
+                Ordered ordered = field.getAnnotation(Ordered.class);
+                Class<?> converter = arg != null ? arg.converter() : ordered != null ? ordered.converter() : null;
+
+                if (converter != null && converter != StringValueParser.class) {
+                    assertNotNull("Missing " + converter.getName(), entries.get(converter.getName()));
+                    assertContains(entries.get(converter.getName()), method("<init>"));
+                }
+            }
+        }
+
+        assertNotNull(entries.get(BinderProcessorTest.PointConverter.class.getName()));
+    }
+
+    @Test
+    public void testGeneratedBindersAreRegistered() throws IOException, ClassNotFoundException {
+        Map<String, String> entries = readEntries();
+        int binders = 0;
+
+        for (String command : readCommands()) {
+            String binderName = BinderSupport.binderName(Class.forName(command));
+
+            try {
+                Class.forName(binderName);
+            } catch (ClassNotFoundException e) {
+                // Classes which are bound with reflection do not have a binder
+                assertFalse(entries.containsKey(binderName));
+                continue;
+            }
+
+            assertNotNull("Missing " + binderName, entries.get(binderName));
+            assertContains(entries.get(binderName), method("<init>"));
+            binders++;
+        }
+
+        assertTrue(binders > 0);
+    }
+
+    @Test
+    public void testCommandIndexIsIncluded() throws IOException {
+        String content = read(DIRECTORY + NativeImageConfigGenerator.RESOURCE_CONFIG);
+
+        assertContains(content, "\\\\Q" + CommandIndexGenerator.RESOURCE + "\\\\E");
+    }
+
+    @Test
+    public void testDirectoryIsNamedAfterTheArtifact() {
+        assertEquals("META-INF/native-image/org.example/cli/", NativeImageConfigGenerator.directory("org.example/cli",
+                "org.example.Cli"));
+        assertEquals("META-INF/native-image/influx-cli/org.example.Cli/",
+                NativeImageConfigGenerator.directory(null, "org.example.Cli"));
+    }
+
+    @Test
+    public void testArtifactMustBeRelative() {
+        for (String artifact : new String[] {"", "/org.example/cli", "org.example/../cli", "org.example//cli", "./x"}) {
+            try {
+                NativeImageConfigGenerator.directory(artifact, "org.example.Cli");
+                fail("Accepted " + artifact);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(BinderProcessor.ARTIFACT_OPTION));
+            }
+        }
+    }
+
+    /**
+     * Asserts that the given metadata contains the given member.
+     *
+     * @param entry The metadata
+     * @param member The member
+     */
+    private static void assertContains(String entry, String member) {
+        assertTrue("Missing " + member + " in " + entry, entry.contains(member));
+    }
+
+    /**
+     * Returns the metadata of a method in the format which is written by the processor.
+     *
+     * @param name The name of the method
+     * @param parameterTypes The names of the types of its parameters
+     *
+     * @return The metadata of the method
+     */
+    private static String method(String name, String... parameterTypes) {
+        StringBuilder sb = new StringBuilder("{\"name\":\"").append(name).append("\",\"parameterTypes\":[");
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            sb.append(i > 0 ? "," : "").append('"').append(parameterTypes[i]).append('"');
+        }
+
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Reads the reflection metadata, which lists one class per line.
+     *
+     * @return The metadata of each class keyed by the name of the class
+     */
+    private static Map<String, String> readEntries() throws IOException {
+        Map<String, String> entries = new HashMap<>();
+
+        for (String line : read(DIRECTORY + NativeImageConfigGenerator.REFLECT_CONFIG).split("\n")) {
+            Matcher matcher = NAME.matcher(line);
+
+            if (matcher.find()) {
+                entries.put(matcher.group(1), line);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Reads the names of the classes in the command index of the tests.
+     *
+     * @return The binary names of the classes
+     */
+    private static List<String> readCommands() throws IOException {
+        List<String> commands = new ArrayList<>();
+
+        for (String line : read(CommandIndexGenerator.RESOURCE).split("\n")) {
+            if (line.startsWith(CommandIndexGenerator.COMMAND + "\t")) {
+                commands.add(line.substring(CommandIndexGenerator.COMMAND.length() + 1));
+            }
+        }
+
+        return commands;
+    }
+
+    /**
+     * Reads a resource which was written while the tests were compiled.
+     *
+     * @param name The name of the resource
+     *
+     * @return The content of the resource
+     */
+    private static String read(String name) throws IOException {
+        InputStream in = NativeImageConfigTest.class.getClassLoader().getResourceAsStream(name);
+        assertNotNull("Missing " + name, in);
+
+        StringBuilder sb = new StringBuilder();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                sb.append(line).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,377 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+/**
+ * Walks the original argument array with an index instead of copying it into a stack. Clusters of single character
+ * flags, such as {@code -abc}, are expanded in place by a second index which points at the next character of the
+ * cluster, so no intermediate strings are created for ASCII flags. The name of each flag is reported as a range of
+ * characters within its token, which is looked up with a {@link FlagIndex} instead of being copied.
+ *
+ * <p>If argument files are expanded, an argument of the form {@code @path} is replaced by the tokens of the file at
+ * that path, see {@link ArgumentFile}. The tokens are read one at a time as the cursor reaches them, so the file is
+ * never held in memory. Tokens which are read from a file are not expanded again.</p>
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class ArgumentCursor {
+    private static final int CACHED_CHARACTERS = 128;
+    private static final String[] SHORT_FLAGS = new String[CACHED_CHARACTERS];
+
+    static {
+        for (char ch = 0; ch < CACHED_CHARACTERS; ch++) {
+            SHORT_FLAGS[ch] = "-" + ch;
+        }
+    }
+
+    private final boolean expandFiles;
+    private final ArgumentFileFormat fileFormat;
+    private String[] args;
+    private int position;
+    private ArgumentFile file;
+    private String fileName;
+    private String fileToken;
+    private int clusterIndex;
+    private int flagStart;
+    private int flagEnd;
+    private String inlineValue;
+
+    /**
+     * Creates a cursor which starts at the given position.
+     *
+     * @param args The arguments to walk
+     * @param position The position of the first argument
+     */
+    ArgumentCursor(String[] args, int position) {
+        this(args, position, false, ArgumentFileFormat.QUOTED);
+    }
+
+    /**
+     * Creates a cursor which starts at the given position and optionally expands argument files of the given format.
+     *
+     * @param args The arguments to walk
+     * @param position The position of the first argument
+     * @param expandFiles True if arguments of the form {@code @path} should be replaced by the tokens of the file
+     * @param fileFormat The format of argument files
+     */
+    ArgumentCursor(String[] args, int position, boolean expandFiles, ArgumentFileFormat fileFormat) {
+        this.args = args;
+        this.position = position;
+        this.expandFiles = expandFiles;
+        this.fileFormat = fileFormat;
+    }
+
+    /**
+     * Moves the cursor to the given position of different arguments, so that it can walk them without being
+     * recreated.
+     *
+     * @param args The arguments to walk
+     * @param position The position of the first argument
+     */
+    void reset(String[] args, int position) {
+        close();
+        this.args = args;
+        this.position = position;
+        this.clusterIndex = 0;
+        this.inlineValue = null;
+    }
+
+    /**
+     * Returns true if there are arguments, or characters of a cluster, which have not been consumed.
+     *
+     * @return True if there is more input
+     */
+    boolean hasNext() {
+        expand();
+        return file != null || position < args.length;
+    }
+
+    /**
+     * Returns the number of arguments which have not been consumed, counting a partially expanded cluster as one.
+     *
+     * @return The number of remaining arguments
+     */
+    int remaining() {
+        return args.length - position + (file == null ? 0 : 1);
+    }
+
+    /**
+     * Returns true if the cursor points into a cluster of single character flags.
+     *
+     * @return True if the cursor points into a cluster
+     */
+    boolean isInCluster() {
+        return clusterIndex > 0;
+    }
+
+    /**
+     * Returns the current argument without consuming it.
+     *
+     * @return The current argument
+     */
+    String peek() {
+        expand();
+        return current();
+    }
+
+    /**
+     * Consumes and returns the current argument.
+     *
+     * @return The current argument
+     */
+    String next() {
+        expand();
+        String arg = current();
+        advance();
+        return arg;
+    }
+
+    /**
+     * Starts expanding the current argument, which must look like {@code -abc}, into individual flags.
+     */
+    void startCluster() {
+        clusterIndex = 1;
+    }
+
+    /**
+     * Consumes the next flag, which is either the next character of a cluster or the current argument. The range of
+     * the name of the flag within the returned token, without leading hyphens, is available from
+     * {@link #getFlagStart()} and {@link #getFlagEnd()} afterwards. If the flag is written as {@code --name=value},
+     * the name ends before the equals sign and the value is available from {@link #takeInlineValue()}.
+     *
+     * @return The flag as it would have been typed on its own, for example {@code -a} or {@code --all}
+     */
+    String nextFlag() {
+        inlineValue = null;
+
+        expand();
+
+        if (clusterIndex == 0) {
+            String arg = current();
+            advance();
+
+            if (arg.charAt(1) == '-') {
+                int equals = arg.indexOf('=', 2);
+                flagStart = 2;
+
+                if (equals < 0) {
+                    flagEnd = arg.length();
+                } else {
+                    flagEnd = equals;
+                    inlineValue = arg.substring(equals + 1);
+                }
+            } else {
+                flagStart = 1;
+                flagEnd = arg.length();
+            }
+
+            return arg;
+        }
+
+        final String cluster = current();
+        final char ch = cluster.charAt(clusterIndex++);
+
+        // The cluster has been consumed, so move on to the next argument
+        if (clusterIndex == cluster.length()) {
+            clusterIndex = 0;
+            advance();
+        }
+
+        flagStart = 1;
+        flagEnd = 2;
+        return ch < CACHED_CHARACTERS ? SHORT_FLAGS[ch] : "-" + ch;
+    }
+
+    /**
+     * Returns the index of the first character of the name of the most recently consumed flag.
+     *
+     * @return The index of the first character of the name, inclusive
+     */
+    int getFlagStart() {
+        return flagStart;
+    }
+
+    /**
+     * Returns the index after the last character of the name of the most recently consumed flag.
+     *
+     * @return The index of the last character of the name, exclusive
+     */
+    int getFlagEnd() {
+        return flagEnd;
+    }
+
+    /**
+     * Consumes the value which followed an equals sign in the most recently consumed flag.
+     *
+     * @return The value or null if the flag did not contain one
+     */
+    String takeInlineValue() {
+        String value = inlineValue;
+        inlineValue = null;
+        return value;
+    }
+
+    /**
+     * Consumes the characters of the current cluster which have not been expanded yet. This allows a flag which
+     * accepts a value to be followed by its value in the same argument, as in {@code -j8}.
+     *
+     * @return The remaining characters of the cluster
+     */
+    String remainingCluster() {
+        String remaining = current().substring(clusterIndex);
+        clusterIndex = 0;
+        advance();
+        return remaining;
+    }
+
+    /**
+     * Returns true if the current argument names an argument file which has not been opened yet.
+     *
+     * @return True if the cursor points at an argument file
+     */
+    boolean isAtArgumentFile() {
+        return file == null && expandFiles && position < args.length && isArgumentFile(args[position]);
+    }
+
+    /**
+     * Opens the argument file which the cursor points at. Its tokens are returned until it has been consumed, see
+     * {@link #isInArgumentFile()}.
+     */
+    void openArgumentFile() {
+        open(args[position++]);
+    }
+
+    /**
+     * Returns true if the current token was read from an argument file.
+     *
+     * @return True if an argument file is being read
+     */
+    boolean isInArgumentFile() {
+        return file != null;
+    }
+
+    /**
+     * Closes the argument file which is being read, if any. This only needs to be called if parsing stops before
+     * every argument has been consumed.
+     */
+    void close() {
+        if (file == null) {
+            return;
+        }
+
+        ArgumentFile done = file;
+        file = null;
+        fileToken = null;
+
+        try {
+            done.close();
+        } catch (IOException e) {
+            // The file was only read, so nothing can have been lost
+        }
+    }
+
+    /**
+     * Returns the current token without consuming it.
+     *
+     * @return The current token
+     */
+    private String current() {
+        return file == null ? args[position] : fileToken;
+    }
+
+    /**
+     * Consumes the current token.
+     */
+    private void advance() {
+        if (file == null) {
+            position++;
+        } else {
+            readToken();
+        }
+    }
+
+    /**
+     * Opens the argument files which the cursor has reached. Empty files are skipped.
+     */
+    private void expand() {
+        while (isAtArgumentFile()) {
+            openArgumentFile();
+        }
+    }
+
+    /**
+     * Opens the argument file with the given name and reads its first token.
+     *
+     * @param arg The argument which names the file, including the leading {@code @}
+     */
+    private void open(String arg) {
+        fileName = arg.substring(1);
+
+        try {
+            file = new ArgumentFile(Paths.get(fileName), fileFormat);
+        } catch (IOException | InvalidPathException e) {
+            throw new UncheckedIOException(format("Unable to read argument file %s", fileName),
+                    e instanceof IOException ? (IOException) e : new IOException(e));
+        }
+
+        readToken();
+    }
+
+    /**
+     * Reads the next token of the argument file, closing the file once it has been consumed.
+     */
+    private void readToken() {
+        try {
+            fileToken = file.next();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(format("Unable to read argument file %s", fileName), e);
+        }
+
+        if (fileToken == null) {
+            close();
+        }
+    }
+
+    /**
+     * Returns true if the given argument names an argument file.
+     *
+     * @param arg The argument to check
+     *
+     * @return True if the argument starts with {@code @} and is followed by a path
+     */
+    private static boolean isArgumentFile(String arg) {
+        return arg.length() > 1 && arg.charAt(0) == '@';
+    }
+}
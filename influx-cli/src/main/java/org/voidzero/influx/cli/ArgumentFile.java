@@ -0,0 +1,328 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the arguments of an argument file one token at a time, see {@link InfluxCli#setExpandArgumentFiles(boolean)}.
+ * The file is memory mapped in windows of a fixed size, so only the token which is currently being read is held on
+ * the heap, regardless of the size of the file. The file is read as UTF-8 in the given {@link ArgumentFileFormat}:
+ *
+ * <ul>
+ *     <li>If the file is NUL delimited, as written by {@code find -print0}, or has a token on every line, every token
+ *     is taken literally and empty tokens are skipped. A carriage return at the end of a line is removed.</li>
+ *     <li>Otherwise, tokens are separated by whitespace and quoted the way a shell would quote them. Characters
+ *     between single quotes are taken literally. Between double quotes, a backslash escapes a double quote or a
+ *     backslash. Outside quotes, a backslash escapes the next character and a backslash at the end of a line joins
+ *     it with the next line. If a NUL character appears before the first line separator, the file is read as NUL
+ *     delimited instead.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class ArgumentFile implements Closeable {
+
+    /**
+     * The number of bytes which are mapped at once.
+     */
+    static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private static final int END_OF_FILE = -1;
+
+    private static final int QUOTED = -2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private final int delimiter;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] token = new byte[64];
+    private int length;
+
+    /**
+     * Opens the given argument file.
+     *
+     * @param path The location of the argument file
+     * @param format The format of the argument file
+     * @param windowSize The number of bytes which are mapped at once
+     * @throws IOException If the file cannot be opened
+     */
+    ArgumentFile(Path path, ArgumentFileFormat format, long windowSize) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+
+        try {
+            this.size = channel.size();
+            map(0);
+            this.delimiter = format == ArgumentFileFormat.NEWLINE ? '\n'
+                    : format == ArgumentFileFormat.NUL || isNulDelimited() ? 0 : QUOTED;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the given argument file with the default window size.
+     *
+     * @param path The location of the argument file
+     * @param format The format of the argument file
+     * @throws IOException If the file cannot be opened
+     */
+    ArgumentFile(Path path, ArgumentFileFormat format) throws IOException {
+        this(path, format, WINDOW_SIZE);
+    }
+
+    /**
+     * Opens the given argument file in the {@link ArgumentFileFormat#QUOTED} format with the default window size.
+     *
+     * @param path The location of the argument file
+     * @throws IOException If the file cannot be opened
+     */
+    ArgumentFile(Path path) throws IOException {
+        this(path, ArgumentFileFormat.QUOTED, WINDOW_SIZE);
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return The next token or null if the end of the file has been reached
+     * @throws IOException If the file cannot be read or contains an unterminated quote
+     */
+    String next() throws IOException {
+        length = 0;
+
+        return delimiter == QUOTED ? nextQuoted() : nextDelimited();
+    }
+
+    /**
+     * Closes the file. Windows which have already been mapped stay valid until they are garbage collected.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the next token of a NUL or line delimited file.
+     *
+     * @return The next token or null if the end of the file has been reached
+     * @throws IOException If the file cannot be read
+     */
+    private String nextDelimited() throws IOException {
+        int ch = read();
+
+        while (length == 0) {
+            while (ch == delimiter) {
+                ch = read();
+            }
+
+            if (ch == END_OF_FILE) {
+                return null;
+            }
+
+            while (ch != END_OF_FILE && ch != delimiter) {
+                append(ch);
+                ch = read();
+            }
+
+            // A line which only holds a carriage return is empty as well
+            if (delimiter == '\n' && token[length - 1] == '\r') {
+                length--;
+            }
+        }
+
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next token of a whitespace delimited file.
+     *
+     * @return The next token or null if the end of the file has been reached
+     * @throws IOException If the file cannot be read or contains an unterminated quote
+     */
+    private String nextQuoted() throws IOException {
+        int ch = read();
+
+        while (isWhitespace(ch)) {
+            ch = read();
+        }
+
+        if (ch == END_OF_FILE) {
+            return null;
+        }
+
+        while (ch != END_OF_FILE && !isWhitespace(ch)) {
+            if (ch == '\'') {
+                readQuoted('\'');
+            } else if (ch == '"') {
+                readQuoted('"');
+            } else if (ch == '\\') {
+                ch = read();
+
+                // A backslash at the end of a line joins it with the next line
+                if (ch == END_OF_FILE || ch == '\n') {
+                    ch = read();
+                    continue;
+                }
+
+                append(ch);
+            } else {
+                append(ch);
+            }
+
+            ch = read();
+        }
+
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the characters which follow an opening quote up to and including the closing quote.
+     *
+     * @param quote The quote character
+     * @throws IOException If the file cannot be read or the quote is not closed
+     */
+    private void readQuoted(char quote) throws IOException {
+        int ch = read();
+
+        while (ch != quote) {
+            if (ch == END_OF_FILE) {
+                throw new IOException("Unterminated quote in argument file " + path);
+            }
+
+            // Only a double quote or a backslash can be escaped between double quotes
+            if (ch == '\\' && quote == '"') {
+                int escaped = read();
+
+                // The quote cannot be closed once the file has ended
+                if (escaped == END_OF_FILE) {
+                    throw new IOException("Unterminated quote in argument file " + path);
+                }
+
+                if (escaped != '"' && escaped != '\\') {
+                    append(ch);
+                }
+
+                append(escaped);
+                ch = read();
+                continue;
+            }
+
+            append(ch);
+            ch = read();
+        }
+    }
+
+    /**
+     * Returns true if a NUL character appears before the first line separator of the first window.
+     *
+     * @return True if the file is NUL delimited
+     */
+    private boolean isNulDelimited() {
+        for (int i = 0; i < window.limit(); i++) {
+            byte value = window.get(i);
+
+            if (value == 0) {
+                return true;
+            } else if (value == '\n') {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the next byte, mapping the next window once the current one has been consumed.
+     *
+     * @return The next byte or {@value #END_OF_FILE} if the end of the file has been reached
+     * @throws IOException If the next window cannot be mapped
+     */
+    private int read() throws IOException {
+        if (!window.hasRemaining()) {
+            long next = windowStart + window.limit();
+
+            if (next >= size) {
+                return END_OF_FILE;
+            }
+
+            map(next);
+        }
+
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * Maps the window which starts at the given position.
+     *
+     * @param start The position of the first byte of the window
+     * @throws IOException If the window cannot be mapped
+     */
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+
+    /**
+     * Appends a byte to the current token.
+     *
+     * @param value The byte to append
+     */
+    private void append(int value) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+        }
+
+        token[length++] = (byte) value;
+    }
+
+    /**
+     * Returns true if the given byte separates tokens. NUL characters are treated as whitespace, so that a file
+     * which mixes both delimiters is still split.
+     *
+     * @param ch The byte to check
+     *
+     * @return True if the byte is whitespace
+     */
+    private static boolean isWhitespace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '\f' || ch == 0;
+    }
+}
@@ -0,0 +1,54 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+/**
+ * How the tokens of an argument file are delimited, see {@link InfluxCli#setArgumentFileFormat(ArgumentFileFormat)}.
+ * Producers which cannot quote their output, such as {@code find}, write one of the literal formats, in which every
+ * byte of a token is taken as it is.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public enum ArgumentFileFormat {
+    /**
+     * Tokens are separated by whitespace and quoted the way a shell would quote them, see {@link ArgumentFile}. A
+     * file in which a NUL character appears before the first line separator is read as {@link #NUL} instead.
+     */
+    QUOTED,
+
+    /**
+     * Tokens are separated by NUL characters, as written by {@code find -print0}, and taken literally. Empty tokens
+     * are skipped.
+     */
+    NUL,
+
+    /**
+     * Every line is a token which is taken literally. A carriage return before a line feed is removed and empty lines
+     * are skipped.
+     */
+    NEWLINE
+}
@@ -0,0 +1,164 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UncheckedParseException;
+
+/**
+ * The values of an {@code Iterable}, {@code Stream} or {@code Spliterator} field which were found on the command
+ * line. Only references to the raw arguments are kept, and each value is converted by the parser of the field when it
+ * is reached, so a field with millions of values does not hold more than the arguments themselves. The values can be
+ * iterated any number of times and their spliterator is sized and splits evenly, so parallel streams divide the work
+ * between every core.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class ArgumentValues implements Iterable<Object> {
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE;
+
+    private final String[] values;
+    private final ValueParser parser;
+    private final Class<?> type;
+
+    /**
+     * Creates the values of a field.
+     *
+     * @param values The raw values, which must not be modified afterwards
+     * @param parser The parser which converts each value
+     * @param type The type which each value is converted into
+     */
+    ArgumentValues(String[] values, ValueParser parser, Class<?> type) {
+        this.values = values;
+        this.parser = parser;
+        this.type = type;
+    }
+
+    /**
+     * Returns an iterator which converts the values as they are requested.
+     *
+     * @return The iterator
+     * @throws UncheckedParseException If a value cannot be converted while iterating
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator which converts the values as they are requested. It splits its range in half, down to
+     * single values.
+     *
+     * @return The spliterator
+     * @throws UncheckedParseException If a value cannot be converted while traversing
+     */
+    @Override
+    public Spliterator<Object> spliterator() {
+        return new RangeSpliterator(0, values.length);
+    }
+
+    /**
+     * Converts a raw value.
+     *
+     * @param value The raw value
+     *
+     * @return The converted value
+     * @throws UncheckedParseException If the value cannot be converted
+     */
+    private Object convert(String value) {
+        try {
+            return ValueParsers.parse(parser, value, type);
+        } catch (ParseException e) {
+            throw new UncheckedParseException(e);
+        }
+    }
+
+    /**
+     * Traverses a range of the raw values.
+     */
+    private final class RangeSpliterator implements Spliterator<Object> {
+        private int position;
+        private final int end;
+
+        /**
+         * Creates a spliterator over the given range.
+         *
+         * @param position The index of the first value
+         * @param end The index after the last value
+         */
+        private RangeSpliterator(int position, int end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Object> action) {
+            if (position >= end) {
+                return false;
+            }
+
+            action.accept(convert(values[position++]));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Object> action) {
+            // The position is advanced first, so that a conversion error does not leave the value to be retried
+            while (position < end) {
+                action.accept(convert(values[position++]));
+            }
+        }
+
+        @Override
+        public Spliterator<Object> trySplit() {
+            int middle = (position + end) >>> 1;
+
+            if (middle <= position) {
+                return null;
+            }
+
+            Spliterator<Object> prefix = new RangeSpliterator(position, middle);
+            position = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Binds a sequence of argument vectors on an executor and returns the results in input order, see
+ * {@link InfluxCli#bindAll(Iterable, Class, Executor)}. The argument vectors are submitted in chunks, and only a
+ * bounded number of chunks is in flight at any time, so arbitrarily long or lazily produced sequences are bound in
+ * constant memory. Instances are not thread-safe, they are meant to be consumed by a single thread.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class BatchIterator implements Iterator<BindResult> {
+
+    /**
+     * The number of argument vectors which are bound by a single task.
+     */
+    static final int CHUNK_SIZE = 64;
+
+    /**
+     * The number of chunks which may be submitted but not yet consumed.
+     */
+    static final int MAX_CHUNKS_IN_FLIGHT = 64;
+
+    private final InfluxCli influxCli;
+    private final Class<?> classType;
+    private final Iterator<String[]> source;
+    private final Executor executor;
+    private final ArrayDeque<CompletableFuture<BindResult[]>> pending = new ArrayDeque<>();
+    private BindResult[] current = new BindResult[0];
+    private int position;
+
+    /**
+     * Creates an iterator which has not submitted anything yet.
+     *
+     * @param influxCli The frozen instance which binds the arguments
+     * @param classType The class type to bind the arguments to
+     * @param source The argument vectors
+     * @param executor The executor which binds the chunks
+     */
+    BatchIterator(InfluxCli influxCli, Class<?> classType, Iterator<String[]> source, Executor executor) {
+        this.influxCli = influxCli;
+        this.classType = classType;
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < current.length) {
+            return true;
+        }
+
+        submit();
+
+        CompletableFuture<BindResult[]> next = pending.poll();
+
+        if (next == null) {
+            return false;
+        }
+
+        current = await(next);
+        position = 0;
+
+        // Keep the executor busy while the caller consumes this chunk
+        submit();
+
+        return true;
+    }
+
+    @Override
+    public BindResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        BindResult result = current[position];
+
+        // Let the result be collected as soon as the caller is done with it
+        current[position++] = null;
+
+        return result;
+    }
+
+    /**
+     * Submits chunks until the limit of chunks in flight is reached or the source is exhausted.
+     */
+    private void submit() {
+        while (pending.size() < MAX_CHUNKS_IN_FLIGHT && source.hasNext()) {
+            String[][] chunk = new String[CHUNK_SIZE][];
+            int size = 0;
+
+            while (size < CHUNK_SIZE && source.hasNext()) {
+                chunk[size++] = source.next();
+            }
+
+            final int length = size;
+            pending.add(CompletableFuture.supplyAsync(() -> bind(chunk, length), executor));
+        }
+    }
+
+    /**
+     * Binds a single chunk. Arguments which cannot be bound or which request help do not stop the chunk.
+     *
+     * @param chunk The argument vectors of the chunk
+     * @param length The number of argument vectors in the chunk
+     *
+     * @return The results in the order of the argument vectors
+     */
+    private BindResult[] bind(String[][] chunk, int length) {
+        BindResult[] results = new BindResult[length];
+
+        for (int i = 0; i < length; i++) {
+            results[i] = influxCli.tryBind(classType, chunk[i]);
+        }
+
+        return results;
+    }
+
+    /**
+     * Waits for a chunk to be bound.
+     *
+     * @param future The chunk
+     *
+     * @return The results of the chunk
+     */
+    private static BindResult[] await(CompletableFuture<BindResult[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Unexpected failures are passed on to the caller as if binding had happened on its own thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+}
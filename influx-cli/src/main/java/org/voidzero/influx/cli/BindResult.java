@@ -0,0 +1,170 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * The outcome of binding a single argument vector: the bound instance, a request for help or an error which describes
+ * the value that could not be bound. The exception which {@link InfluxCli#bind(Class, String[])} would have thrown
+ * is also available. Instances are immutable.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class BindResult {
+    private final Object instance;
+    private final Exception exception;
+
+    /**
+     * Creates a result.
+     *
+     * @param instance The bound instance or null
+     * @param exception The exception which prevented binding or null
+     */
+    private BindResult(Object instance, Exception exception) {
+        this.instance = instance;
+        this.exception = exception;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param instance The bound instance
+     *
+     * @return The result
+     */
+    static BindResult success(Object instance) {
+        return new BindResult(instance, null);
+    }
+
+    /**
+     * Creates a result for arguments which could not be bound.
+     *
+     * @param exception The exception which prevented binding
+     *
+     * @return The result
+     */
+    static BindResult failure(ParseException exception) {
+        return new BindResult(null, exception);
+    }
+
+    /**
+     * Creates a result for arguments which requested help.
+     *
+     * @param classType The class type for which help was requested
+     *
+     * @return The result
+     */
+    static BindResult help(Class<?> classType) {
+        return new BindResult(null, new HelpException(classType));
+    }
+
+    /**
+     * Returns true if the arguments were bound.
+     *
+     * @return True if the arguments were bound
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * Returns true if the arguments requested help.
+     *
+     * @return True if the arguments requested help
+     */
+    public boolean isHelpRequested() {
+        return exception instanceof HelpException;
+    }
+
+    /**
+     * Returns the bound instance.
+     *
+     * @return The bound instance or null if the arguments were not bound
+     */
+    public Object getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the class type for which help was requested.
+     *
+     * @return The class type or null if help was not requested
+     */
+    public Class<?> getHelpClassType() {
+        return isHelpRequested() ? ((HelpException) exception).getClassType() : null;
+    }
+
+    /**
+     * Returns the message which describes why the arguments could not be bound.
+     *
+     * @return The message or null if the arguments were bound or requested help
+     */
+    public String getMessage() {
+        return exception instanceof ParseException ? exception.getMessage() : null;
+    }
+
+    /**
+     * Returns the field which could not be populated, if it is known.
+     *
+     * @return The field or null
+     */
+    public Field getField() {
+        return exception instanceof ParseException ? ((ParseException) exception).getField() : null;
+    }
+
+    /**
+     * Returns the value which could not be parsed, if it is known.
+     *
+     * @return The value or null
+     */
+    public String getValue() {
+        return exception instanceof ParseException ? ((ParseException) exception).getValue() : null;
+    }
+
+    /**
+     * Returns the exit status which should be passed back to the shell. Bound arguments and help requests exit with
+     * a status of zero, see {@link ParseException#getExitStatus()} for errors.
+     *
+     * @return The exit status
+     */
+    public int getExitStatus() {
+        return exception instanceof ParseException ? ((ParseException) exception).getExitStatus() : 0;
+    }
+
+    /**
+     * Returns the exception which prevented binding, which is either a {@link ParseException} or a
+     * {@link HelpException}.
+     *
+     * @return The exception or null if the arguments were bound
+     */
+    public Exception getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,183 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Map;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Binds arguments to a single class without reflection. Implementations are generated at compile time by the
+ * influx-cli-processor module and are named after the class which they bind, with nested class names joined by an
+ * underscore and a "Binder" suffix. For example, the binder for {@code com.example.Tool.Sub} is
+ * {@code com.example.Tool_SubBinder}. When a binder is present on the class path, {@link ParseContext} delegates to
+ * it instead of scanning the class with reflection.
+ *
+ * @param <T> The type of the class which is populated by this binder
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public interface Binder<T> {
+    /**
+     * Creates a new, unpopulated instance of the bound class.
+     *
+     * @return The new instance
+     */
+    T newInstance();
+
+    /**
+     * Populates default values. Boolean flags are set to false and fields which declare an environment variable are
+     * populated from the given variables, unless they are single valued options. The variables of options are only
+     * read if the command line does not override them, see {@link #getEnvironmentVariable(int)}.
+     *
+     * @param instance The instance to initialize
+     * @param variables The source of the variables which options read their defaults from
+     * @param valueParsers The registered parsers or null
+     * @throws ParseException If a default value cannot be parsed
+     */
+    void initialize(T instance, ValueSource variables, Map<Class<?>, ValueParser> valueParsers)
+            throws ParseException;
+
+    /**
+     * Returns the class of the sub-command with the given name.
+     *
+     * @param name The name of the sub-command
+     *
+     * @return The class of the sub-command or null if there isn't one with the given name
+     */
+    Class<?> findSubCommand(String name);
+
+    /**
+     * Returns true if the given token is a help token.
+     *
+     * @param token The token to check
+     *
+     * @return true if the given token is a help token
+     */
+    boolean isHelpToken(String token);
+
+    /**
+     * Returns the canonical name of the option which occupies the given range of characters in a token. The
+     * canonical name is the instance which is passed to {@link #isBoolean(String)} and
+     * {@link #setNamedValue(Object, String, String, Map, ValueBuffers)}, so looking up an option does not allocate.
+     *
+     * @param token The token which contains the name of the option
+     * @param start The index of the first character of the name, inclusive
+     * @param end The index of the last character of the name, exclusive
+     *
+     * @return The canonical name of the option or null if the class does not declare it
+     */
+    String findOption(String token, int start, int end);
+
+    /**
+     * Returns true if the option with the given name is a boolean flag which does not accept a value.
+     *
+     * @param name The name of the option without leading hyphens
+     *
+     * @return true if the option is a boolean flag
+     */
+    boolean isBoolean(String name);
+
+    /**
+     * Sets the value of the option with the given name. Unknown names are quietly ignored. The values of single valued
+     * options are kept raw in the given buffers, see {@link #setValue(Object, int, String, Map)}.
+     *
+     * @param instance The instance to populate
+     * @param name The name of the option without leading hyphens
+     * @param value The string value to parse and set
+     * @param valueParsers The registered parsers or null
+     * @param buffers The buffers which accumulate the values of collection and array fields
+     * @throws ParseException If the value cannot be parsed
+     */
+    void setNamedValue(T instance, String name, String value, Map<Class<?>, ValueParser> valueParsers,
+                       ValueBuffers buffers) throws ParseException;
+
+    /**
+     * Sets the value of the ordered field at the given position.
+     *
+     * @param instance The instance to populate
+     * @param index The position of the ordered field
+     * @param value The string value to parse and set
+     * @param valueParsers The registered parsers or null
+     * @param buffers The buffers which accumulate the values of collection and array fields
+     * @throws ParseException If the value cannot be parsed
+     */
+    void setOrderedValue(T instance, int index, String value, Map<Class<?>, ValueParser> valueParsers,
+                         ValueBuffers buffers) throws ParseException;
+
+    /**
+     * Returns the number of single valued options, whose raw values are kept in {@link ValueBuffers} until the
+     * arguments have been parsed.
+     *
+     * @return The number of single valued options
+     */
+    int getValueCount();
+
+    /**
+     * Returns the environment variable of the single valued option with the given index.
+     *
+     * @param index The index of the single valued option
+     *
+     * @return The name of the variable or null if the option does not declare one
+     */
+    String getEnvironmentVariable(int index);
+
+    /**
+     * Converts the value which won for the single valued option with the given index and assigns it.
+     *
+     * @param instance The instance to populate
+     * @param index The index of the single valued option
+     * @param value The last value which the option received, or else the value of its variable
+     * @param valueParsers The registered parsers or null
+     * @throws ParseException If the value cannot be parsed
+     */
+    void setValue(T instance, int index, String value, Map<Class<?>, ValueParser> valueParsers)
+            throws ParseException;
+
+    /**
+     * Returns the number of collection and array fields, whose values are accumulated in {@link ValueBuffers}.
+     *
+     * @return The number of buffered fields
+     */
+    int getBufferCount();
+
+    /**
+     * Writes the values which have been accumulated for collection and array fields.
+     *
+     * @param instance The populated instance
+     * @param buffers The buffers which accumulate the values of collection and array fields
+     * @throws ParseException If a field cannot be written
+     */
+    void flush(T instance, ValueBuffers buffers) throws ParseException;
+
+    /**
+     * Verifies that every required field has been populated.
+     *
+     * @param instance The populated instance
+     * @throws ParseException If a required field is not set
+     */
+    void verify(T instance) throws ParseException;
+}
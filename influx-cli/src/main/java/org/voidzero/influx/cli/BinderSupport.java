@@ -0,0 +1,401 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UnsupportedTypeConversionException;
+
+/**
+ * Runtime support for generated {@link Binder} implementations. The conversions in this class behave exactly like
+ * the reflective conversions in {@link ParseContext}, including their error messages, so that a class binds the
+ * same way whether or not a binder was generated for it.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class BinderSupport {
+
+    /**
+     * The suffix which is appended to the name of a class to find its generated binder.
+     */
+    public static final String BINDER_SUFFIX = "Binder";
+
+    private static final ClassValue<Optional<Binder<?>>> BINDERS = new ClassValue<>() {
+        @Override
+        protected Optional<Binder<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(load(type));
+        }
+    };
+
+    private BinderSupport() {
+    }
+
+    /**
+     * Returns the generated binder for the given class. The lookup is only performed once per class.
+     *
+     * @param classType The class for which a binder is needed
+     * @param <T> The type of the class
+     *
+     * @return The generated binder or null if one was not generated for the class
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Binder<T> find(Class<T> classType) {
+        return (Binder<T>) BINDERS.get(classType).orElse(null);
+    }
+
+    /**
+     * Returns the name of the binder which would be generated for the given class.
+     *
+     * @param classType The class for which a binder name is needed
+     *
+     * @return The fully qualified name of the binder
+     */
+    public static String binderName(Class<?> classType) {
+        return classType.getName().replace('$', '_') + BINDER_SUFFIX;
+    }
+
+    /**
+     * Attempts to load and instantiate the generated binder for the given class.
+     *
+     * @param classType The class for which a binder is needed
+     *
+     * @return The binder or null if there isn't one
+     */
+    private static Binder<?> load(Class<?> classType) {
+        // Binders are never generated for these, so don't bother asking the class loader
+        if (classType.isPrimitive() || classType.isArray() || classType.getClassLoader() == null) {
+            return null;
+        }
+
+        try {
+            Class<?> binderType = Class.forName(binderName(classType), true, classType.getClassLoader());
+
+            if (!Binder.class.isAssignableFrom(binderType)) {
+                return null;
+            }
+
+            return (Binder<?>) binderType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // A binder which is missing or cannot be used is treated the same way, reflection is used instead
+            return null;
+        }
+    }
+
+    /**
+     * Parses a string into an int.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static int toInt(String value, Class<?> type) throws ParseException {
+        // Reject malformed input without paying for a NumberFormatException
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a short.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static short toShort(String value, Class<?> type) throws ParseException {
+        // Reject malformed input without paying for a NumberFormatException
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return Short.parseShort(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a long.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static long toLong(String value, Class<?> type) throws ParseException {
+        // Reject malformed input without paying for a NumberFormatException
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a float.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static float toFloat(String value, Class<?> type) throws ParseException {
+        try {
+            return Float.parseFloat(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a double.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static double toDouble(String value, Class<?> type) throws ParseException {
+        try {
+            return Double.parseDouble(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a byte.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static byte toByte(String value, Class<?> type) throws ParseException {
+        // Reject malformed input without paying for a NumberFormatException
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return Byte.parseByte(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a {@link BigInteger}.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static BigInteger toBigInteger(String value, Class<?> type) throws ParseException {
+        // Reject malformed input without paying for a NumberFormatException
+        if (!isInteger(value)) {
+            throw failure(value, type);
+        }
+
+        try {
+            return new BigInteger(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string into a {@link BigDecimal}.
+     *
+     * @param value The string to parse
+     * @param type The declared type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the string cannot be parsed
+     */
+    public static BigDecimal toBigDecimal(String value, Class<?> type) throws ParseException {
+        try {
+            return new BigDecimal(value);
+        } catch (RuntimeException e) {
+            throw failure(value, type);
+        }
+    }
+
+    /**
+     * Parses a string which contains exactly one character into a char.
+     *
+     * @param value The string to parse
+     * @param type The declared type, which is unused but accepted for symmetry with the other conversions
+     *
+     * @return The parsed value
+     * @throws ParseException If the string does not contain exactly one character
+     */
+    public static char toChar(String value, Class<?> type) throws ParseException {
+        // Throw an exception if the wrong number of characters are passed
+        if (value == null || value.length() != 1) {
+            throw new ParseException(null, value, format("Value %s must contain exactly one character", value),
+                    false);
+        }
+
+        return value.charAt(0);
+    }
+
+    /**
+     * Parses a string into a boolean. A null string is false.
+     *
+     * @param value The string to parse
+     * @param type The declared type, which is unused but accepted for symmetry with the other conversions
+     *
+     * @return The parsed value
+     */
+    public static boolean toBoolean(String value, Class<?> type) {
+        return value != null && Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Converts a string into a type which is not supported by default. Parsers which have been registered for the
+     * type of the field take precedence over the converter which is declared on the field.
+     *
+     * @param value The string to convert
+     * @param targetType The type to convert the string into
+     * @param fieldType The declared type of the field, which is used to look up registered parsers
+     * @param converterType The converter declared on the field or null if there isn't one
+     * @param valueParsers The registered parsers or null
+     * @param <V> The type to convert the string into
+     *
+     * @return The converted value
+     * @throws ParseException If the string cannot be converted
+     */
+    public static <V> V convert(String value, Class<V> targetType, Class<?> fieldType,
+                                Class<? extends TypeConverter<?>> converterType,
+                                Map<Class<?>, ValueParser> valueParsers) throws ParseException {
+        ValueParser parser = valueParsers == null ? null : valueParsers.get(fieldType);
+        Object converted;
+
+        if (parser != null) {
+            converted = ValueParsers.parse(parser, value, targetType);
+        } else if (converterType != null) {
+            converted = ValueParsers.read(ConverterCache.of(converterType).get(), value);
+        } else {
+            throw new UnsupportedTypeConversionException("Unsupported type: " + targetType.getCanonicalName());
+        }
+
+        return targetType.cast(converted);
+    }
+
+    /**
+     * Creates the exception which reports that a string could not be parsed.
+     *
+     * @param value The string which could not be parsed
+     * @param type The type which the string could not be parsed into
+     *
+     * @return The exception to throw
+     */
+    static ParseException failure(String value, Class<?> type) {
+        return new ParseException(null, value, format("Failed to parse string %s into an instance of class %s", value,
+                type), false);
+    }
+
+    /**
+     * Creates the exception which reports a positional value which no ordered field accepts.
+     *
+     * @param value The positional value
+     *
+     * @return The exception to throw
+     */
+    public static ParseException unexpected(String value) {
+        return new ParseException(null, value, format("Unexpected argument %s", value), false);
+    }
+
+    /**
+     * Creates the exception which reports that a required field is not set. {@link ParseContext} names the field once
+     * the exception has been thrown, so that the exit status of the field is reported.
+     *
+     * @param message The message which names the field
+     *
+     * @return The exception to throw
+     */
+    public static ParseException notSet(String message) {
+        return new ParseException(null, null, message, false);
+    }
+
+    /**
+     * Returns true if the given string has the syntax which {@link Long#parseLong(String)} accepts, so that malformed
+     * input can be rejected without creating a {@link NumberFormatException}. Values which are out of range still
+     * have to be detected by the parse method itself.
+     *
+     * @param value The string to check
+     *
+     * @return True if the string is an optionally signed sequence of decimal digits
+     */
+    static boolean isInteger(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+
+        char first = value.charAt(0);
+        int start = first == '-' || first == '+' ? 1 : 0;
+
+        if (start == value.length()) {
+            return false;
+        }
+
+        for (int i = start; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 10) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
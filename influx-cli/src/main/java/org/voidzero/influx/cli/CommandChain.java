@@ -0,0 +1,108 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The commands which were bound by {@link InfluxCli#bindChain(Class, String[])}, ordered from the top level command
+ * down to the selected sub-command. Each level holds its own instance, so an option declared by a parent command is
+ * available from the parent instance regardless of where it appeared in the arguments.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class CommandChain {
+    private final List<ParseContext<?>> contexts;
+
+    /**
+     * Creates a chain of bound commands.
+     *
+     * @param contexts The contexts of the bound commands, from the top level command to the selected sub-command
+     */
+    CommandChain(List<ParseContext<?>> contexts) {
+        this.contexts = Collections.unmodifiableList(new ArrayList<>(contexts));
+    }
+
+    /**
+     * Returns the contexts of every bound command, from the top level command to the selected sub-command.
+     *
+     * @return An unmodifiable list of contexts
+     */
+    public List<ParseContext<?>> getContexts() {
+        return contexts;
+    }
+
+    /**
+     * Returns the number of bound commands.
+     *
+     * @return The number of bound commands
+     */
+    public int size() {
+        return contexts.size();
+    }
+
+    /**
+     * Returns the context of the selected sub-command, or of the top level command if no sub-command was selected.
+     *
+     * @return The context of the last command in the chain
+     */
+    public ParseContext<?> getLeaf() {
+        return contexts.get(contexts.size() - 1);
+    }
+
+    /**
+     * Returns the instance of the selected sub-command, or of the top level command if no sub-command was selected.
+     *
+     * @return The instance of the last command in the chain
+     */
+    public Object getInstance() {
+        return getLeaf().getInstance();
+    }
+
+    /**
+     * Returns the instance of the given command class. When a command selects itself recursively, the instance
+     * closest to the selected sub-command is returned.
+     *
+     * @param classType The class of the command
+     * @param <T> The type of the command
+     *
+     * @return The instance or null if the class is not part of the chain
+     */
+    public <T> T getInstance(Class<T> classType) {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            Object instance = contexts.get(i).getInstance();
+
+            if (instance.getClass() == classType) {
+                return classType.cast(instance);
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,263 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * The sub-commands and help entries of a single class, read from the command index which the influx-cli-processor
+ * module writes to {@value #RESOURCE}. Routing and help use the index instead of reflection when it describes a class,
+ * because reflecting over the fields of a class loads the class of every sub-command it declares. With the index,
+ * only the sub-command which is actually invoked is loaded and top level help does not load any of them.
+ *
+ * <p>The index is a UTF-8 text file with one tab separated record per line. A {@value #COMMAND} record starts the
+ * entries of the class with the given binary name, and is followed by the {@value #OPTION}, {@value #SUB_COMMAND} and
+ * {@value #ROUTE} records of that class. Backslashes, tabs and line separators within values are escaped as {@code \\},
+ * {@code \t}, {@code \n} and {@code \r}. Lines starting with {@code #} and records of unknown kinds are ignored. When
+ * several index files describe the same class, the first one on the class path wins. Instances are thread-safe.</p>
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class CommandIndex {
+
+    /**
+     * The location of the index within a jar.
+     */
+    static final String RESOURCE = "META-INF/influx-cli/commands.idx";
+
+    /**
+     * Starts the entries of a class: the binary name of the class.
+     */
+    static final String COMMAND = "command";
+
+    /**
+     * A help entry for an option: the flag, the code, whether it is required, the category and the description.
+     */
+    static final String OPTION = "option";
+
+    /**
+     * A help entry for a sub-command: the name of the command, the flag of the field and the description.
+     */
+    static final String SUB_COMMAND = "subcommand";
+
+    /**
+     * A sub-command which arguments can be routed to: the name which selects it and the binary name of its class.
+     */
+    static final String ROUTE = "route";
+
+    private static final Map<ClassLoader, Map<String, CommandIndex>> LOADED = new WeakHashMap<>();
+
+    private static final ClassValue<Optional<CommandIndex>> INDEXES = new ClassValue<>() {
+        @Override
+        protected Optional<CommandIndex> computeValue(Class<?> type) {
+            ClassLoader classLoader = type.getClassLoader();
+
+            // Classes of the platform are never indexed
+            if (classLoader == null) {
+                return Optional.empty();
+            }
+
+            return Optional.ofNullable(load(classLoader).get(type.getName()));
+        }
+    };
+
+    private final List<OptionInfo> options = new ArrayList<>();
+    private final Map<String, String> routes = new LinkedHashMap<>();
+
+    private CommandIndex() {
+    }
+
+    /**
+     * Returns the index entries of the given class.
+     *
+     * @param classType The class whose entries are needed
+     *
+     * @return The index entries or null if no index describes the class
+     */
+    static CommandIndex of(Class<?> classType) {
+        return INDEXES.get(classType).orElse(null);
+    }
+
+    /**
+     * Returns the help entries of the class, in the same order as {@link CommandModel#getOptions()}.
+     *
+     * @return An unmodifiable list of help entries
+     */
+    List<OptionInfo> getOptions() {
+        return Collections.unmodifiableList(options);
+    }
+
+    /**
+     * Returns the binary name of the sub-command which is selected by the given name.
+     *
+     * @param name The name of the sub-command
+     *
+     * @return The binary name of the class or null if there isn't a sub-command with the given name
+     */
+    String findRoute(String name) {
+        return routes.get(name);
+    }
+
+    /**
+     * Reverses the escaping of backslashes, tabs and line separators which the processor applies to every value.
+     *
+     * @param value The escaped value
+     *
+     * @return The original value
+     */
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+
+        StringBuilder sb = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+
+            if (character != '\\' || i + 1 == value.length()) {
+                sb.append(character);
+                continue;
+            }
+
+            char escaped = value.charAt(++i);
+
+            if (escaped == 't') {
+                sb.append('\t');
+            } else if (escaped == 'n') {
+                sb.append('\n');
+            } else if (escaped == 'r') {
+                sb.append('\r');
+            } else {
+                sb.append(escaped);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Returns the index entries of every class which is visible to the given class loader, keyed by binary name.
+     * The index files are only read once per class loader.
+     *
+     * @param classLoader The class loader whose index files should be read
+     *
+     * @return The index entries keyed by binary name
+     */
+    private static Map<String, CommandIndex> load(ClassLoader classLoader) {
+        synchronized (LOADED) {
+            Map<String, CommandIndex> indexes = LOADED.get(classLoader);
+
+            if (indexes == null) {
+                indexes = new HashMap<>();
+
+                try {
+                    Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+
+                    while (resources.hasMoreElements()) {
+                        read(resources.nextElement(), indexes);
+                    }
+                } catch (IOException e) {
+                    // An index which cannot be read is treated as missing, reflection is used instead
+                    indexes = Collections.emptyMap();
+                }
+
+                LOADED.put(classLoader, indexes);
+            }
+
+            return indexes;
+        }
+    }
+
+    /**
+     * Reads a single index file.
+     *
+     * @param resource The location of the index file
+     * @param indexes The index entries which have been read so far, keyed by binary name
+     * @throws IOException If the index file cannot be read
+     */
+    private static void read(URL resource, Map<String, CommandIndex> indexes) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            CommandIndex current = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+
+                String[] values = line.split("\t", -1);
+
+                for (int i = 1; i < values.length; i++) {
+                    values[i] = unescape(values[i]);
+                }
+
+                if (COMMAND.equals(values[0])) {
+                    // Classes which were already described by an earlier index file keep their entries
+                    current = indexes.containsKey(values[1]) ? null : new CommandIndex();
+
+                    if (current != null) {
+                        indexes.put(values[1], current);
+                    }
+                } else if (current != null) {
+                    current.add(values);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a single record to the entries of this class.
+     *
+     * @param values The kind of the record followed by its unescaped values
+     */
+    private void add(String[] values) {
+        if (OPTION.equals(values[0]) && values.length >= 6) {
+            char code = values[2].isEmpty() ? ' ' : values[2].charAt(0);
+            options.add(new OptionInfo(values[1], code, values[5], values[4], Boolean.parseBoolean(values[3])));
+        } else if (SUB_COMMAND.equals(values[0]) && values.length >= 4) {
+            options.add(new OptionInfo(values[1], values[2], values[3]));
+        } else if (ROUTE.equals(values[0]) && values.length >= 3) {
+            // The first field with a given name wins
+            routes.putIfAbsent(values[1], values[2]);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.StandardInput;
+import org.voidzero.influx.cli.exception.DuplicateOptionException;
+import org.voidzero.influx.cli.exception.MissingNoArgConstructorException;
+
+/**
+ * The compiled, immutable representation of a class which arguments can be bound to. Scanning a class for
+ * annotations is relatively expensive, so each class is only scanned once and the resulting model is shared by
+ * every subsequent bind and help request. Instances are thread-safe.
+ *
+ * @param <T> The type of the class which is described by this model
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class CommandModel<T> {
+
+    private static final ClassValue<CommandModel<?>> MODELS = new ClassValue<>() {
+        @Override
+        protected CommandModel<?> computeValue(Class<?> type) {
+            return new CommandModel<>(type);
+        }
+    };
+
+    private final Class<T> classType;
+    private final Command command;
+    private final Set<String> helpTokens;
+    private final FlagIndex<FieldModel> namedFields;
+    private final List<FieldModel> orderedFields;
+    private final List<FieldModel> requiredFields;
+    private final List<Field> requiredFieldList;
+    private final List<FieldModel> booleanFields;
+    private final List<FieldModel> environmentFields;
+    private final List<FieldModel> bufferedFields;
+    private final List<FieldModel> singleValuedFields;
+    private final List<FieldModel> resettableFields;
+    private final List<FieldModel> standardInputFields;
+    private final Map<String, FieldModel> prefixedFields;
+    private final List<OptionInfo> options;
+    private final Constructor<T> constructor;
+    private final Exception constructorFailure;
+    private final String duplicateMessage;
+    private final Field duplicateField;
+
+    /**
+     * Scans the given class. This should only happen once per class, see {@link #of(Class)}.
+     *
+     * @param classType The class to scan
+     */
+    private CommandModel(Class<T> classType) {
+        this.classType = classType;
+
+        Command declared = classType.getDeclaredAnnotation(Command.class);
+        this.command = declared != null ? declared : AnnotationDefaults.class.getDeclaredAnnotation(Command.class);
+        this.helpTokens = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(command.helpTokens())));
+
+        Constructor<T> resolvedConstructor = null;
+        Exception failure = null;
+
+        try {
+            resolvedConstructor = classType.getDeclaredConstructor();
+        } catch (NoSuchMethodException | SecurityException e) {
+            failure = e;
+        }
+
+        this.constructor = resolvedConstructor;
+        this.constructorFailure = failure;
+
+        Map<String, FieldModel> named = new HashMap<>();
+        List<FieldModel> ordered = new ArrayList<>();
+        List<FieldModel> required = new ArrayList<>();
+        List<FieldModel> booleans = new ArrayList<>();
+        List<FieldModel> environment = new ArrayList<>();
+        List<FieldModel> buffered = new ArrayList<>();
+        List<FieldModel> singleValued = new ArrayList<>();
+        List<FieldModel> resettable = new ArrayList<>();
+        List<FieldModel> standardInput = new ArrayList<>();
+        Map<String, FieldModel> prefixed = new HashMap<>();
+        String prefix = command.environmentPrefix();
+        List<OptionInfo> optionList = new ArrayList<>();
+        String duplicate = null;
+        Field duplicateOwner = null;
+
+        for (Field field : classType.getDeclaredFields()) {
+            // Ignored fields are never buffered, so they may share an index with the next collection or array
+            FieldModel fieldModel = new FieldModel(field, buffered.size(), singleValued.size());
+            Arg arg = fieldModel.getArg();
+
+            // Fields may be populated from environment and system variables before any arguments are parsed
+            if (arg != null && !arg.environmentVariable().isEmpty()) {
+                environment.add(fieldModel);
+            }
+
+            // Every field which a bind can write is restored before an instance is reused
+            if (isResettable(fieldModel) && (arg != null && !arg.environmentVariable().isEmpty()
+                    || !field.isAnnotationPresent(Ignore.class))) {
+                resettable.add(fieldModel);
+            }
+
+            // Ignore fields marked with the @Ignore annotation
+            if (field.isAnnotationPresent(Ignore.class)) {
+                continue;
+            }
+
+            if (fieldModel.isMultiValued()) {
+                buffered.add(fieldModel);
+            }
+
+            // The raw values of options are kept until the arguments have been parsed, so only the last is converted
+            if (fieldModel.getValueIndex() >= 0) {
+                singleValued.add(fieldModel);
+            }
+
+            if (fieldModel.getOrdered() != null) {
+                ordered.add(fieldModel);
+
+                // Collections may read their values from standard input once the arguments have been parsed
+                if (fieldModel.getStandardInput() != StandardInput.NONE) {
+                    // Every field would read the same stream, so the fields after the first would receive nothing
+                    if (!standardInput.isEmpty() && duplicate == null) {
+                        duplicate = "Duplicate standard input field: " + field.getName();
+                        duplicateOwner = field;
+                    }
+
+                    standardInput.add(fieldModel);
+                }
+
+                // Remember required fields
+                if (fieldModel.isRequired()) {
+                    required.add(fieldModel);
+                }
+
+                continue;
+            }
+
+            optionList.add(new OptionInfo(field));
+
+            // Boolean fields are initialized to false by default
+            if (fieldModel.isBoolean()) {
+                booleans.add(fieldModel);
+            }
+
+            // Attempt to infer usable flag from the field name. No attempt is made to infer a code because
+            // conflicts are inevitable.
+            String longName = Parser.camelCaseToHyphenCase(field.getName());
+
+            // Index the variable which the option is bound to by convention, unless it declares one explicitly
+            if (!prefix.isEmpty() && fieldModel.getValueIndex() >= 0 && !field.getType().isAnnotationPresent(
+                    Command.class) && (arg == null || arg.environmentVariable().isEmpty())) {
+                String flag = arg == null || arg.flag().isEmpty() ? longName : arg.flag();
+                prefixed.putIfAbsent(prefix + toVariableName(flag), fieldModel);
+            }
+
+            if (arg == null) {
+                named.putIfAbsent(longName, fieldModel);
+                continue;
+            }
+
+            // Remember required fields
+            if (fieldModel.isRequired()) {
+                required.add(fieldModel);
+            }
+
+            if (arg.flag().isEmpty()) {
+                named.putIfAbsent(longName, fieldModel);
+            } else if (named.putIfAbsent(arg.flag(), fieldModel) != null && duplicate == null) {
+                duplicate = "Duplicate option name: " + arg.flag();
+                duplicateOwner = field;
+            }
+
+            if (arg.code() != ' ' && named.putIfAbsent(String.valueOf(arg.code()), fieldModel) != null
+                    && duplicate == null) {
+                duplicate = "Duplicate option name: " + arg.code();
+                duplicateOwner = field;
+            }
+        }
+
+        // Sort the ordered fields
+        ordered.sort(Comparator.comparingInt(fieldModel -> fieldModel.getOrdered().order()));
+
+        List<Field> requiredList = new ArrayList<>(required.size());
+
+        for (FieldModel fieldModel : required) {
+            requiredList.add(fieldModel.getField());
+        }
+
+        this.namedFields = new FlagIndex<>(named);
+        this.orderedFields = Collections.unmodifiableList(ordered);
+        this.requiredFields = Collections.unmodifiableList(required);
+        this.requiredFieldList = Collections.unmodifiableList(requiredList);
+        this.booleanFields = Collections.unmodifiableList(booleans);
+        this.environmentFields = Collections.unmodifiableList(environment);
+        this.bufferedFields = Collections.unmodifiableList(buffered);
+        this.singleValuedFields = Collections.unmodifiableList(singleValued);
+        this.resettableFields = Collections.unmodifiableList(resettable);
+        this.standardInputFields = Collections.unmodifiableList(standardInput);
+        this.prefixedFields = Collections.unmodifiableMap(prefixed);
+        this.options = Collections.unmodifiableList(optionList);
+        this.duplicateMessage = duplicate;
+        this.duplicateField = duplicateOwner;
+    }
+
+    /**
+     * Returns the model for the given class, scanning the class the first time it is requested.
+     *
+     * @param classType The class for which a model is requested
+     * @param <T> The type of the class
+     *
+     * @return The model for the given class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CommandModel<T> of(Class<T> classType) {
+        return (CommandModel<T>) MODELS.get(classType);
+    }
+
+    /**
+     * Returns the class which is described by this model.
+     *
+     * @return The class which is described by this model
+     */
+    public Class<T> getClassType() {
+        return classType;
+    }
+
+    /**
+     * Returns the {@link Command} annotation of the class or the annotation defaults if the class is not annotated.
+     *
+     * @return The effective {@link Command} annotation
+     */
+    public Command getCommand() {
+        return command;
+    }
+
+    /**
+     * Returns the tokens which trigger the help message.
+     *
+     * @return The tokens which trigger the help message
+     */
+    public Set<String> getHelpTokens() {
+        return helpTokens;
+    }
+
+    /**
+     * Returns the help metadata for the named options and sub-commands of the class in declaration order.
+     *
+     * @return The help metadata for the class
+     */
+    public List<OptionInfo> getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the fields which must be populated.
+     *
+     * @return The fields which must be populated
+     */
+    public List<Field> getRequiredFields() {
+        return requiredFieldList;
+    }
+
+    /**
+     * Returns true if the given token is a help token.
+     *
+     * @param token The token to check
+     *
+     * @return true if the given token is a help token
+     */
+    public boolean isHelpToken(String token) {
+        return helpTokens.contains(token);
+    }
+
+    /**
+     * Creates a new, empty instance of the class.
+     *
+     * @return A new instance of the class
+     * @throws MissingNoArgConstructorException If the class does not have a usable no-arg constructor
+     * @throws DuplicateOptionException If the class declares the same option more than once, or more than one field
+     *     which reads standard input
+     */
+    T newInstance() throws MissingNoArgConstructorException, DuplicateOptionException {
+        verify();
+
+        try {
+            if (constructor == null) {
+                throw constructorFailure;
+            }
+
+            return constructor.newInstance();
+        } catch (Exception e) {
+            String message = format("Class %s must have a public no-arg constructor", classType.getCanonicalName());
+            throw new MissingNoArgConstructorException(message, e, classType);
+        }
+    }
+
+    /**
+     * Verifies that the options which are declared by the class can be used for binding. This is deferred until
+     * binding so that help can still be generated for classes which declare conflicting options.
+     *
+     * @throws DuplicateOptionException If the class declares the same option more than once, or more than one field
+     *     which reads standard input
+     */
+    void verify() throws DuplicateOptionException {
+        if (duplicateMessage != null) {
+            throw new DuplicateOptionException(duplicateMessage, duplicateField);
+        }
+    }
+
+    /**
+     * Returns the named field which is associated with the given flag or code.
+     *
+     * @param name The flag or code without leading hyphens
+     *
+     * @return The associated field or null if there isn't one
+     */
+    FieldModel getNamedField(String name) {
+        return namedFields.get(name);
+    }
+
+    /**
+     * Returns the named field which is associated with the flag or code that occupies the given range of
+     * characters, without copying the name out of the token.
+     *
+     * @param token The token which contains the flag or code
+     * @param start The index of the first character of the name, inclusive
+     * @param end The index of the last character of the name, exclusive
+     *
+     * @return The associated field or null if there isn't one
+     */
+    FieldModel getNamedField(String token, int start, int end) {
+        return namedFields.get(token, start, end);
+    }
+
+    /**
+     * Returns the ordered fields sorted by their declared order.
+     *
+     * @return The ordered fields
+     */
+    List<FieldModel> getOrderedFields() {
+        return orderedFields;
+    }
+
+    /**
+     * Returns the models of the fields which must be populated.
+     *
+     * @return The models of the fields which must be populated
+     */
+    List<FieldModel> getRequiredFieldModels() {
+        return requiredFields;
+    }
+
+    /**
+     * Returns the named boolean fields which are initialized to false.
+     *
+     * @return The named boolean fields
+     */
+    List<FieldModel> getBooleanFields() {
+        return booleanFields;
+    }
+
+    /**
+     * Returns the fields which can be populated from environment or system variables.
+     *
+     * @return The fields which declare an environment variable
+     */
+    List<FieldModel> getEnvironmentFields() {
+        return environmentFields;
+    }
+
+    /**
+     * Returns the single valued options, whose raw values are converted once the arguments have been parsed. The
+     * index of each field in this list is its value index.
+     *
+     * @return The single valued options
+     */
+    List<FieldModel> getSingleValuedFields() {
+        return singleValuedFields;
+    }
+
+    /**
+     * Returns the collection and array fields, whose values are accumulated while arguments are parsed. The index of
+     * each field in this list is its buffer index.
+     *
+     * @return The collection and array fields
+     */
+    List<FieldModel> getBufferedFields() {
+        return bufferedFields;
+    }
+
+    /**
+     * Returns the fields which a bind can write, which are the fields that are restored to their default values
+     * before an instance is reused, see {@link ReusableBinder}.
+     *
+     * @return The fields which a bind can write
+     */
+    List<FieldModel> getResettableFields() {
+        return resettableFields;
+    }
+
+    /**
+     * Returns the ordered collections which read their values from standard input if the arguments do not contain
+     * any.
+     *
+     * @return The fields which read standard input
+     */
+    List<FieldModel> getStandardInputFields() {
+        return standardInputFields;
+    }
+
+    /**
+     * Returns the options which are bound to variables by the environment prefix of the command, keyed by the full
+     * name of their variable, see {@link Command#environmentPrefix()}. The map is empty if the command does not
+     * declare a prefix.
+     *
+     * @return The options keyed by the name of their variable
+     */
+    Map<String, FieldModel> getPrefixedFields() {
+        return prefixedFields;
+    }
+
+    /**
+     * Converts a flag into the suffix of the variable which the option is bound to by convention.
+     *
+     * @param flag The long flag of the option, without leading hyphens
+     *
+     * @return The upper-cased flag with hyphens replaced by underscores
+     */
+    static String toVariableName(String flag) {
+        return flag.toUpperCase(Locale.ROOT).replace('-', '_');
+    }
+
+    /**
+     * Returns true if the given field belongs to instances and can be restored. Final fields can only be restored if
+     * they hold a collection, which is emptied instead of being replaced.
+     *
+     * @param fieldModel The field to check
+     *
+     * @return True if the field can be restored
+     */
+    private static boolean isResettable(FieldModel fieldModel) {
+        Field field = fieldModel.getField();
+        int modifiers = field.getModifiers();
+
+        if (field.isSynthetic() || Modifier.isStatic(modifiers)) {
+            return false;
+        }
+
+        return !Modifier.isFinal(modifiers) || Collection.class.isAssignableFrom(field.getType());
+    }
+
+    /**
+     * This class is used to dynamically get the default values of annotations in cases where classes have
+     * not been annotated.
+     */
+    @Command
+    private static class AnnotationDefaults {
+
+    }
+}
@@ -0,0 +1,164 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.voidzero.influx.cli.annotation.Command;
+
+/**
+ * One level of the tree of sub-commands which starts at a class. Each level is compiled once per class into a map
+ * from sub-command name to sub-command class, so routing arguments to a sub-command costs one lookup per level and
+ * does not use reflection. Children are resolved through the same per-class cache when they are first visited, which
+ * keeps compiling a level cheap and allows a command to refer back to one of its ancestors. When a
+ * {@link CommandIndex} describes the class, the names are read from the index and only the class of a sub-command
+ * which is actually selected is loaded. Instances are thread-safe.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class CommandTree {
+
+    private static final ClassValue<CommandTree> TREES = new ClassValue<>() {
+        @Override
+        protected CommandTree computeValue(Class<?> type) {
+            return new CommandTree(type);
+        }
+    };
+
+    private final Class<?> classType;
+    private final Binder<?> binder;
+    private final CommandIndex index;
+    private final Map<String, Class<?>> subCommands;
+
+    /**
+     * Compiles the sub-commands of the given class. This should only happen once per class, see {@link #of(Class)}.
+     *
+     * @param classType The class whose sub-commands should be compiled
+     */
+    private CommandTree(Class<?> classType) {
+        this.classType = classType;
+        this.binder = BinderSupport.find(classType);
+        this.index = binder == null ? CommandIndex.of(classType) : null;
+
+        // Generated binders already resolve their sub-commands without reflection
+        if (binder != null) {
+            this.subCommands = Collections.emptyMap();
+            return;
+        }
+
+        // The classes of indexed sub-commands are loaded when they are first selected
+        if (index != null) {
+            this.subCommands = new ConcurrentHashMap<>();
+            return;
+        }
+
+        Map<String, Class<?>> names = new LinkedHashMap<>();
+
+        for (Field field : classType.getDeclaredFields()) {
+            Command command = field.getType().getDeclaredAnnotation(Command.class);
+
+            if (command != null) {
+                // The first field with a given name wins
+                names.putIfAbsent(command.name().isEmpty() ? field.getName() : command.name(), field.getType());
+            }
+        }
+
+        this.subCommands = Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Returns the compiled sub-commands of the given class.
+     *
+     * @param classType The class whose sub-commands are needed
+     *
+     * @return The compiled sub-commands
+     */
+    static CommandTree of(Class<?> classType) {
+        return TREES.get(classType);
+    }
+
+    /**
+     * Returns the class at this level of the tree.
+     *
+     * @return The class at this level of the tree
+     */
+    Class<?> getClassType() {
+        return classType;
+    }
+
+    /**
+     * Returns the sub-command with the given name.
+     *
+     * @param name The name of the sub-command
+     *
+     * @return The sub-command or null if there isn't one with the given name
+     */
+    CommandTree find(String name) {
+        Class<?> subCommand;
+
+        if (binder != null) {
+            subCommand = binder.findSubCommand(name);
+        } else if (index != null) {
+            subCommand = subCommands.get(name);
+
+            if (subCommand == null) {
+                subCommand = load(name);
+            }
+        } else {
+            subCommand = subCommands.get(name);
+        }
+
+        return subCommand == null ? null : of(subCommand);
+    }
+
+    /**
+     * Loads the class of the indexed sub-command with the given name and remembers it.
+     *
+     * @param name The name of the sub-command
+     *
+     * @return The class of the sub-command or null if there isn't one with the given name
+     */
+    private Class<?> load(String name) {
+        String className = index.findRoute(name);
+
+        if (className == null) {
+            return null;
+        }
+
+        try {
+            Class<?> subCommand = Class.forName(className, false, classType.getClassLoader());
+            subCommands.putIfAbsent(name, subCommand);
+            return subCommand;
+        } catch (ClassNotFoundException | LinkageError e) {
+            // An index which refers to a missing class is stale, so the name is treated as an ordinary argument
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.voidzero.influx.cli.annotation.ThreadSafeConverter;
+import org.voidzero.influx.cli.exception.MissingNoArgConstructorException;
+
+/**
+ * Holds the instances of a converter class which is declared on a field, so that converters are not instantiated
+ * once per parsed value. Converters which are annotated with
+ * {@link ThreadSafeConverter} are instantiated once and shared. All other converters are instantiated once per
+ * thread, because nothing prevents them from keeping state between calls.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class ConverterCache {
+    private static final ClassValue<ConverterCache> CACHES = new ClassValue<>() {
+        @Override
+        protected ConverterCache computeValue(Class<?> type) {
+            return new ConverterCache(type);
+        }
+    };
+
+    private final Class<?> converterType;
+    private final ThreadLocal<TypeConverter<?>> threadInstance;
+    private volatile TypeConverter<?> sharedInstance;
+
+    /**
+     * Creates an empty cache for the given converter class.
+     *
+     * @param converterType The converter class
+     */
+    private ConverterCache(Class<?> converterType) {
+        this.converterType = converterType;
+        this.threadInstance = converterType.isAnnotationPresent(ThreadSafeConverter.class) ? null : new ThreadLocal<>();
+    }
+
+    /**
+     * Returns the cache for the given converter class.
+     *
+     * @param converterType The converter class
+     *
+     * @return The cache for the given converter class
+     */
+    static ConverterCache of(Class<? extends TypeConverter<?>> converterType) {
+        return CACHES.get(converterType);
+    }
+
+    /**
+     * Returns true if a single instance of the converter is shared between threads.
+     *
+     * @return True if the converter is annotated with {@link ThreadSafeConverter}
+     */
+    boolean isShared() {
+        return threadInstance == null;
+    }
+
+    /**
+     * Returns an instance of the converter which may be used by the current thread, creating it if necessary.
+     *
+     * @return The converter instance
+     * @throws MissingNoArgConstructorException If the converter cannot be instantiated
+     */
+    TypeConverter<?> get() throws MissingNoArgConstructorException {
+        if (threadInstance == null) {
+            TypeConverter<?> instance = sharedInstance;
+
+            if (instance == null) {
+                // Two threads may race to create the first instance, which is harmless for a thread safe converter
+                instance = ReflectionUtil.instantiate(converterType);
+                sharedInstance = instance;
+            }
+
+            return instance;
+        }
+
+        TypeConverter<?> instance = threadInstance.get();
+
+        if (instance == null) {
+            instance = ReflectionUtil.instantiate(converterType);
+            threadInstance.set(instance);
+        }
+
+        return instance;
+    }
+}
@@ -0,0 +1,150 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.voidzero.influx.cli.annotation.StandardInput;
+
+/**
+ * Reads delimited values from a channel one at a time, see {@link StandardInput}. Bytes are read into a fixed size
+ * buffer and each value is decoded as UTF-8 once its delimiter has been found, so only the value which is currently
+ * being read is held on the heap, regardless of the amount of input. Empty values are skipped. Instances are not
+ * thread-safe.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class DelimitedInput {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] token = new byte[64];
+    private int length;
+    private boolean endOfInput;
+
+    /**
+     * Creates a reader for the given channel.
+     *
+     * @param channel The channel to read from
+     * @param format The format of the input, which must not be {@link StandardInput#NONE}
+     */
+    DelimitedInput(ReadableByteChannel channel, StandardInput format) {
+        this.channel = channel;
+        this.delimiter = format == StandardInput.NUL ? (byte) 0 : (byte) '\n';
+
+        // Nothing has been read yet
+        buffer.flip();
+    }
+
+    /**
+     * Reads the next value.
+     *
+     * @return The next value or null if the end of the input has been reached
+     * @throws IOException If the channel cannot be read
+     */
+    String next() throws IOException {
+        length = 0;
+
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                // The last value does not have to be followed by a delimiter
+                return length == 0 ? null : decode();
+            }
+
+            byte value = buffer.get();
+
+            if (value != delimiter) {
+                append(value);
+                continue;
+            }
+
+            String decoded = decode();
+
+            if (decoded != null) {
+                return decoded;
+            }
+        }
+    }
+
+    /**
+     * Refills the buffer from the channel.
+     *
+     * @return False if the end of the input has been reached
+     * @throws IOException If the channel cannot be read
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+
+        buffer.clear();
+        int count;
+
+        // A non-blocking channel may not have any bytes available yet
+        do {
+            count = channel.read(buffer);
+        } while (count == 0);
+
+        buffer.flip();
+        endOfInput = count < 0;
+        return !endOfInput;
+    }
+
+    /**
+     * Decodes the current value and starts the next one. A carriage return which precedes a line feed is removed.
+     *
+     * @return The value or null if it is empty
+     */
+    private String decode() {
+        int end = length;
+        length = 0;
+
+        if (delimiter == '\n' && end > 0 && token[end - 1] == '\r') {
+            end--;
+        }
+
+        return end == 0 ? null : new String(token, 0, end, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a byte to the current value.
+     *
+     * @param value The byte to append
+     */
+    private void append(byte value) {
+        if (length == token.length) {
+            token = Arrays.copyOf(token, length * 2);
+        }
+
+        token[length++] = value;
+    }
+}
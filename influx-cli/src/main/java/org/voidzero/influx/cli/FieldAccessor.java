@@ -0,0 +1,329 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the value of a single field. The access strategy is decided once, when the accessor is
+ * resolved, and is then reused for every read and write. The strategies are attempted in the order documented by
+ * {@link ReflectionUtil#setFieldValue(java.lang.reflect.Field, Object, Object)}: public accessor method, public
+ * field, non-public accessor method and finally non-public field.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<Map<String, FieldAccessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+            return resolveAll(type);
+        }
+    };
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final Exception getterFailure;
+    private final Exception setterFailure;
+
+    /**
+     * Creates an accessor from already resolved method handles. A null handle means that the corresponding
+     * operation is not possible and the matching failure describes why.
+     *
+     * @param field The field which is accessed
+     * @param getter The handle which reads the field or null
+     * @param getterFailure The reason the field cannot be read or null
+     * @param setter The handle which writes the field or null
+     * @param setterFailure The reason the field cannot be written or null
+     */
+    private FieldAccessor(Field field, MethodHandle getter, Exception getterFailure, MethodHandle setter,
+                          Exception setterFailure) {
+        this.field = field;
+        this.getter = getter;
+        this.getterFailure = getterFailure;
+        this.setter = setter;
+        this.setterFailure = setterFailure;
+    }
+
+    /**
+     * Returns the accessor for the given field. Accessors are resolved for every field of a class at once, the
+     * first time any of them is requested, and are cached afterwards.
+     *
+     * @param field The field for which an accessor is needed
+     *
+     * @return The accessor for the given field
+     */
+    public static FieldAccessor of(Field field) {
+        FieldAccessor accessor = ACCESSORS.get(field.getDeclaringClass()).get(field.getName());
+
+        // This can only happen if the field was obtained in an unusual way, such as from a different class loader
+        if (accessor == null || !accessor.field.equals(field)) {
+            return resolve(field, ReflectionUtil.findGetterMethod(field), ReflectionUtil.findSetterMethod(field));
+        }
+
+        return accessor;
+    }
+
+    /**
+     * Returns the field which is accessed by this accessor.
+     *
+     * @return The field which is accessed by this accessor
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns the value of the field.
+     *
+     * @param instance The instance from which the value should be taken
+     *
+     * @return The value of the field
+     * @throws IllegalAccessException Thrown if the field cannot be read
+     */
+    public Object get(Object instance) throws IllegalAccessException {
+        if (getter == null) {
+            throw inaccessible("read", getterFailure);
+        }
+
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(format("Failed to read field %s", field), e);
+        }
+    }
+
+    /**
+     * Sets the value of the field.
+     *
+     * @param instance The instance to which the value should be set
+     * @param value The value to set
+     * @throws IllegalAccessException Thrown if the field cannot be written
+     */
+    public void set(Object instance, Object value) throws IllegalAccessException {
+        if (setter == null) {
+            throw inaccessible("write", setterFailure);
+        }
+
+        try {
+            setter.invokeExact(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(format("Failed to write field %s", field), e);
+        }
+    }
+
+    /**
+     * Creates the exception which reports that the field cannot be accessed.
+     *
+     * @param operation The operation which was attempted
+     * @param cause The reason the operation is not possible
+     *
+     * @return The exception to throw
+     */
+    private IllegalAccessException inaccessible(String operation, Exception cause) {
+        IllegalAccessException exception = new IllegalAccessException(format("Unable to %s field %s", operation,
+                field));
+        exception.initCause(cause);
+        return exception;
+    }
+
+    /**
+     * Resolves accessors for every field which is declared by the given class. Methods are indexed up front so that
+     * looking for accessor methods which do not exist does not cost an exception per field.
+     *
+     * @param type The class whose fields should be resolved
+     *
+     * @return The accessors keyed by field name
+     */
+    private static Map<String, FieldAccessor> resolveAll(Class<?> type) {
+        Map<String, Method> getters = new HashMap<>();
+        Map<String, Method> setters = new HashMap<>();
+
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isSynthetic() || method.isBridge()) {
+                continue;
+            }
+
+            String name = method.getName();
+
+            if (method.getParameterCount() == 0 && name.startsWith("get")) {
+                getters.putIfAbsent(name, method);
+            } else if (method.getParameterCount() == 1 && name.startsWith("set")) {
+                setters.putIfAbsent(name + ':' + method.getParameterTypes()[0].getName(), method);
+            }
+        }
+
+        Map<String, FieldAccessor> accessors = new HashMap<>();
+
+        for (Field field : type.getDeclaredFields()) {
+            String suffix = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+            Method getterMethod = getters.get("get" + suffix);
+            Method setterMethod = setters.get("set" + suffix + ':' + field.getType().getName());
+            accessors.put(field.getName(), resolve(field, getterMethod, setterMethod));
+        }
+
+        return Collections.unmodifiableMap(accessors);
+    }
+
+    /**
+     * Decides which strategy should be used to read and write the given field.
+     *
+     * @param field The field which should be accessed
+     * @param getterMethod The getter method of the field or null if there isn't one
+     * @param setterMethod The setter method of the field or null if there isn't one
+     *
+     * @return The resolved accessor
+     */
+    private static FieldAccessor resolve(Field field, Method getterMethod, Method setterMethod) {
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        Exception getterFailure = null;
+        Exception setterFailure = null;
+
+        for (Object candidate : candidates(field, getterMethod)) {
+            try {
+                getter = unreflectGetter(candidate);
+                break;
+            } catch (IllegalAccessException | RuntimeException e) {
+                getterFailure = e;
+            }
+        }
+
+        for (Object candidate : candidates(field, setterMethod)) {
+            try {
+                setter = unreflectSetter(candidate);
+                break;
+            } catch (IllegalAccessException | RuntimeException e) {
+                setterFailure = e;
+            }
+        }
+
+        return new FieldAccessor(field, getter, getter == null ? getterFailure : null, setter,
+                setter == null ? setterFailure : null);
+    }
+
+    /**
+     * Returns the members which may be used to access a field in order of preference.
+     *
+     * @param field The field
+     * @param method The accessor method of the field or null if there isn't one
+     *
+     * @return The members in order of preference
+     */
+    private static Object[] candidates(Field field, Method method) {
+        if (method == null) {
+            return new Object[]{field};
+        }
+
+        if (Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(field.getModifiers())) {
+            return new Object[]{method, field};
+        }
+
+        return new Object[]{field, method};
+    }
+
+    /**
+     * Creates a handle with the signature {@code (Object)Object} which reads a field.
+     *
+     * @param member The getter method or field
+     *
+     * @return The handle
+     * @throws IllegalAccessException If the member cannot be accessed
+     */
+    private static MethodHandle unreflectGetter(Object member) throws IllegalAccessException {
+        MethodHandle handle;
+        boolean isStatic;
+
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            method.trySetAccessible();
+            handle = MethodHandles.lookup().unreflect(method);
+            isStatic = Modifier.isStatic(method.getModifiers());
+        } else {
+            Field field = (Field) member;
+            field.trySetAccessible();
+            handle = MethodHandles.lookup().unreflectGetter(field);
+            isStatic = Modifier.isStatic(field.getModifiers());
+        }
+
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle.asType(GETTER_TYPE);
+    }
+
+    /**
+     * Creates a handle with the signature {@code (Object,Object)void} which writes a field.
+     *
+     * @param member The setter method or field
+     *
+     * @return The handle
+     * @throws IllegalAccessException If the member cannot be accessed
+     */
+    private static MethodHandle unreflectSetter(Object member) throws IllegalAccessException {
+        MethodHandle handle;
+        boolean isStatic;
+
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            method.trySetAccessible();
+            handle = MethodHandles.lookup().unreflect(method);
+            isStatic = Modifier.isStatic(method.getModifiers());
+        } else {
+            Field field = (Field) member;
+            field.trySetAccessible();
+            handle = MethodHandles.lookup().unreflectSetter(field);
+            isStatic = Modifier.isStatic(field.getModifiers());
+        }
+
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        return handle.asType(SETTER_TYPE);
+    }
+}
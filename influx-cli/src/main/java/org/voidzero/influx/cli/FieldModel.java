@@ -0,0 +1,290 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.StandardInput;
+
+/**
+ * Immutable metadata for a single bindable field. Instances are created once per field by {@link CommandModel} so
+ * that annotations do not need to be queried again while arguments are being parsed.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class FieldModel {
+    private final Field field;
+    private final FieldAccessor accessor;
+    private final Class<?> type;
+    private final Arg arg;
+    private final Ordered ordered;
+    private final boolean booleanType;
+    private final boolean multiValued;
+    private final boolean lazy;
+    private final StandardInput standardInput;
+    private final int bufferIndex;
+    private final int valueIndex;
+    private final Class<?> elementType;
+    private final Class<? extends TypeConverter<?>> converterType;
+    private final Class<?> parsedType;
+    private final boolean builtinType;
+    private final ValueParser valueParser;
+    private final boolean required;
+    private final String displayName;
+
+    /**
+     * Creates the metadata for the given field.
+     *
+     * @param field The field which is described by this model
+     * @param bufferIndex The index of the buffer which accumulates the values of the field if it is a collection or
+     *                    an array
+     * @param valueIndex The index of the raw value of the field if it is a single valued option
+     */
+    FieldModel(Field field, int bufferIndex, int valueIndex) {
+        this.field = field;
+        this.accessor = FieldAccessor.of(field);
+        this.type = field.getType();
+        this.arg = field.getAnnotation(Arg.class);
+        this.ordered = field.getAnnotation(Ordered.class);
+        this.booleanType = ReflectionUtil.isBoolean(type);
+        this.lazy = type == Iterable.class || type == Stream.class || type == Spliterator.class;
+        this.multiValued = Collection.class.isAssignableFrom(type) || type.isArray() || lazy;
+        this.standardInput = ordered != null && multiValued ? ordered.standardInput() : StandardInput.NONE;
+        this.bufferIndex = multiValued ? bufferIndex : -1;
+        this.valueIndex = multiValued || ordered != null || field.isAnnotationPresent(Ignore.class) ? -1 : valueIndex;
+
+        Class<? extends TypeConverter<?>> converter = null;
+
+        if (ordered != null) {
+            this.elementType = ordered.collectionType();
+            this.required = ordered.required();
+            converter = ordered.converter();
+        } else if (arg != null) {
+            this.elementType = arg.collectionType();
+            this.required = arg.required();
+            converter = arg.converter();
+        } else {
+            this.elementType = null;
+            this.required = false;
+        }
+
+        // The default converter is a placeholder which means that no converter was specified
+        this.converterType = StringValueParser.class.equals(converter) ? null : converter;
+
+        // The parser is resolved once so that converting a value does not have to inspect its type again
+        // Arrays of primitives declare their element type themselves, so it does not have to be repeated in the
+        // annotation
+        if (type.isArray() && type.getComponentType().isPrimitive()) {
+            this.parsedType = type.getComponentType();
+        } else {
+            this.parsedType = multiValued ? elementType : type;
+        }
+
+        ValueParser builtin = ValueParsers.builtin(parsedType);
+        this.builtinType = builtin != null;
+        this.valueParser = builtinType ? builtin
+                : ValueParsers.fallback(parsedType, converterType == null ? null : ConverterCache.of(converterType));
+        this.displayName = "--" + Parser.camelCaseToHyphenCase(field.getName());
+    }
+
+    /**
+     * Returns the underlying field.
+     *
+     * @return The underlying field
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Returns the accessor which reads and writes the field.
+     *
+     * @return The accessor which reads and writes the field
+     */
+    FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * Returns the declared type of the field.
+     *
+     * @return The declared type of the field
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the {@link Arg} annotation of the field or null if it is not present.
+     *
+     * @return The {@link Arg} annotation or null
+     */
+    Arg getArg() {
+        return arg;
+    }
+
+    /**
+     * Returns the {@link Ordered} annotation of the field or null if it is not present.
+     *
+     * @return The {@link Ordered} annotation or null
+     */
+    Ordered getOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Returns true if the field is a boolean flag which does not accept a value.
+     *
+     * @return True if the field is a boolean
+     */
+    boolean isBoolean() {
+        return booleanType;
+    }
+
+    /**
+     * Returns true if the field is a collection or an array.
+     *
+     * @return True if the field accepts more than one value
+     */
+    boolean isMultiValued() {
+        return multiValued;
+    }
+
+    /**
+     * Returns true if the field is an {@code Iterable}, a {@code Stream} or a {@code Spliterator}, whose values are
+     * converted when they are consumed rather than when the arguments are bound.
+     *
+     * @return True if the field is an {@code Iterable}, a {@code Stream} or a {@code Spliterator}
+     */
+    boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Returns how the values of an ordered collection are read from standard input.
+     *
+     * @return How values are read from standard input, which is {@link StandardInput#NONE} for fields which do not
+     *     accept more than one value
+     */
+    StandardInput getStandardInput() {
+        return standardInput;
+    }
+
+    /**
+     * Returns the index of the buffer which accumulates the values of a collection or array field, see
+     * {@link ValueBuffers}.
+     *
+     * @return The index of the buffer or -1 if the field is not a collection or an array
+     */
+    int getBufferIndex() {
+        return bufferIndex;
+    }
+
+    /**
+     * Returns the index of the raw value of a single valued option, which is only converted once the arguments have
+     * been parsed, see {@link ParseContext#verify()}.
+     *
+     * @return The index of the raw value or -1 if the field is not a single valued option
+     */
+    int getValueIndex() {
+        return valueIndex;
+    }
+
+    /**
+     * Returns the declared element type of a collection or array field. This is only meaningful when
+     * {@link #isMultiValued()} returns true.
+     *
+     * @return The element type or null if the field is not annotated
+     */
+    Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Returns the converter declared on the field or null if the field does not declare one.
+     *
+     * @return The declared converter type or null
+     */
+    Class<? extends TypeConverter<?>> getConverterType() {
+        return converterType;
+    }
+
+    /**
+     * Returns the type which each value is parsed into. This is the element type for collections and arrays and the
+     * declared type for every other field.
+     *
+     * @return The type which each value is parsed into
+     */
+    Class<?> getParsedType() {
+        return parsedType;
+    }
+
+    /**
+     * Returns the parser which converts each value of the field. Built-in types are always parsed by their built-in
+     * parser. Otherwise, a parser which has been registered for the type of the field takes precedence over the
+     * converter which is declared on the field.
+     *
+     * @param valueParsers The registered parsers or null
+     *
+     * @return The parser for the field
+     */
+    ValueParser getValueParser(Map<Class<?>, ValueParser> valueParsers) {
+        if (!builtinType && valueParsers != null) {
+            ValueParser registered = valueParsers.get(type);
+
+            if (registered != null) {
+                return registered;
+            }
+        }
+
+        return valueParser;
+    }
+
+    /**
+     * Returns true if the field must be populated.
+     *
+     * @return True if the field must be populated
+     */
+    boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Returns the name which is used to refer to this field in error messages.
+     *
+     * @return The name which is used to refer to this field in error messages
+     */
+    String getDisplayName() {
+        return displayName;
+    }
+}
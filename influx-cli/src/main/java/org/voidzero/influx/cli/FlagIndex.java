@@ -0,0 +1,162 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable hash index over option names which looks up a name directly from a range of characters within a
+ * larger string. This allows a token such as {@code --name=value} to be matched without first copying the name out
+ * of it with {@link String#substring(int, int)}, so looking up an option does not allocate. Instances are
+ * thread-safe.
+ *
+ * @param <V> The type of the value which is associated with each name
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class FlagIndex<V> {
+    private final String[] names;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Creates an index over the given names.
+     *
+     * @param entries The names and the values which are associated with them
+     */
+    public FlagIndex(Map<String, ? extends V> entries) {
+        int capacity = 2;
+
+        // Keep the table at most half full so that probe sequences stay short
+        while (capacity < entries.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.names = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.size = entries.size();
+
+        for (Map.Entry<String, ? extends V> entry : entries.entrySet()) {
+            String name = entry.getKey();
+            int slot = hash(name, 0, name.length()) & mask;
+
+            while (names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            names[slot] = name;
+            values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Creates an index which maps each of the given names to itself. Looking up a range of characters therefore
+     * returns the canonical instance of the name.
+     *
+     * @param names The names to index
+     *
+     * @return The index
+     */
+    public static FlagIndex<String> of(String... names) {
+        Map<String, String> entries = new LinkedHashMap<>();
+
+        for (String name : names) {
+            entries.put(name, name);
+        }
+
+        return new FlagIndex<>(entries);
+    }
+
+    /**
+     * Returns the value which is associated with the given name.
+     *
+     * @param name The name to look up
+     *
+     * @return The associated value or null if the name is not indexed
+     */
+    public V get(String name) {
+        return get(name, 0, name.length());
+    }
+
+    /**
+     * Returns the value which is associated with the name that occupies the given range of characters.
+     *
+     * @param source The string which contains the name
+     * @param start The index of the first character of the name, inclusive
+     * @param end The index of the last character of the name, exclusive
+     *
+     * @return The associated value or null if the name is not indexed
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String source, int start, int end) {
+        int length = end - start;
+        int slot = hash(source, start, end) & mask;
+        String name;
+
+        while ((name = names[slot]) != null) {
+            if (name.length() == length && name.regionMatches(0, source, start, length)) {
+                return (V) values[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the number of indexed names.
+     *
+     * @return The number of indexed names
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Hashes a range of characters in the same way as {@link String#hashCode()}, with the high bits folded into the
+     * low bits because only the low bits select a slot.
+     *
+     * @param source The string which contains the characters
+     * @param start The index of the first character, inclusive
+     * @param end The index of the last character, exclusive
+     *
+     * @return The hash
+     */
+    private static int hash(String source, int start, int end) {
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,340 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.voidzero.influx.cli.annotation.Command;
+
+/**
+ * Renders help messages. The help message of a class only depends on its annotations, so it is rendered once per class
+ * and width and the rendered text is shared by every later request. At most {@value #MAX_CACHED_WIDTHS} widths are kept
+ * per class, so callers which pass many different widths cannot grow the cache without limit; further widths are
+ * rendered on every request. Rendering appends straight to its target instead of building intermediate strings for each
+ * option.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class HelpRenderer {
+
+    private static final String DEFAULT_CATEGORY = "default";
+
+    private static final int MAX_CACHED_WIDTHS = 8;
+
+    private static final ClassValue<ConcurrentMap<Integer, Rendered>> RENDERED = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<Integer, Rendered> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private HelpRenderer() {
+        throw new RuntimeException("This class cannot be instantiated");
+    }
+
+    /**
+     * Returns the help message of the given class, rendering it the first time it is requested for the given width.
+     *
+     * @param classType The class to describe
+     * @param width The width after which descriptions wrap around to the next line
+     *
+     * @return The help message
+     * @throws IllegalArgumentException If the width is not positive
+     */
+    static String help(Class<?> classType, int width) {
+        return rendered(classType, width).text;
+    }
+
+    /**
+     * Returns the help message of the given class followed by a line separator, so that it can be printed in a
+     * single write.
+     *
+     * @param classType The class to describe
+     * @param width The width after which descriptions wrap around to the next line
+     *
+     * @return The help message and a line separator
+     * @throws IllegalArgumentException If the width is not positive
+     */
+    static String line(Class<?> classType, int width) {
+        return rendered(classType, width).line;
+    }
+
+    /**
+     * Returns the cached help message of the given class, or a freshly rendered one if the class already has
+     * {@value #MAX_CACHED_WIDTHS} widths in its cache.
+     *
+     * @param classType The class to describe
+     * @param width The width after which descriptions wrap around to the next line
+     *
+     * @return The rendered help message
+     * @throws IllegalArgumentException If the width is not positive
+     */
+    private static Rendered rendered(Class<?> classType, int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("The width of help messages must be positive: " + width);
+        }
+
+        ConcurrentMap<Integer, Rendered> byWidth = RENDERED.get(classType);
+        Rendered rendered = byWidth.get(width);
+
+        if (rendered == null) {
+            StringBuilder sb = new StringBuilder();
+
+            try {
+                render(classType, width, sb);
+            } catch (IOException e) {
+                // A StringBuilder does not throw
+                throw new UncheckedIOException(e);
+            }
+
+            Rendered candidate = new Rendered(sb.toString());
+
+            // Concurrent callers may overshoot the limit by a few entries, which keeps the cache bounded regardless
+            if (byWidth.size() >= MAX_CACHED_WIDTHS) {
+                return candidate;
+            }
+
+            rendered = byWidth.putIfAbsent(width, candidate);
+
+            if (rendered == null) {
+                rendered = candidate;
+            }
+        }
+
+        return rendered;
+    }
+
+    /**
+     * Renders the help message of the given class.
+     *
+     * @param classType The class to describe
+     * @param width The width after which descriptions wrap around to the next line
+     * @param out The target which the help message is appended to
+     * @throws IOException If the target cannot be written
+     */
+    static void render(Class<?> classType, int width, Appendable out) throws IOException {
+        Command command = classType.getAnnotation(Command.class);
+
+        // If there's a help annotation, grab the before and after text
+        if (command != null) {
+            out.append(command.openingText());
+        } else {
+            out.append("The following options are accepted: ");
+        }
+
+        List<OptionInfo> commandList = new ArrayList<>();
+        List<OptionInfo> defaultList = new ArrayList<>();
+        Map<String, List<OptionInfo>> categorized = new TreeMap<>();
+        int longestLongName = 0;
+
+        for (OptionInfo optionInfo : InfluxCli.extract(classType)) {
+            if (optionInfo.isCommand()) {
+                commandList.add(optionInfo);
+                continue;
+            }
+
+            String category = optionInfo.getCategory();
+
+            if (category.isEmpty() || category.equals(DEFAULT_CATEGORY)) {
+                defaultList.add(optionInfo);
+            } else {
+                categorized.computeIfAbsent(category, key -> new ArrayList<>()).add(optionInfo);
+            }
+
+            // Keep track of the longest long name so that we can pad the help message correctly
+            longestLongName = Math.max(longestLongName, optionInfo.getFlag().length());
+        }
+
+        if (!commandList.isEmpty()) {
+            out.append("\ncommands:");
+
+            // Emit the list of available sub-commands
+            for (OptionInfo optionInfo : commandList) {
+                out.append("\n\t").append(optionInfo.getCommandName());
+
+                if (!optionInfo.getDescription().isEmpty()) {
+                    out.append("\t\t").append(optionInfo.getDescription());
+                }
+            }
+
+            out.append('\n');
+        }
+
+        String padding = " ".repeat(10 + longestLongName);
+        StringBuilder line = new StringBuilder(width);
+
+        renderOptions(defaultList, longestLongName, width, padding, line, out);
+
+        for (Map.Entry<String, List<OptionInfo>> entry : categorized.entrySet()) {
+            out.append("\n\n").append(entry.getKey()).append(':');
+            renderOptions(entry.getValue(), longestLongName, width, padding, line, out);
+        }
+
+        if (command != null && !command.closingText().isEmpty()) {
+            out.append('\n').append(command.closingText());
+        }
+    }
+
+    /**
+     * Renders the named options of a single category.
+     *
+     * @param options The options to render
+     * @param longestLongName The length of the longest flag, which flags are padded to
+     * @param width The width after which descriptions wrap around to the next line
+     * @param padding The indentation of wrapped descriptions
+     * @param line A builder which is reused for the first line of each option
+     * @param out The target which the options are appended to
+     * @throws IOException If the target cannot be written
+     */
+    private static void renderOptions(List<OptionInfo> options, int longestLongName, int width, String padding,
+                                      StringBuilder line, Appendable out) throws IOException {
+        for (OptionInfo option : options) {
+            out.append('\n');
+            line.setLength(0);
+            line.append(option.isRequired() ? "* " : "  ");
+
+            if (option.getCode() != ' ') {
+                line.append('-').append(option.getCode());
+            } else {
+                line.append("  ");
+            }
+
+            String longName = option.getFlag();
+
+            // Options without a flag only have a code, which is not followed by a description
+            if (longName.isEmpty()) {
+                out.append(line);
+                appendSpaces(out, longestLongName);
+                continue;
+            }
+
+            line.append(option.getCode() != ' ' ? ',' : ' ').append(" --").append(longName);
+
+            for (int i = longName.length(); i < longestLongName; i++) {
+                line.append(' ');
+            }
+
+            line.append("  ").append(option.getDescription());
+
+            if (line.length() > width) {
+                int lastSpaceIndex = line.lastIndexOf(" ", width - 1);
+                int end = lastSpaceIndex < 0 ? width : lastSpaceIndex;
+                out.append(line, 0, end).append('\n');
+                wordWrap(line, lastSpaceIndex < 0 ? end : end + 1, width, padding, out);
+                out.append('\n');
+            } else {
+                out.append(line);
+            }
+        }
+    }
+
+    /**
+     * Word wraps the remainder of a line in the same way as {@link Parser#wordWrap(String, int, String)}, except that
+     * words which do not fit on a line are broken instead of failing.
+     *
+     * @param text The text to wrap
+     * @param start The index of the first character which should be wrapped
+     * @param boundary The maximum length of each line
+     * @param padding The text which is prepended to each line
+     * @param out The target which the wrapped text is appended to
+     * @throws IOException If the target cannot be written
+     */
+    private static void wordWrap(CharSequence text, int start, int boundary, String padding, Appendable out)
+            throws IOException {
+        int maxLength = Math.max(boundary - padding.length() - 1, 1);
+        int position = start;
+
+        while (text.length() - position > maxLength) {
+            int index = lastSpace(text, position, position + maxLength);
+            int end = index < 0 ? position + maxLength : index;
+
+            out.append(padding).append(text, position, end).append('\n');
+            position = index < 0 ? end : end + 1;
+        }
+
+        out.append(padding).append(text, position, text.length());
+    }
+
+    /**
+     * Returns the index of the last space within the given range of characters.
+     *
+     * @param text The text to search
+     * @param start The index of the first character to search, inclusive
+     * @param end The index of the last character to search, inclusive
+     *
+     * @return The index of the space or -1 if there isn't one
+     */
+    private static int lastSpace(CharSequence text, int start, int end) {
+        for (int i = end; i >= start; i--) {
+            if (text.charAt(i) == ' ') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Appends the given number of spaces.
+     *
+     * @param out The target to append to
+     * @param count The number of spaces
+     * @throws IOException If the target cannot be written
+     */
+    private static void appendSpaces(Appendable out, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            out.append(' ');
+        }
+    }
+
+    /**
+     * A rendered help message.
+     */
+    private static final class Rendered {
+        private final String text;
+        private final String line;
+
+        /**
+         * Creates a rendered help message.
+         *
+         * @param text The help message
+         */
+        private Rendered(String text) {
+            this.text = text;
+            this.line = text + System.lineSeparator();
+        }
+    }
+}
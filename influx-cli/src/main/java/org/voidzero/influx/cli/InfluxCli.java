@@ -0,0 +1,751 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.RethrownException;
+
+/**
+ * The main entry point for the influx-cli library. An instance can be configured with the register and set methods
+ * and then shared between threads once it has been frozen with {@link #freeze()}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class InfluxCli {
+
+    /**
+     * Descriptions for named options wrap around to the next line after this threshold.
+     */
+    public static final int WORDWRAP_THRESHOLD = 80;
+
+    /**
+     * This allows unit tests to override the exit mechanism.
+     */
+    private volatile ExitMechanism exitMechanism = System::exit;
+
+    /**
+     * This allows unit tests to override the output stream.
+     */
+    private volatile PrintStream out = System.out;
+
+    /**
+     * This allows unit tests to override the error stream.
+     */
+    private volatile PrintStream err = System.err;
+
+    /**
+     * This allows unit tests to override the input stream.
+     */
+    private volatile InputStream in = System.in;
+
+    private final Map<Class<?>, ValueParser> valueParsers;
+
+    private final boolean frozen;
+
+    private volatile boolean expandArgumentFiles;
+
+    private volatile ArgumentFileFormat argumentFileFormat = ArgumentFileFormat.QUOTED;
+
+    private volatile ValueSource variables = ValueSource.system();
+
+    private volatile int helpWidth = WORDWRAP_THRESHOLD;
+
+    /**
+     * Default constructor.
+     */
+    public InfluxCli() {
+        this.valueParsers = new HashMap<>();
+        this.frozen = false;
+    }
+
+    /**
+     * Creates a frozen copy of the given instance, see {@link #freeze()}.
+     *
+     * @param source The instance to copy
+     */
+    private InfluxCli(InfluxCli source) {
+        this.valueParsers = Map.copyOf(source.valueParsers);
+        this.frozen = true;
+        this.exitMechanism = source.exitMechanism;
+        this.out = source.out;
+        this.err = source.err;
+        this.in = source.in;
+        this.expandArgumentFiles = source.expandArgumentFiles;
+        this.argumentFileFormat = source.argumentFileFormat;
+        this.variables = source.variables;
+        this.helpWidth = source.helpWidth;
+    }
+
+    /**
+     * Returns an immutable copy of this instance. The registered parsers are copied into an immutable map which is
+     * read without locking, and every method which would change the configuration of the copy throws an
+     * {@link IllegalStateException}. Because binding keeps all of its state in the {@link ParseContext} of each
+     * call, a frozen instance can be shared by any number of threads which bind concurrently. Later changes to this
+     * instance do not affect the copy.
+     *
+     * @return The frozen copy, or this instance if it is already frozen
+     */
+    public InfluxCli freeze() {
+        return frozen ? this : new InfluxCli(this);
+    }
+
+    /**
+     * Returns true if this instance was created by {@link #freeze()} and can no longer be changed.
+     *
+     * @return True if this instance is frozen
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Throws an exception if this instance is frozen.
+     *
+     * @throws IllegalStateException If this instance is frozen
+     */
+    private void requireNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("A frozen InfluxCli cannot be changed");
+        }
+    }
+
+    /**
+     * Registers a type converter for the given type.
+     *
+     * @param type The type to register the type converter for
+     * @param typeConverter The type converter to register
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli register(Class<?> type, TypeConverter<?> typeConverter) {
+        requireNotFrozen();
+        valueParsers.put(type, ValueParsers.of(typeConverter));
+        return this;
+    }
+
+    /**
+     * Registers a value parser for the given type. Types which are supported by default cannot be overridden.
+     *
+     * @param type The type to register the value parser for
+     * @param valueParser The value parser to register
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli register(Class<?> type, ValueParser valueParser) {
+        requireNotFrozen();
+        valueParsers.put(type, valueParser);
+        return this;
+    }
+
+    /**
+     * Registers a map of type converters.
+     *
+     * @param typeConverters The type converters to register
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli register(Map<Class<?>, TypeConverter<?>> typeConverters) {
+        requireNotFrozen();
+
+        for (Map.Entry<Class<?>, TypeConverter<?>> entry : typeConverters.entrySet()) {
+            register(entry.getKey(), entry.getValue());
+        }
+
+        return this;
+    }
+
+    /**
+     * Same as {@link #bind(Class, String[])} except that it returns a {@link ParseContext} instead
+     * of the instance.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     *
+     * @return A {@link ParseContext} containing the instance of the class type with the arguments
+     * @throws ParseException If the arguments could not be bound to the class type
+     * @throws HelpException thrown if a flag in the args parameter is requesting help
+     */
+    public ParseContext<?> bindContext(Class<?> classType, String[] args) throws ParseException, HelpException {
+        return bindContext(classType, args, 0);
+    }
+
+    /**
+     * Binds the arguments from the given offset onward to the class type. Leading arguments which name sub-commands
+     * are routed through the compiled {@link CommandTree}, advancing the offset rather than copying the arguments.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     * @param offset The position of the first argument which belongs to the class type
+     *
+     * @return A {@link ParseContext} containing the instance of the class type with the arguments
+     * @throws ParseException If the arguments could not be bound to the class type
+     * @throws HelpException thrown if a flag in the args parameter is requesting help
+     */
+    private ParseContext<?> bindContext(Class<?> classType, String[] args, int offset)
+            throws ParseException, HelpException {
+        ParseContext<?> context = parse(classType, args, offset);
+
+        // Stop because help was requested
+        if (context.isHelpRequested()) {
+            throw new HelpException(context.getInstance().getClass());
+        }
+
+        // Verify that required fields are set
+        context.verify();
+
+        return context;
+    }
+
+    /**
+     * Same as {@link #bind(Class, String[])} except that failures are returned instead of thrown. Help requests and
+     * arguments which cannot be bound are expected outcomes, so they are detected without exceptions where possible
+     * and the exceptions which are still needed to report invalid values do not record a stack trace. This makes it
+     * cheap to reject large amounts of malformed input.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     *
+     * @return The bound instance, the help request or the error
+     */
+    public BindResult tryBind(Class<?> classType, String[] args) {
+        try {
+            ParseContext<?> context = parse(classType, args, 0);
+
+            if (context.isHelpRequested()) {
+                return BindResult.help(context.getInstance().getClass());
+            }
+
+            context.verify();
+
+            return BindResult.success(context.getInstance());
+        } catch (ParseException e) {
+            return BindResult.failure(e);
+        }
+    }
+
+    /**
+     * Creates a binder which binds arguments of the given class type into instances which are supplied by the caller,
+     * reusing its parse state between binds. Repeated binds do not allocate beyond the converted values, see
+     * {@link ReusableBinder}. The binder is not thread-safe.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param <T> The type of the class
+     *
+     * @return The binder
+     * @throws ParseException If the class type cannot be instantiated or its default values cannot be initialized
+     */
+    public <T> ReusableBinder<T> newReusableBinder(Class<T> classType) throws ParseException {
+        return new ReusableBinder<>(classType, valueParsers, expandArgumentFiles, argumentFileFormat, in,
+                variables);
+    }
+
+    /**
+     * Routes the arguments to the selected sub-command and parses them, without verifying the result. Parsing stops
+     * early if help is requested, see {@link ParseContext#isHelpRequested()}.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     * @param offset The position of the first argument which belongs to the class type
+     *
+     * @return A {@link ParseContext} containing the instance of the class type with the arguments
+     * @throws ParseException If the arguments could not be bound to the class type
+     */
+    private ParseContext<?> parse(Class<?> classType, String[] args, int offset) throws ParseException {
+        CommandTree node = CommandTree.of(classType);
+        int position = offset;
+
+        // Each argument which exactly matches a sub-command of the current command selects it, skipping its name
+        while (position < args.length && !args[position].isEmpty() && args[position].charAt(0) != '-') {
+            CommandTree subCommand = node.find(args[position]);
+
+            if (subCommand == null) {
+                break;
+            }
+
+            node = subCommand;
+            position++;
+        }
+
+        ArgumentCursor cursor = new ArgumentCursor(args, position, expandArgumentFiles, argumentFileFormat);
+        ParseContext<?> context = new ParseContext<>(node.getClassType(), cursor, null, valueParsers, variables);
+        context.setIn(in);
+
+        try {
+            Parser state = Parser.NEUTRAL;
+
+            // Continue executing the next state until all input has been processed
+            while (state != null) {
+                state = state.execute(context);
+            }
+        } finally {
+            // Parsing may stop before an argument file has been consumed
+            cursor.close();
+        }
+
+        return context;
+    }
+
+    /**
+     * Binds the arguments to the class type and to every sub-command which they select, in a single pass. Unlike
+     * {@link #bindContext(Class, String[])}, the options which precede or follow the name of a sub-command are not
+     * dropped: an option which the sub-command does not declare is bound to the closest command above it which does.
+     * Global options such as {@code --verbose} therefore only need to be declared once, on the top level command.
+     *
+     * <p>A sub-command is selected by an argument which exactly matches one of its names, provided that the current
+     * command has not yet received a positional value.</p>
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type and its sub-commands
+     *
+     * @return A {@link CommandChain} containing every bound command, from the class type down to the selected
+     *     sub-command
+     * @throws ParseException If the arguments could not be bound to the commands
+     * @throws HelpException thrown if a flag in the args parameter is requesting help
+     */
+    public CommandChain bindChain(Class<?> classType, String[] args) throws ParseException, HelpException {
+        ArgumentCursor cursor = new ArgumentCursor(args, 0, expandArgumentFiles, argumentFileFormat);
+        CommandTree node = CommandTree.of(classType);
+        ParseContext<?> context = new ParseContext<>(classType, cursor, null, valueParsers, variables);
+        context.setIn(in);
+        List<ParseContext<?>> contexts = new ArrayList<>();
+        contexts.add(context);
+
+        try {
+            Parser state = Parser.NEUTRAL;
+
+            // Continue executing the next state until all input has been processed
+            while (state != null) {
+                if (state == Parser.NEUTRAL && !cursor.isInCluster() && cursor.hasNext()
+                        && !context.hasOrderedValues()) {
+                    String arg = cursor.peek();
+                    CommandTree subCommand = arg.isEmpty() || arg.charAt(0) == '-' ? null : node.find(arg);
+
+                    // Descend into the sub-command, which passes the flags it does not declare back up the chain
+                    if (subCommand != null) {
+                        cursor.next();
+                        node = subCommand;
+                        context = new ParseContext<>(node.getClassType(), cursor, context, valueParsers, variables);
+                        context.setIn(in);
+                        contexts.add(context);
+                        continue;
+                    }
+                }
+
+                state = state.execute(context);
+            }
+        } catch (UncheckedIOException e) {
+            // Argument files are also read while sub-commands are looked up, outside of the parser
+            throw new RethrownException(e.getMessage(), e.getCause());
+        } finally {
+            cursor.close();
+        }
+
+        // Stop because help was requested for the selected sub-command
+        if (context.isHelpRequested()) {
+            throw new HelpException(context.getInstance().getClass());
+        }
+
+        // Verify that required fields are set at every level
+        for (ParseContext<?> level : contexts) {
+            level.verify();
+        }
+
+        return new CommandChain(contexts);
+    }
+
+    /**
+     * This method is used to display the help message for the given class type. The help message
+     *
+     * @param classType The class type to display the help message for
+     * @param <T> The type of the class to display the help message for
+     */
+    protected <T> void showHelp(Class<T> classType) {
+        // Print the help message and its line separator to stdout in a single write
+        out.print(HelpRenderer.line(classType, helpWidth));
+
+        // Exit normally
+        exitMechanism.exit(0);
+    }
+
+    /**
+     * Creates an instance of the specified type and populates it with values taken from the string of arguments.
+     *
+     * @param classType the class type of the instance which should be created
+     * @param args the arguments which should be used to populate the instance
+     * @return the populated(bound) instance
+     * @throws ParseException Thrown if the arguments cannot be bound to the instance
+     * @throws HelpException Thrown if one of the arguments is requesting help
+     */
+    public Object bind(Class<?> classType, String[] args) throws ParseException, HelpException {
+        // Bind the arguments to the class type
+        ParseContext<?> context = bindContext(classType, args);
+
+        // Get the instance from the parse context
+        return context.getInstance();
+    }
+
+    /**
+     * Same as {@link #bindAll(Iterable, Class, Executor)} except that the arguments are bound on the common
+     * {@link ForkJoinPool}.
+     *
+     * @param argsList The argument vectors to bind
+     * @param classType The class type to bind each argument vector to
+     *
+     * @return The results in the order of the argument vectors
+     */
+    public Stream<BindResult> bindAll(Iterable<String[]> argsList, Class<?> classType) {
+        return bindAll(argsList, classType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Binds many argument vectors to the same class type in parallel. The argument vectors are bound in chunks on the
+     * given executor by a frozen copy of this instance, see {@link #freeze()}, so they share the cached model of the
+     * class type. The returned stream is sequential and yields one result per argument vector, in input order, as soon
+     * as it is available. Arguments which cannot be bound or which request help are reported in their result and do
+     * not stop the batch. Only a bounded number of argument vectors is read ahead of the consumer, so the input may be
+     * arbitrarily long or produced lazily. On Java 21 and later, an executor which starts a virtual thread per task
+     * may be passed.
+     *
+     * @param argsList The argument vectors to bind
+     * @param classType The class type to bind each argument vector to
+     * @param executor The executor which binds the argument vectors
+     *
+     * @return The results in the order of the argument vectors
+     */
+    public Stream<BindResult> bindAll(Iterable<String[]> argsList, Class<?> classType, Executor executor) {
+        BatchIterator results = new BatchIterator(freeze(), classType, argsList.iterator(), executor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * This method automates the mechanics behind binding, error handling, and displaying
+     * the help message. Incoming arguments are bound to the specified class type and the run method
+     * is invoked after binding has been completed. If binding fails, validation messages will be
+     * printed to stderr and an appropriate exit status will be set. If the help message is
+     * requested, it will be printed to stdout prior to exit.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param args The arguments to bind to the class type
+     *
+     * @return An instance of the specified class type with the specified arguments bound to it. An exception will be
+     *     thrown if binding fails
+     */
+    public Object bindOrExit(Class<?> classType, String[] args) {
+        Object instance = null;
+
+        try {
+            // Bind the arguments to the class type
+            ParseContext<?> context = bindContext(classType, args);
+
+            // Get the instance from the parse context
+            instance = context.getInstance();
+
+            // We don't need to worry about setting the exit status to 0 because that is
+            // the default behavior for the JVM
+            return instance;
+        } catch (HelpException e) {
+            showHelp(e.getClassType());
+            return null;
+        } catch (ParseException e) {
+            // Print the error message to stderr
+            getErr().println(e.getMessage());
+
+            exitMechanism.exit(e.getExitStatus());
+
+            // This should only happen when the exit mechanism is overridden. Realistically, it probably won't execute
+            // even then because the tests will use the exit mechanism to throw an exception.
+            return instance;
+        }
+    }
+
+    /**
+     * Generates a help message for the given class type. The message is rendered once per class and width and then
+     * reused, so later requests do not allocate. Only a small number of widths are cached per class.
+     *
+     * @param classType The class type to generate a help message for
+     * @param <T> The type of the class for which a help message should be generated
+     * @return A help message for the given class type
+     */
+    public static <T> String help(Class<T> classType) {
+        return HelpRenderer.help(classType, WORDWRAP_THRESHOLD);
+    }
+
+    /**
+     * Same as {@link #help(Class)} except that descriptions wrap around to the next line after the given width
+     * instead of {@link #WORDWRAP_THRESHOLD}.
+     *
+     * @param classType The class type to generate a help message for
+     * @param width The width of the terminal
+     * @param <T> The type of the class for which a help message should be generated
+     * @return A help message for the given class type
+     * @throws IllegalArgumentException If the width is not positive
+     */
+    public static <T> String help(Class<T> classType, int width) {
+        return HelpRenderer.help(classType, width);
+    }
+
+    /**
+     * Same as {@link #help(Class, int)} except that the help message is appended to the given target, such as a
+     * {@link java.io.Writer}, in a single call.
+     *
+     * @param classType The class type to generate a help message for
+     * @param width The width of the terminal
+     * @param out The target which the help message is appended to
+     * @throws IOException If the target cannot be written
+     * @throws IllegalArgumentException If the width is not positive
+     */
+    public static void help(Class<?> classType, int width, Appendable out) throws IOException {
+        out.append(HelpRenderer.help(classType, width));
+    }
+
+    /**
+     * This method is shared between the bind and help methods. The returned list is cached and cannot be modified.
+     * When the class is described by a {@link CommandIndex}, the list is read from the index so that the classes of
+     * its sub-commands are not loaded.
+     *
+     * @param classType The class type from which metadata should be extracted
+     * @param <T> The generic type of the class from which metadata is being extracted
+     * @return A list of objects representing the fields which can be bound to
+     */
+    protected static <T> List<OptionInfo> extract(Class<T> classType) {
+        CommandIndex index = CommandIndex.of(classType);
+        return index != null ? index.getOptions() : CommandModel.of(classType).getOptions();
+    }
+
+    /**
+     * This method is used to override which print stream is used for output.
+     *
+     * @param out The print stream to use for output
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setOut(PrintStream out) {
+        requireNotFrozen();
+        this.out = out;
+        return this;
+    }
+
+    /**
+     * This method is used to override which print stream is used for error messages.
+     *
+     * @param err The print stream to use for error messages
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setErr(PrintStream err) {
+        requireNotFrozen();
+        this.err = err;
+        return this;
+    }
+
+    /**
+     * This method is used to override which input stream is read by ordered fields which accept standard input, see
+     * {@link org.voidzero.influx.cli.annotation.Ordered#standardInput()}.
+     *
+     * @param in The input stream to read values from
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setIn(InputStream in) {
+        requireNotFrozen();
+        this.in = in;
+        return this;
+    }
+
+    /**
+     * Replaces the source of the variables which options read their defaults from, see
+     * {@link org.voidzero.influx.cli.annotation.Arg#environmentVariable()}. By default, this is a snapshot of the
+     * environment and the system properties which belongs to this instance, see
+     * {@link ValueSource#system()}. Tests can supply their own variables with {@link ValueSource#of(Map)} instead of
+     * changing system properties.
+     *
+     * @param variables The source of the variables
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setValueSource(ValueSource variables) {
+        requireNotFrozen();
+        this.variables = variables;
+        return this;
+    }
+
+    /**
+     * Returns the source of the variables which options read their defaults from.
+     *
+     * @return The source of the variables
+     */
+    public ValueSource getValueSource() {
+        return variables;
+    }
+
+    /**
+     * This method is used to override the exit mechanism.
+     *
+     * @param exitMechanism The exit mechanism to use
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setExitMechanism(ExitMechanism exitMechanism) {
+        requireNotFrozen();
+        this.exitMechanism = exitMechanism;
+        return this;
+    }
+
+    /**
+     * Enables or disables argument files. When enabled, an argument of the form {@code @path} is replaced by the
+     * arguments in the file at that path, which are read lazily from a memory mapped file instead of being loaded
+     * into memory, so files of any size can be bound. When it is the value of a collection or array option, every
+     * argument in the file is a value of that option. See {@link ArgumentFile} for the format of the file. Argument
+     * files are disabled by default, because they change the meaning of values which start with {@code @}. Names of
+     * sub-commands are not read from argument files by {@link #bindContext(Class, String[])}.
+     *
+     * @param expandArgumentFiles True if argument files should be expanded
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setExpandArgumentFiles(boolean expandArgumentFiles) {
+        requireNotFrozen();
+        this.expandArgumentFiles = expandArgumentFiles;
+        return this;
+    }
+
+    /**
+     * Returns true if arguments of the form {@code @path} are replaced by the arguments in the file at that path.
+     *
+     * @return True if argument files are expanded
+     */
+    public boolean isExpandArgumentFiles() {
+        return expandArgumentFiles;
+    }
+
+    /**
+     * Sets the format of argument files, see {@link #setExpandArgumentFiles(boolean)}. Defaults to
+     * {@link ArgumentFileFormat#QUOTED}, which unescapes shell quoting. Files which are written by tools that do not
+     * quote their output, such as lists of paths, should be read with one of the literal formats.
+     *
+     * @param argumentFileFormat The format of argument files
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setArgumentFileFormat(ArgumentFileFormat argumentFileFormat) {
+        requireNotFrozen();
+        this.argumentFileFormat = argumentFileFormat;
+        return this;
+    }
+
+    /**
+     * Returns the format of argument files.
+     *
+     * @return The format of argument files
+     */
+    public ArgumentFileFormat getArgumentFileFormat() {
+        return argumentFileFormat;
+    }
+
+    /**
+     * Sets the width after which descriptions wrap around to the next line when help is shown, which is usually the
+     * width of the terminal. Defaults to {@link #WORDWRAP_THRESHOLD}.
+     *
+     * @param helpWidth The width of help messages
+     *
+     * @return Self reference to support method chaining
+     * @throws IllegalArgumentException If the width is not positive
+     * @throws IllegalStateException If this instance is frozen
+     */
+    public InfluxCli setHelpWidth(int helpWidth) {
+        requireNotFrozen();
+
+        if (helpWidth < 1) {
+            throw new IllegalArgumentException("The width of help messages must be positive: " + helpWidth);
+        }
+
+        this.helpWidth = helpWidth;
+        return this;
+    }
+
+    /**
+     * Returns the width after which descriptions wrap around to the next line when help is shown.
+     *
+     * @return The width of help messages
+     */
+    public int getHelpWidth() {
+        return helpWidth;
+    }
+
+    /**
+     * This method is used to retrieve the current print stream used for output.
+     *
+     * @return The current print stream used for output
+     */
+    public PrintStream getOut() {
+        return out;
+    }
+
+    /**
+     * This method is used to retrieve the current print stream used for error messages.
+     *
+     * @return The current print stream used for error messages
+     */
+    public PrintStream getErr() {
+        return err;
+    }
+
+    /**
+     * This method is used to retrieve the current input stream used for standard input.
+     *
+     * @return The current input stream used for standard input
+     */
+    public InputStream getIn() {
+        return in;
+    }
+}
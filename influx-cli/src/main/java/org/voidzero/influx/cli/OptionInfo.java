@@ -59,27 +59,19 @@ public class OptionInfo {
 
         flag = Parser.camelCaseToHyphenCase(field.getName());
 
-        if (field.getType().equals(Boolean.class)
-                || field.getType().equals(boolean.class)) {
+        Class<?> type = field.getType();
+
+        if (type.equals(Boolean.class) || type.equals(boolean.class)) {
             description = "Boolean flag which requires no argument";
+        } else if (type.equals(String.class)) {
+            description = "Accepts a string value";
+        } else if (type.equals(Double.class) || type.equals(double.class) || type.equals(Float.class)
+                || type.equals(float.class)) {
+            description = "Accepts a floating point number";
+        } else if (type.equals(Character.class) || type.equals(char.class)) {
+            description = "Accepts a single character";
         } else {
-            description = "Accepts a ";
-
-            if (field.getType().equals(String.class)) {
-                description += "string value";
-            } else if (
-                    field.getType().equals(Double.class)
-                            || field.getType().equals(double.class)
-                            || field.getType().equals(Float.class)
-                            || field.getType().equals(float.class)
-            ) {
-                description += "floating point number";
-            } else if (field.getType().equals(Character.class)
-                    || field.getType().equals(char.class)) {
-                description += "single character";
-            } else {
-                description += "number";
-            }
+            description = "Accepts a number";
         }
 
         if (property != null) {
@@ -115,6 +107,39 @@ public class OptionInfo {
         }
     }
 
+    /**
+     * Creates a new OptionInfo object for a named option, see {@link CommandIndex}.
+     *
+     * @param flag The flag of the option
+     * @param code The code of the option or a space if it doesn't have one
+     * @param description The description of the option
+     * @param category The category of the option or an empty string
+     * @param required True if the option is required
+     */
+    OptionInfo(final String flag, final char code, final String description, final String category,
+               final boolean required) {
+        this.flag = flag;
+        this.code = code;
+        this.description = description;
+        this.category = category;
+        this.required = required;
+    }
+
+    /**
+     * Creates a new OptionInfo object for a sub-command, see {@link CommandIndex}.
+     *
+     * @param commandName The name of the sub-command
+     * @param flag The flag which is derived from the name of the field
+     * @param description The description of the sub-command
+     */
+    OptionInfo(final String commandName, final String flag, final String description) {
+        this.commandName = commandName;
+        this.flag = flag;
+        this.description = description;
+        this.category = "commands";
+        this.isCommand = true;
+    }
+
     /**
      * Returns the flag of the option.
      *
@@ -0,0 +1,834 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.channels.Channels;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.InaccessibleFieldException;
+import org.voidzero.influx.cli.exception.MissingNoArgConstructorException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Maintains the state of the parsing process.
+ *
+ * @param <T> The type of the object being populated with parsed arguments
+ */
+public class ParseContext<T> {
+    private final Class<T> classType;
+    private final Binder<T> binder;
+    private CommandModel<T> model;
+    private final ArgumentCursor cursor;
+    private final ValueBuffers buffers;
+    private final ValueSource variables;
+    private T instance;
+    private final Map<Class<?>, ValueParser> valueParsers;
+    private final ParseContext<?> parent;
+    private ParseContext<?> flagOwner = this;
+    private String currentToken;
+    private int currentStart;
+    private int currentEnd;
+    private String currentName;
+    private FieldModel currentField;
+    private int currentOrderedIndex = 0;
+    private boolean helpRequested;
+    private InputStream in = System.in;
+
+    /**
+     * Create a new ParseContext for the given class type and string arguments.
+     *
+     * @param classType The class type which will be instantiated and populated with the given arguments
+     * @param args The string arguments to parse
+     * @param valueParsers The map of value parsers to use when parsing values
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    public ParseContext(Class<T> classType, String[] args, Map<Class<?>, ValueParser> valueParsers)
+            throws ParseException {
+        this(classType, args, 0, valueParsers);
+    }
+
+    /**
+     * Create a new ParseContext for the given class type which parses the string arguments from the given offset
+     * onward. The arguments are not copied.
+     *
+     * @param classType The class type which will be instantiated and populated with the given arguments
+     * @param args The string arguments to parse
+     * @param offset The position of the first argument which belongs to the class type
+     * @param valueParsers The map of value parsers to use when parsing values
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    public ParseContext(Class<T> classType, String[] args, int offset, Map<Class<?>, ValueParser> valueParsers)
+            throws ParseException {
+        this(classType, new ArgumentCursor(args, offset), null, valueParsers, ValueSource.system());
+    }
+
+    /**
+     * Create a new ParseContext for the given class type which continues parsing with the cursor of its parent. Flags
+     * which the class type does not declare are passed on to the parent, see {@link CommandChain}.
+     *
+     * @param classType The class type which will be instantiated and populated with the given arguments
+     * @param cursor The cursor which walks the arguments
+     * @param parent The context of the command which selected this one or null
+     * @param valueParsers The map of value parsers to use when parsing values
+     * @param variables The source of the variables which options read their defaults from
+     * @throws MissingNoArgConstructorException If the class type does not have a public default constructor
+     */
+    ParseContext(Class<T> classType, ArgumentCursor cursor, ParseContext<?> parent,
+                 Map<Class<?>, ValueParser> valueParsers, ValueSource variables) throws ParseException {
+        this.classType = classType;
+        this.binder = BinderSupport.find(classType);
+        this.cursor = cursor;
+        this.parent = parent;
+        this.valueParsers = valueParsers;
+        this.variables = variables;
+
+        // Generated binders do not need the reflective model at all
+        if (binder != null) {
+            this.buffers = new ValueBuffers(binder.getBufferCount(), binder.getValueCount(), cursor);
+            this.instance = binder.newInstance();
+
+            try {
+                binder.initialize(instance, variables, valueParsers);
+            } catch (RuntimeException e) {
+                String message = format("Unable to initialize default values for class %s",
+                        classType.getCanonicalName());
+                throw new InaccessibleFieldException(message, e, classType);
+            }
+
+            return;
+        }
+
+        this.model = CommandModel.of(classType);
+        this.buffers = new ValueBuffers(model.getBufferedFields().size(), model.getSingleValuedFields().size(),
+                cursor);
+
+        // Attempt to construct the instance which will be returned
+        this.instance = model.newInstance();
+
+        FieldModel field = null;
+
+        try {
+            // Initialize boolean fields to false by default
+            for (FieldModel booleanField : model.getBooleanFields()) {
+                booleanField.getAccessor().set(instance, false);
+            }
+
+            List<FieldModel> environmentFields = model.getEnvironmentFields();
+
+            // Options read their variables once the arguments have been parsed, see convertValues
+            for (int i = 0; i < environmentFields.size(); i++) {
+                field = environmentFields.get(i);
+                String value = field.getValueIndex() < 0 ? variables.get(field.getArg().environmentVariable()) : null;
+
+                if (value != null) {
+                    field.getAccessor().set(instance, parseVariable(field, value));
+                }
+            }
+        } catch (ParseException e) {
+            throw attribute(e, field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            String message = format("Unable to initialize default values for class %s", classType.getCanonicalName());
+            throw new InaccessibleFieldException(message, e, classType);
+        }
+    }
+
+    /**
+     * Parses the value of the environment variable of a field which is not a single valued option. Collections and
+     * arrays cannot be populated from a variable.
+     *
+     * @param field The field which declares the variable
+     * @param value The value of the variable
+     *
+     * @return The parsed value
+     * @throws ParseException If the value cannot be parsed
+     */
+    private Object parseVariable(FieldModel field, String value) throws ParseException {
+        if (field.isMultiValued()) {
+            return ReflectionUtil.parse(field.getType(), value);
+        }
+
+        return ValueParsers.parse(field.getValueParser(valueParsers), value, field.getType());
+    }
+
+    /**
+     * Returns the current name.
+     *
+     * @param currentName The current name
+     *
+     * @return The current name
+     */
+    public ParseContext<T> setCurrentName(String currentName) {
+        return setCurrentFlag(currentName, 0, currentName.length());
+    }
+
+    /**
+     * Sets the current flag to the name which occupies the given range of characters in a token. The name is
+     * resolved immediately and is not copied out of the token.
+     *
+     * @param token The token which contains the name of the flag
+     * @param start The index of the first character of the name, inclusive
+     * @param end The index of the last character of the name, exclusive
+     *
+     * @return Self reference to support method chaining
+     */
+    ParseContext<T> setCurrentFlag(String token, int start, int end) {
+        this.currentToken = token;
+        this.currentStart = start;
+        this.currentEnd = end;
+
+        if (binder != null) {
+            this.currentName = binder.findOption(token, start, end);
+        } else {
+            this.currentField = model.getNamedField(token, start, end);
+        }
+
+        // Flags which this class does not declare may belong to the command which selected it
+        if (parent != null && currentName == null && currentField == null) {
+            parent.setCurrentFlag(token, start, end);
+            flagOwner = parent;
+        } else {
+            flagOwner = this;
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the current name.
+     *
+     * @return The current name
+     */
+    public T getInstance() {
+        return instance;
+    }
+
+    /**
+     * Prepares this context to parse different arguments into a different instance. The buffers and the cursor are
+     * kept, so a context which is reused does not allocate. The instance is not reset, see {@link ReusableBinder}.
+     *
+     * @param instance The instance which will be populated with the arguments
+     * @param args The string arguments to parse
+     */
+    void reset(T instance, String[] args) {
+        this.instance = instance;
+        this.cursor.reset(args, 0);
+        this.buffers.clear();
+        this.flagOwner = this;
+        this.currentToken = null;
+        this.currentName = null;
+        this.currentField = null;
+        this.currentOrderedIndex = 0;
+        this.helpRequested = false;
+    }
+
+    /**
+     * Returns the cursor which walks the arguments.
+     *
+     * @return The cursor which walks the arguments
+     */
+    ArgumentCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns true if a positional value has been bound to this context.
+     *
+     * @return True if a positional value has been bound
+     */
+    boolean hasOrderedValues() {
+        return currentOrderedIndex > 0;
+    }
+
+    /**
+     * Sets the value of the current ordered property in the parse context to the given string value.
+     *
+     * @param stringValue The string value to parse and set
+     * @throws ParseException If the value cannot be parsed
+     */
+    public void setOrderedValue(String stringValue) throws ParseException {
+        int orderedIndex = currentOrderedIndex++;
+        FieldModel field = null;
+
+        try {
+            if (binder != null) {
+                binder.setOrderedValue(instance, orderedIndex, stringValue, valueParsers, buffers);
+                return;
+            }
+
+            field = orderedField(model, orderedIndex);
+
+            // Only a trailing collection or array accepts the values which are left over after every ordered field
+            // has been populated
+            if (orderedIndex >= model.getOrderedFields().size() && (field == null || !field.isMultiValued())) {
+                throw BinderSupport.unexpected(stringValue);
+            }
+
+            // Collections and arrays are written once all of their values have been parsed
+            if (field.isMultiValued()) {
+                bufferValue(field, stringValue);
+            } else {
+                field.getAccessor().set(instance, ValueParsers.parse(field.getValueParser(valueParsers), stringValue,
+                        field.getParsedType()));
+            }
+        } catch (ParseException e) {
+            // Generated binders do not know their fields, so the model is only consulted once binding has failed
+            throw attribute(e, binder != null ? orderedField(getModel(), orderedIndex) : field);
+        } catch (RuntimeException | IllegalAccessException e) {
+            String message = format("Failed to set value %s for position %s", stringValue, orderedIndex);
+            throw new InaccessibleFieldException(message, e, instance.getClass());
+        }
+    }
+
+    /**
+     * Returns the ordered field which receives the value at the given position. Values past the last ordered field
+     * are received by the last one, if it is a collection or array.
+     *
+     * @param model The model of the class
+     * @param orderedIndex The position of the value among the positional values
+     *
+     * @return The field or null if the class does not declare ordered fields
+     */
+    private static FieldModel orderedField(CommandModel<?> model, int orderedIndex) {
+        List<FieldModel> orderedFields = model.getOrderedFields();
+
+        return orderedFields.isEmpty() ? null : orderedFields.get(Math.min(orderedIndex, orderedFields.size() - 1));
+    }
+
+    /**
+     * Sets the value of the current named property in the parse context to the given value.
+     *
+     * @param value The value to set
+     * @throws ParseException If the value cannot be parsed
+     */
+    public void setNamedValue(String value) throws ParseException {
+        if (flagOwner != this) {
+            flagOwner.setNamedValue(value);
+            return;
+        }
+
+        try {
+            if (binder != null) {
+                // Quietly return if the option is unknown, see below
+                if (currentName != null) {
+                    try {
+                        binder.setNamedValue(instance, currentName, value, valueParsers, buffers);
+                    } catch (ParseException e) {
+                        throw attribute(e, getModel().getNamedField(currentToken, currentStart, currentEnd));
+                    }
+                }
+
+                return;
+            }
+
+            FieldModel field = currentField;
+
+            // Quietly return if the field cannot be found. This may be the result of the user passing the wrong flag
+            if (field == null) {
+                return;
+            }
+
+            // Are we dealing with a collection?
+            if (field.isMultiValued()) {
+                // It is not possible to add an element to a collection without this annotation because we need to know
+                // what type the collection contains
+                if (field.getArg() == null) {
+                    String message = Arg.class.getName() + " is missing. This should never happen";
+                    throw new NullPointerException(message);
+                }
+
+                // The collection is written once all of its values have been parsed
+                bufferValue(field, value);
+            } else {
+                // Only the last occurrence of an option survives, so it is not converted until parsing has finished
+                buffers.setValue(field.getValueIndex(), value);
+            }
+        } catch (RuntimeException e) {
+            String message = format("Failed to set value %s for flag %s", value,
+                    currentToken.substring(currentStart, currentEnd));
+            throw new InaccessibleFieldException(message, e, instance.getClass());
+        }
+    }
+
+    /**
+     * Parse the given value into an instance of the given field type. Built-in types are parsed by their built-in
+     * parser and every other type is parsed by the given type converter.
+     *
+     * @param value The value to parse
+     * @param fieldType The class type to parse the value into
+     * @param typeConverter The type converter to use when parsing the value
+     *
+     * @return The parsed value
+     * @throws ParseException If the value cannot be parsed
+     */
+    protected Object parse(String value, Class<?> fieldType, TypeConverter<?> typeConverter)
+            throws ParseException {
+        ValueParser parser = ValueParsers.builtin(fieldType);
+
+        if (parser == null) {
+            parser = typeConverter == null ? ValueParsers.fallback(fieldType, null) : ValueParsers.of(typeConverter);
+        }
+
+        return ValueParsers.parse(parser, value, fieldType);
+    }
+
+    /**
+     * Returns true if the current flag is a boolean flag.
+     *
+     * @return true if the current flag is a boolean flag
+     */
+    public boolean isBoolean() {
+        if (flagOwner != this) {
+            return flagOwner.isBoolean();
+        }
+
+        if (binder != null) {
+            return currentName != null && binder.isBoolean(currentName);
+        }
+
+        FieldModel field = currentField;
+
+        if (field == null) {
+            return false;
+        }
+
+        return field.isBoolean();
+    }
+
+    /**
+     * Returns true if the current flag belongs to a collection or array field, which accepts any number of values.
+     *
+     * @return true if the current flag accepts any number of values
+     */
+    boolean isMultiValued() {
+        if (flagOwner != this) {
+            return flagOwner.isMultiValued();
+        }
+
+        // Generated binders do not describe their fields, so the model is consulted instead
+        FieldModel field = binder == null ? currentField
+                : currentName == null ? null : getModel().getNamedField(currentToken, currentStart, currentEnd);
+
+        return field != null && field.isMultiValued();
+    }
+
+    /**
+     * Parses a value of a collection or array field and adds it to the buffer of the field. The values of int, long
+     * and double arrays are parsed into primitives which are never boxed. The values of {@code Iterable},
+     * {@code Stream} and {@code Spliterator} fields are not parsed until they are consumed.
+     *
+     * @param field The collection or array field
+     * @param value The string value to parse
+     * @throws ParseException If the value cannot be parsed
+     */
+    private void bufferValue(FieldModel field, String value) throws ParseException {
+        ValueBuffer buffer = buffers.get(field.getBufferIndex());
+        Class<?> parsedType = field.getParsedType();
+
+        try {
+            // Lazily converted fields only keep a reference to the raw value
+            if (field.isLazy()) {
+                buffer.add(value);
+            } else if (parsedType == int.class) {
+                buffer.addInt(BinderSupport.toInt(value, int.class));
+            } else if (parsedType == long.class) {
+                buffer.addLong(BinderSupport.toLong(value, long.class));
+            } else if (parsedType == double.class) {
+                buffer.addDouble(BinderSupport.toDouble(value, double.class));
+            } else {
+                buffer.add(ValueParsers.parse(field.getValueParser(valueParsers), value, parsedType));
+            }
+        } catch (ParseException e) {
+            throw attribute(e, field);
+        }
+    }
+
+    /**
+     * Names the field which a value could not be converted for, so that the exit status of the field is reported.
+     * Exceptions which already name a field, and the subclasses which report failures of converters, are returned as
+     * they are.
+     *
+     * @param e The exception which was thrown by the conversion
+     * @param field The field which was being populated or null if it is not known
+     *
+     * @return The exception to throw
+     */
+    private static ParseException attribute(ParseException e, FieldModel field) {
+        if (e.getField() != null || field == null || e.getClass() != ParseException.class) {
+            return e;
+        }
+
+        return new ParseException(field.getField(), e.getValue(), e.getMessage(), false);
+    }
+
+    /**
+     * Returns the list of required fields.
+     *
+     * @return The list of required fields
+     */
+    public List<Field> getRequiredFields() {
+        return getModel().getRequiredFields();
+    }
+
+    /**
+     * Converts the last value of each option, writes the values which have been accumulated for collection and array
+     * fields and then verifies that every required field has been populated. This must be called once all arguments
+     * have been parsed.
+     *
+     * @throws ParseException If a required field is not set
+     */
+    public void verify() throws ParseException {
+        if (binder != null) {
+            convertBoundValues();
+            binder.flush(instance, buffers);
+
+            try {
+                binder.verify(instance);
+            } catch (ParseException e) {
+                // Generated binders do not know their fields, so the model is only consulted once verification failed
+                throw attribute(e, findUnsetField());
+            }
+
+            return;
+        }
+
+        convertValues();
+        readStandardInput();
+        flush();
+
+        List<FieldModel> requiredFields = model.getRequiredFieldModels();
+
+        // Indexed loops do not allocate iterators, which keeps reused contexts free of garbage
+        for (int i = 0; i < requiredFields.size(); i++) {
+            FieldModel field = requiredFields.get(i);
+
+            try {
+                Object value = field.getAccessor().get(instance);
+
+                if (value == null) {
+                    // TODO: This does not take annotations into account. The java field name will be used
+                    //  even if it has been overridden by an annotation.
+                    throw new ParseException(field.getField(), null, "Required argument " + field.getDisplayName()
+                            + " is not set", false);
+                }
+            } catch (IllegalAccessException e) {
+                throw new ParseException("Could not access field " + field.getField().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the first required field which has not been populated, which is the field that a generated binder
+     * reports first.
+     *
+     * @return The field or null if every required field is populated
+     * @throws ParseException If a field cannot be read
+     */
+    private FieldModel findUnsetField() throws ParseException {
+        List<FieldModel> requiredFields = getModel().getRequiredFieldModels();
+
+        for (int i = 0; i < requiredFields.size(); i++) {
+            FieldModel field = requiredFields.get(i);
+
+            try {
+                if (field.getAccessor().get(instance) == null) {
+                    return field;
+                }
+            } catch (IllegalAccessException e) {
+                throw new ParseException("Could not access field " + field.getField().getName(), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Converts the last value which each option received, or else the value of its variable, which is only looked up
+     * if the command line does not override it. However often an option is repeated, its converter runs at most once.
+     * If the command declares an environment prefix, the variables are listed once and each costs a single lookup in
+     * the index of the command.
+     *
+     * @throws ParseException If a value cannot be converted
+     */
+    private void convertValues() throws ParseException {
+        List<FieldModel> environmentFields = model.getEnvironmentFields();
+
+        // The variables of other fields have been read by the constructor
+        for (int i = 0; i < environmentFields.size(); i++) {
+            FieldModel field = environmentFields.get(i);
+            int valueIndex = field.getValueIndex();
+
+            if (valueIndex >= 0 && buffers.getValue(valueIndex) == null) {
+                buffers.setValue(valueIndex, variables.get(field.getArg().environmentVariable()));
+            }
+        }
+
+        Map<String, FieldModel> prefixedFields = model.getPrefixedFields();
+
+        // Variables which are bound by convention are converted like the command line values which override them
+        if (!prefixedFields.isEmpty()) {
+            variables.forEach((name, value) -> {
+                FieldModel field = prefixedFields.get(name);
+
+                if (field != null && buffers.getValue(field.getValueIndex()) == null) {
+                    buffers.setValue(field.getValueIndex(), value);
+                }
+            });
+        }
+
+        List<FieldModel> singleValuedFields = model.getSingleValuedFields();
+
+        for (int i = 0; i < singleValuedFields.size(); i++) {
+            String value = buffers.getValue(i);
+
+            if (value == null) {
+                continue;
+            }
+
+            FieldModel field = singleValuedFields.get(i);
+
+            try {
+                Object parsedValue = ValueParsers.parse(field.getValueParser(valueParsers), value, field.getType());
+                field.getAccessor().set(instance, parsedValue);
+            } catch (ParseException e) {
+                throw attribute(e, field);
+            } catch (RuntimeException | IllegalAccessException e) {
+                String message = format("Failed to set value %s for flag %s", value, field.getDisplayName());
+                throw new InaccessibleFieldException(message, e, instance.getClass());
+            }
+        }
+    }
+
+    /**
+     * Converts the values of the single valued options of a generated binder in the same way as
+     * {@link #convertValues()}. The binder assigns the same indices as the model of the class, so the model is only
+     * consulted to name the option whose value could not be converted.
+     *
+     * @throws ParseException If a value cannot be converted
+     */
+    private void convertBoundValues() throws ParseException {
+        int valueCount = binder.getValueCount();
+
+        for (int i = 0; i < valueCount; i++) {
+            String value = buffers.getValue(i);
+
+            if (value == null) {
+                String variable = binder.getEnvironmentVariable(i);
+                value = variable == null ? null : variables.get(variable);
+            }
+
+            if (value == null) {
+                continue;
+            }
+
+            try {
+                binder.setValue(instance, i, value, valueParsers);
+            } catch (ParseException e) {
+                throw attribute(e, getModel().getSingleValuedFields().get(i));
+            } catch (RuntimeException e) {
+                String message = format("Failed to set value %s for flag %s", value,
+                        getModel().getSingleValuedFields().get(i).getDisplayName());
+                throw new InaccessibleFieldException(message, e, instance.getClass());
+            }
+        }
+    }
+
+    /**
+     * Reads the values of ordered fields which accept standard input, see {@link Ordered#standardInput()}. Fields
+     * which received values on the command line do not read standard input. Collections and arrays are filled
+     * before this returns, while {@code Iterable} and {@code Stream} fields read standard input as they are consumed.
+     *
+     * @throws ParseException If standard input cannot be read or one of its values cannot be converted
+     */
+    private void readStandardInput() throws ParseException {
+        List<FieldModel> standardInputFields = model.getStandardInputFields();
+
+        for (int i = 0; i < standardInputFields.size(); i++) {
+            FieldModel field = standardInputFields.get(i);
+
+            if (buffers.find(field.getBufferIndex()) != null) {
+                continue;
+            }
+
+            DelimitedInput input = new DelimitedInput(Channels.newChannel(in), field.getStandardInput());
+
+            if (field.isLazy()) {
+                StandardInputValues values = new StandardInputValues(input, field.getValueParser(valueParsers),
+                        field.getParsedType());
+
+                try {
+                    field.getAccessor().set(instance, toLazyValue(field.getType(), values));
+                } catch (RuntimeException | IllegalAccessException e) {
+                    String message = format("Failed to set standard input for field %s", field.getField().getName());
+                    throw new InaccessibleFieldException(message, e, instance.getClass());
+                }
+
+                continue;
+            }
+
+            try {
+                for (String value = input.next(); value != null; value = input.next()) {
+                    bufferValue(field, value);
+                }
+            } catch (IOException e) {
+                throw new ParseException("Unable to read standard input", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the values which have been accumulated for collection and array fields. Each field is read and written
+     * once, regardless of how many values it received.
+     *
+     * @throws ParseException If a field cannot be written
+     */
+    @SuppressWarnings("unchecked")
+    private void flush() throws ParseException {
+        List<FieldModel> bufferedFields = model.getBufferedFields();
+
+        for (int i = 0; i < bufferedFields.size(); i++) {
+            FieldModel field = bufferedFields.get(i);
+            ValueBuffer buffer = buffers.find(field.getBufferIndex());
+
+            if (buffer == null) {
+                continue;
+            }
+
+            try {
+                Object existingValue = field.getAccessor().get(instance);
+                Class<?> fieldType = field.getType();
+
+                if (fieldType.isArray()) {
+                    field.getAccessor().set(instance, buffer.toArray(existingValue, fieldType.getComponentType()));
+                } else if (field.isLazy()) {
+                    // The raw values are converted when they are consumed, see bufferValue
+                    ArgumentValues values = new ArgumentValues((String[]) buffer.toArray(null, String.class),
+                            field.getValueParser(valueParsers), field.getParsedType());
+                    field.getAccessor().set(instance, toLazyValue(fieldType, values));
+                } else {
+                    field.getAccessor().set(instance, buffer.addTo((Collection<Object>) existingValue, fieldType));
+                }
+            } catch (RuntimeException | IllegalAccessException e) {
+                String message = format("Failed to set %s values for field %s", buffer.size(),
+                        field.getField().getName());
+                throw new InaccessibleFieldException(message, e, instance.getClass());
+            }
+        }
+    }
+
+    /**
+     * Returns the given values in the form which is declared by a lazily converted field.
+     *
+     * @param fieldType The type of the field, which is {@code Iterable}, {@code Stream} or {@code Spliterator}
+     * @param values The values of the field
+     *
+     * @return The value to assign to the field
+     */
+    private static Object toLazyValue(Class<?> fieldType, Iterable<Object> values) {
+        if (fieldType == Stream.class) {
+            return StreamSupport.stream(values.spliterator(), false);
+        } else if (fieldType == Spliterator.class) {
+            return values.spliterator();
+        }
+
+        return values;
+    }
+
+    /**
+     * Returns true if the given token is a help token.
+     *
+     * @param token The token to check
+     *
+     * @return true if the given token is a help token
+     */
+    public boolean isHelpToken(String token) {
+        if (binder != null) {
+            return binder.isHelpToken(token);
+        }
+
+        return model.isHelpToken(token);
+    }
+
+    /**
+     * Sets the input stream which is read by ordered fields which accept standard input.
+     *
+     * @param in The input stream to read values from
+     */
+    void setIn(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Records that a help token was found, which stops parsing.
+     */
+    void requestHelp() {
+        helpRequested = true;
+    }
+
+    /**
+     * Returns true if the arguments contained a help token. Parsing stops at the help token, so the instance is only
+     * partially populated.
+     *
+     * @return True if help was requested
+     */
+    public boolean isHelpRequested() {
+        return helpRequested;
+    }
+
+    /**
+     * Returns the model of the class which is being populated. When a generated binder is in use, the model is only
+     * built if it is requested.
+     *
+     * @return The model of the class which is being populated
+     */
+    public CommandModel<T> getModel() {
+        if (model == null) {
+            model = CommandModel.of(classType);
+        }
+
+        return model;
+    }
+
+    /**
+     * Returns the generated binder which populates the instance.
+     *
+     * @return The generated binder or null if the instance is populated with reflection
+     */
+    public Binder<T> getBinder() {
+        return binder;
+    }
+}
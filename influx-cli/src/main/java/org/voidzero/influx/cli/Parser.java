@@ -29,7 +29,7 @@ package org.voidzero.influx.cli;
 import static java.lang.Character.isUpperCase;
 import static java.lang.Character.toLowerCase;
 
-import org.voidzero.influx.cli.exception.HelpException;
+import java.io.UncheckedIOException;
 import org.voidzero.influx.cli.exception.ParseException;
 import org.voidzero.influx.cli.exception.RethrownException;
 
@@ -48,43 +48,37 @@ public enum Parser {
         @Override
         protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
+                ArgumentCursor cursor = context.getCursor();
+
+                // Continue expanding a cluster of single character flags
+                if (cursor.isInCluster()) {
+                    return FLAG;
+                }
+
                 // There is nothing left to do
-                if (context.getQueue().isEmpty()) {
+                if (!cursor.hasNext()) {
                     return null;
                 }
 
-                String arg = context.getQueue().peek();
-
-                if (arg.charAt(0) == '-') {
-                    if (arg.charAt(1) != '-') {
-                        // This is a single character flag and doesn't need to be expanded
-                        if (arg.length() == 2) {
-                            return FLAG;
-                        }
-
-                        // Remove the argument from the stack because it needs to be expanded into multiple arguments
-                        arg = context.getQueue().pop();
-
-                        // Convert the argument string(without the hyphen) into an array of characters
-                        char[] characters = arg.substring(1).toCharArray();
-
-                        // Expand multiple single letter options into multiple single letter options by looping
-                        // through the array in reverse order and adding them to the stack as individual arguments
-                        // so that the first character in the string is processed first
-                        for (int i = characters.length - 1; i >= 0; i--) {
-                            context.getQueue().push("-" + characters[i]);
-                        }
+                String arg = cursor.peek();
 
+                // An empty string and a lone hyphen are values rather than flags
+                if (arg.length() > 1 && arg.charAt(0) == '-') {
+                    // Multiple single letter options are expanded one character at a time by the cursor, so that the
+                    // first character in the string is processed first
+                    if (arg.charAt(1) != '-' && arg.length() > 2) {
+                        cursor.startCluster();
                     }
+
                     return FLAG;
                 }
 
                 // Set the next ordered value
                 context.setOrderedValue(arg);
-                context.getQueue().pop();
+                cursor.next();
                 return NEUTRAL;
             } catch (RuntimeException e) {
-                throw new RethrownException(e);
+                throw rethrow(e);
             }
         }
     },
@@ -93,31 +87,21 @@ public enum Parser {
      */
     FLAG {
         @Override
-        protected <T> Parser execute(ParseContext<T> context) throws ParseException, HelpException {
+        protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
-                String arg = context.getQueue().pop();
+                ArgumentCursor cursor = context.getCursor();
+                String arg = cursor.nextFlag();
 
-                // Stop parsing because help was requested
+                // Stop parsing because help was requested, which the caller reports
                 if (context.isHelpToken(arg)) {
-                    throw new HelpException(context.getInstance().getClass());
+                    context.requestHelp();
+                    return null;
                 }
 
-                if (arg.charAt(0) == '-') {
-                    if (arg.charAt(1) == '-') {
-                        context.setCurrentName(arg.substring(2));
-                    } else {
-                        context.setCurrentName(arg.substring(1));
-                    }
-
-                    return VALUE;
-                } else {
-                    // Set the next ordered value
-                    context.setOrderedValue(arg);
-                    context.getQueue().pop();
-                    return NEUTRAL;
-                }
+                context.setCurrentFlag(arg, cursor.getFlagStart(), cursor.getFlagEnd());
+                return VALUE;
             } catch (RuntimeException e) {
-                throw new RethrownException(e);
+                throw rethrow(e);
             }
         }
     },
@@ -129,24 +113,50 @@ public enum Parser {
         @Override
         protected <T> Parser execute(ParseContext<T> context) throws ParseException {
             try {
+                ArgumentCursor cursor = context.getCursor();
+                String inlineValue = cursor.takeInlineValue();
+
+                // The value was attached to the flag, as in --name=value
+                if (inlineValue != null) {
+                    context.setNamedValue(inlineValue);
+                    return NEUTRAL;
+                }
+
                 // Directly handle booleans which don't need values
                 if (context.isBoolean()) {
                     context.setNamedValue("true");
                     return NEUTRAL;
                 }
 
+                // The rest of a cluster is the value of the flag which precedes it, as in -j8
+                if (cursor.isInCluster()) {
+                    context.setNamedValue(cursor.remainingCluster());
+                    return NEUTRAL;
+                }
+
+                // Every token of an argument file which follows a collection or array flag is a value of the flag
+                if (cursor.isAtArgumentFile() && context.isMultiValued()) {
+                    cursor.openArgumentFile();
+
+                    while (cursor.isInArgumentFile()) {
+                        context.setNamedValue(cursor.next());
+                    }
+
+                    return NEUTRAL;
+                }
+
                 // Create an error when we don't have enough arguments
-                if (context.getQueue().isEmpty()) {
+                if (!cursor.hasNext()) {
                     // TODO: Should we throw an exception if we have no arguments and required fields?
                     return null;
                 }
 
                 // Set the value
-                context.setNamedValue(context.getQueue().pop());
+                context.setNamedValue(cursor.next());
 
                 return NEUTRAL;
             } catch (RuntimeException e) {
-                throw new RethrownException(e);
+                throw rethrow(e);
             }
         }
     };
@@ -160,9 +170,24 @@ public enum Parser {
      * @return The next parser
      *
      * @throws ParseException If an error occurs
-     * @throws HelpException If help is requested
      */
-    protected abstract <T> Parser execute(ParseContext<T> context) throws ParseException, HelpException;
+    protected abstract <T> Parser execute(ParseContext<T> context) throws ParseException;
+
+    /**
+     * Wraps an unexpected exception in a parse exception. Argument files which cannot be read are reported with the
+     * message of the failure, because the name of the file is more useful than the type of the exception.
+     *
+     * @param e The unexpected exception
+     *
+     * @return The parse exception
+     */
+    private static RethrownException rethrow(RuntimeException e) {
+        if (e instanceof UncheckedIOException) {
+            return new RethrownException(e.getMessage(), e.getCause());
+        }
+
+        return new RethrownException(e);
+    }
 
     /**
      * Convert a camel case string to hyphen case.
@@ -30,10 +30,7 @@ import static java.lang.String.format;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.Collection;
 import org.voidzero.influx.cli.exception.MissingNoArgConstructorException;
 import org.voidzero.influx.cli.exception.ParseException;
@@ -54,7 +51,7 @@ public class ReflectionUtil {
      * is unable to do so, it will override the access modifiers and try again. If available, getter methods will be
      * used. Direct field access will only be used as a last resort. However, if there is a public field with a private
      * getter (unlikely), then public field will be used. If both the field and the getter are private, the getter will
-     * be used.
+     * be used. The strategy is decided once per field, see {@link FieldAccessor}.
      *
      * @param field The field from which the value should be taken
      * @param instance The instance from which the value should be taken
@@ -62,27 +59,7 @@ public class ReflectionUtil {
      * @throws IllegalAccessException Thrown if the field or method is inaccessible
      */
     public static Object getFieldValue(Field field, Object instance) throws IllegalAccessException {
-        Method getterMethod = findGetterMethod(field);
-
-        try {
-            // Try public getter method first
-            return getterMethod.invoke(instance);
-        } catch (NullPointerException | InvocationTargetException | IllegalAccessException e1) {
-            try {
-                // Next, try public field
-                return field.get(instance);
-            } catch (IllegalAccessException e2) {
-                try {
-                    // Next try private getter method
-                    getterMethod.setAccessible(true);
-                    return getterMethod.invoke(instance);
-                } catch (NullPointerException | InvocationTargetException | IllegalAccessException e3) {
-                    // Finally, try private field
-                    field.setAccessible(true);
-                    return field.get(instance);
-                }
-            }
-        }
+        return FieldAccessor.of(field).get(instance);
     }
 
     /**
@@ -117,7 +94,8 @@ public class ReflectionUtil {
      * try again. If available, setter methods will be used. Direct field access will only be
      * used as a last resort. However, if there is a public field with a private setter
      * (unlikely), then public field will be used. If both the field and the setter are
-     * private,the setter will be used.
+     * private,the setter will be used. The strategy is decided once per field, see
+     * {@link FieldAccessor}.
      *
      * @param field The field to which the value should be set
      * @param instance The instance to which the value should be set
@@ -126,27 +104,7 @@ public class ReflectionUtil {
      */
     public static void setFieldValue(Field field, Object instance, Object value)
             throws IllegalAccessException {
-        Method setterMethod = findSetterMethod(field);
-
-        try {
-            // First, try public setter method
-            setterMethod.invoke(instance, value);
-        } catch (NullPointerException | IllegalAccessException | InvocationTargetException e1) {
-            try {
-                // Next, try public field
-                field.set(instance, value);
-            } catch (IllegalAccessException e2) {
-                try {
-                    // Next, try private setter method
-                    setterMethod.setAccessible(true);
-                    setterMethod.invoke(instance, value);
-                } catch (NullPointerException | IllegalAccessException | InvocationTargetException e3) {
-                    // Finally, try private field
-                    field.setAccessible(true);
-                    field.set(instance, value);
-                }
-            }
-        }
+        FieldAccessor.of(field).set(instance, value);
     }
 
     /**
@@ -249,7 +207,8 @@ public class ReflectionUtil {
     }
 
     /**
-     * Parses a string value into an object of the given type.
+     * Parses a string value into an object of the given type. Only the types which are supported by default can be
+     * parsed by this method.
      *
      * @param fieldType The type of the object to be returned
      * @param value The string value to be parsed
@@ -261,40 +220,10 @@ public class ReflectionUtil {
             throw new ParseException("Field type cannot be null");
         }
 
-        if (fieldType.equals(String.class)) {
-            return value;
-        } else if (isInteger(fieldType)) {
-            return Integer.parseInt(value);
-        } else if (isShort(fieldType)) {
-            return Short.parseShort(value);
-        } else if (isLong(fieldType)) {
-            return Long.parseLong(value);
-        } else if (isFloat(fieldType)) {
-            return Float.parseFloat(value);
-        } else if (isDouble(fieldType)) {
-            return Double.parseDouble(value);
-        } else if (isByte(fieldType)) {
-            return Byte.parseByte(value);
-        } else if (fieldType.equals(BigInteger.class)) {
-            return new BigInteger(value);
-        } else if (fieldType.equals(BigDecimal.class)) {
-            return new BigDecimal(value);
-        } else if (isCharacter(fieldType)) {
-            // Throw an exception if the wrong number of characters are passed
-            if (value == null || value.length() != 1) {
-                throw new ParseException(
-                        value,
-                        format("Value \"%s\" must be exactly one character in length", value)
-                );
-            }
+        ValueParser parser = ValueParsers.builtin(fieldType);
 
-            return value.charAt(0);
-        } else if (isBoolean(fieldType)) {
-            if (value == null) {
-                return Boolean.FALSE;
-            } else {
-                return Boolean.parseBoolean(value);
-            }
+        if (parser != null) {
+            return ValueParsers.parse(parser, value, fieldType);
         }
 
         throw new ParseException("Unable to parse value " + value + " into type " + fieldType);
@@ -0,0 +1,236 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static java.lang.String.format;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.InaccessibleFieldException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Binds arguments into instances which are supplied by the caller, reusing a single {@link ParseContext} for every
+ * bind. Before arguments are bound, every field which a bind can write is restored to the value which it holds in a
+ * newly initialized instance, including the defaults which are read from the {@link ValueSource} of the
+ * {@link InfluxCli} which created this binder. Collections which were initialized by the class are emptied and refilled
+ * in place, or replaced by a copy of the default if the instance no longer holds one or holds one which cannot be
+ * modified. Other defaults are restored by reference, so a mutable default such as a {@link java.util.Date} or an
+ * array is shared by every instance which is bound and must not be modified in place. Once the buffers of the context
+ * have grown to fit the arguments, binding the same class again allocates nothing beyond the converted values
+ * themselves, which makes this suitable for binding large numbers of argument vectors.
+ *
+ * <p>Arguments are bound to the class itself and are not routed to sub-commands. Instances are not thread-safe, so
+ * each thread should use its own binder, for example through a {@link ThreadLocal}.</p>
+ *
+ * @param <T> The type of the class which arguments are bound to
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class ReusableBinder<T> {
+    private static final String[] NO_ARGS = new String[0];
+
+    private final Class<T> classType;
+    private final ParseContext<T> context;
+    private final List<FieldModel> fields;
+    private final Object[] defaults;
+
+    /**
+     * Creates a binder for the given class type, see {@link InfluxCli#newReusableBinder(Class)}.
+     *
+     * @param classType The class type to bind the arguments to
+     * @param valueParsers The registered parsers
+     * @param expandArgumentFiles True if argument files should be expanded
+     * @param argumentFileFormat The format of argument files
+     * @param in The input stream which is read by ordered fields which accept standard input
+     * @param variables The source of the variables which options read their defaults from
+     * @throws ParseException If the class type cannot be instantiated or its default values cannot be initialized
+     */
+    ReusableBinder(Class<T> classType, Map<Class<?>, ValueParser> valueParsers, boolean expandArgumentFiles,
+                   ArgumentFileFormat argumentFileFormat, InputStream in, ValueSource variables)
+            throws ParseException {
+        this.classType = classType;
+        this.context = new ParseContext<>(classType, new ArgumentCursor(NO_ARGS, 0, expandArgumentFiles,
+                argumentFileFormat), null, valueParsers, variables);
+        this.context.setIn(in);
+        this.fields = CommandModel.of(classType).getResettableFields();
+        this.defaults = new Object[fields.size()];
+
+        // The default values are read once, so that primitives are not boxed again by every reset
+        T template = context.getInstance();
+
+        try {
+            for (int i = 0; i < defaults.length; i++) {
+                defaults[i] = fields.get(i).getAccessor().get(template);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            String message = format("Unable to read default values for class %s", classType.getCanonicalName());
+            throw new InaccessibleFieldException(message, e, classType);
+        }
+    }
+
+    /**
+     * Returns the class type which arguments are bound to.
+     *
+     * @return The class type
+     */
+    public Class<T> getClassType() {
+        return classType;
+    }
+
+    /**
+     * Restores the given instance to its default values and then binds the arguments to it. The instance may have
+     * been populated by an earlier bind.
+     *
+     * @param instance The instance to populate, which must not be shared with other threads while it is bound
+     * @param args The arguments to bind to the instance
+     *
+     * @return The given instance
+     * @throws ParseException If the arguments could not be bound to the instance
+     * @throws HelpException thrown if a flag in the args parameter is requesting help
+     */
+    public T bind(T instance, String[] args) throws ParseException, HelpException {
+        reset(instance);
+        context.reset(instance, args);
+
+        try {
+            Parser state = Parser.NEUTRAL;
+
+            // Continue executing the next state until all input has been processed
+            while (state != null) {
+                state = state.execute(context);
+            }
+        } finally {
+            // Parsing may stop before an argument file has been consumed
+            context.getCursor().close();
+        }
+
+        // Stop because help was requested
+        if (context.isHelpRequested()) {
+            throw new HelpException(classType);
+        }
+
+        // Verify that required fields are set
+        context.verify();
+
+        return instance;
+    }
+
+    /**
+     * Restores every field which a bind can write to its default value.
+     *
+     * @param instance The instance to reset
+     * @throws ParseException If a field cannot be written
+     */
+    @SuppressWarnings("unchecked")
+    private void reset(T instance) throws ParseException {
+        FieldModel field = null;
+
+        try {
+            for (int i = 0; i < defaults.length; i++) {
+                field = fields.get(i);
+                Object value = defaults[i];
+
+                if (!(value instanceof Collection)) {
+                    field.getAccessor().set(instance, value);
+                    continue;
+                }
+
+                // Collections are refilled in place because values are added to them rather than replacing them
+                Collection<Object> current = (Collection<Object>) field.getAccessor().get(instance);
+
+                if (current == null) {
+                    field.getAccessor().set(instance, copy((Collection<?>) value, field.getField().getType()));
+                } else if (current != value) {
+                    try {
+                        current.clear();
+
+                        refill(current, (Collection<?>) value);
+                    } catch (UnsupportedOperationException e) {
+                        // Immutable defaults such as List.of(...) are replaced by a copy which later binds can refill
+                        field.getAccessor().set(instance, copy((Collection<?>) value, field.getField().getType()));
+                    }
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            String message = format("Failed to reset field %s", field.getField().getName());
+            throw new InaccessibleFieldException(message, e, classType);
+        }
+    }
+
+    /**
+     * Adds the elements of a default collection to the collection of an instance. Unlike
+     * {@link Collection#addAll(Collection)}, this does not copy the default into an array first, and lists are walked
+     * by index so that no iterator is allocated either.
+     *
+     * @param current The collection of the instance, which is empty
+     * @param value The default collection
+     */
+    private static void refill(Collection<Object> current, Collection<?> value) {
+        if (value.isEmpty()) {
+            return;
+        }
+
+        if (value instanceof List && value instanceof RandomAccess) {
+            List<?> list = (List<?>) value;
+
+            for (int i = 0; i < list.size(); i++) {
+                current.add(list.get(i));
+            }
+        } else {
+            current.addAll(value);
+        }
+    }
+
+    /**
+     * Copies a default collection into a new collection of the same class, or of the class which binding would create
+     * for the field if the default cannot be instantiated.
+     *
+     * @param value The default collection
+     * @param fieldType The declared type of the field
+     *
+     * @return The copy
+     */
+    private static Collection<Object> copy(Collection<?> value, Class<?> fieldType) {
+        Collection<Object> copy;
+
+        try {
+            @SuppressWarnings("unchecked")
+            Collection<Object> instance = (Collection<Object>) value.getClass().getConstructor().newInstance();
+            copy = instance;
+        } catch (ReflectiveOperationException e) {
+            copy = ValueBuffer.newCollection(fieldType);
+        }
+
+        copy.addAll(value);
+        return copy;
+    }
+}
@@ -0,0 +1,127 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UncheckedParseException;
+
+/**
+ * The values of an {@code Iterable}, {@code Stream} or {@code Spliterator} field which are read from standard input
+ * while the field is consumed, see {@link org.voidzero.influx.cli.annotation.Ordered#standardInput()}. Each value is
+ * converted by the parser of the field when it is reached. Standard input can only be consumed once, so only one
+ * iterator can be created.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class StandardInputValues implements Iterable<Object> {
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+
+    private final DelimitedInput input;
+    private final ValueParser parser;
+    private final Class<?> type;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    /**
+     * Creates the values of a field.
+     *
+     * @param input The input to read values from
+     * @param parser The parser which converts each value
+     * @param type The type which each value is converted into
+     */
+    StandardInputValues(DelimitedInput input, ValueParser parser, Class<?> type) {
+        this.input = input;
+        this.parser = parser;
+        this.type = type;
+    }
+
+    /**
+     * Returns an iterator which reads and converts the values as they are requested.
+     *
+     * @return The iterator
+     * @throws IllegalStateException If an iterator has already been created
+     * @throws UncheckedIOException If standard input cannot be read while iterating
+     * @throws UncheckedParseException If a value cannot be converted while iterating
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Standard input can only be read once");
+        }
+
+        return new Iterator<>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = input.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unable to read standard input", e);
+                    }
+                }
+
+                return next != null;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                String value = next;
+                next = null;
+
+                try {
+                    return ValueParsers.parse(parser, value, type);
+                } catch (ParseException e) {
+                    throw new UncheckedParseException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator of unknown size over the values, which creates the only iterator of these values.
+     * Standard input is not read until the spliterator is traversed.
+     *
+     * @return The spliterator
+     * @throws IllegalStateException If an iterator has already been created
+     */
+    @Override
+    public Spliterator<Object> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), CHARACTERISTICS);
+    }
+}
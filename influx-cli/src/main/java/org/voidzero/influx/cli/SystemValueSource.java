@@ -0,0 +1,151 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A snapshot of the environment and the system properties, see {@link ValueSource#system()}. System properties are
+ * read lazily: a property is read the first time it is looked up and the same value is returned from then on, so
+ * binding only pays for the variables which its fields declare. All properties are only copied when the variables
+ * are listed with {@link #forEach(BiConsumer)}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class SystemValueSource implements ValueSource {
+    /**
+     * The environment of a process does not change once it has started, so it is only copied once.
+     */
+    private static final Map<String, String> ENVIRONMENT = Map.copyOf(System.getenv());
+
+    /**
+     * The properties which have been read so far. A property which is not set is recorded as an empty string, which
+     * is treated the same way as an empty property.
+     */
+    private final ConcurrentMap<String, String> properties = new ConcurrentHashMap<>();
+
+    private volatile boolean complete;
+
+    /**
+     * Creates a snapshot which has not read any properties yet.
+     */
+    private SystemValueSource() {
+    }
+
+    /**
+     * Creates a snapshot of the system properties which reads them as they are looked up.
+     *
+     * @return The snapshot
+     */
+    static SystemValueSource snapshot() {
+        return new SystemValueSource();
+    }
+
+    @Override
+    public String get(String name) {
+        String value = property(name);
+
+        // Allow system properties to override environment variables
+        if (!value.isEmpty()) {
+            return value;
+        }
+
+        return ENVIRONMENT.get(name);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        readAll();
+
+        ENVIRONMENT.forEach((name, value) -> {
+            if (property(name).isEmpty()) {
+                action.accept(name, value);
+            }
+        });
+
+        properties.forEach((name, value) -> {
+            if (!value.isEmpty()) {
+                action.accept(name, value);
+            }
+        });
+    }
+
+    /**
+     * Returns the value of the given property as of the first time it was read.
+     *
+     * @param name The name of the property
+     *
+     * @return The value of the property or an empty string if it is not set
+     */
+    private String property(String name) {
+        String value = properties.get(name);
+
+        if (value != null) {
+            return value;
+        }
+
+        // Once every property has been read, properties which are missing were not set
+        if (complete) {
+            return "";
+        }
+
+        String current = System.getProperty(name, "");
+        value = properties.putIfAbsent(name, current);
+
+        return value == null ? current : value;
+    }
+
+    /**
+     * Reads every property which has not been read yet. Properties which have already been read keep their value.
+     */
+    private void readAll() {
+        if (complete) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!complete) {
+                Properties source = System.getProperties();
+
+                for (String name : source.stringPropertyNames()) {
+                    String value = source.getProperty(name);
+
+                    // Properties may be removed while they are copied
+                    if (value != null) {
+                        properties.putIfAbsent(name, value);
+                    }
+                }
+
+                complete = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Accumulates the values of a collection or array field while arguments are being parsed, so that the field is read
+ * and written once at the end of the parse instead of once per value. The buffer grows geometrically, which keeps
+ * accumulating n values linear in n. Values of int, long and double arrays are stored in a primitive array so that
+ * they are never boxed; the storage is chosen by the first value which is added.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class ValueBuffer {
+    private final int capacity;
+    private Object[] values;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private int size;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity The number of values which can be added before the buffer has to grow
+     */
+    ValueBuffer(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    /**
+     * Adds a value to the end of the buffer.
+     *
+     * @param value The value to add
+     */
+    public void add(Object value) {
+        if (values == null) {
+            values = new Object[capacity];
+        } else if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        values[size++] = value;
+    }
+
+    /**
+     * Adds an int to the end of the buffer without boxing it. A buffer only holds values of a single kind, so this
+     * must not be mixed with the other add methods.
+     *
+     * @param value The value to add
+     */
+    public void addInt(int value) {
+        if (ints == null) {
+            ints = new int[capacity];
+        } else if (size == ints.length) {
+            ints = Arrays.copyOf(ints, size * 2);
+        }
+
+        ints[size++] = value;
+    }
+
+    /**
+     * Adds a long to the end of the buffer without boxing it. A buffer only holds values of a single kind, so this
+     * must not be mixed with the other add methods.
+     *
+     * @param value The value to add
+     */
+    public void addLong(long value) {
+        if (longs == null) {
+            longs = new long[capacity];
+        } else if (size == longs.length) {
+            longs = Arrays.copyOf(longs, size * 2);
+        }
+
+        longs[size++] = value;
+    }
+
+    /**
+     * Adds a double to the end of the buffer without boxing it. A buffer only holds values of a single kind, so this
+     * must not be mixed with the other add methods.
+     *
+     * @param value The value to add
+     */
+    public void addDouble(double value) {
+        if (doubles == null) {
+            doubles = new double[capacity];
+        } else if (size == doubles.length) {
+            doubles = Arrays.copyOf(doubles, size * 2);
+        }
+
+        doubles[size++] = value;
+    }
+
+    /**
+     * Removes every value from the buffer. The storage is kept, so a buffer which is reused does not have to grow
+     * again.
+     */
+    void clear() {
+        if (values != null) {
+            Arrays.fill(values, 0, size, null);
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Returns the number of values in the buffer.
+     *
+     * @return The number of values in the buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the buffered values to a collection, creating the collection first if it is null. Primitive values are
+     * boxed.
+     *
+     * @param collection The collection to add to or null
+     * @param collectionType The declared type of the collection, which decides which collection is created
+     * @param <C> The type of the collection
+     *
+     * @return The collection which now contains the buffered values
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Collection<?>> C addTo(C collection, Class<?> collectionType) {
+        Collection<Object> target = (Collection<Object>) collection;
+
+        if (target == null) {
+            target = newCollection(collectionType);
+        }
+
+        if (target instanceof ArrayList) {
+            ((ArrayList<Object>) target).ensureCapacity(target.size() + size);
+        }
+
+        if (values != null) {
+            for (int i = 0; i < size; i++) {
+                target.add(values[i]);
+            }
+        } else if (size > 0) {
+            Object storage = storage();
+
+            for (int i = 0; i < size; i++) {
+                target.add(Array.get(storage, i));
+            }
+        }
+
+        return (C) target;
+    }
+
+    /**
+     * Creates an array which contains the elements of an existing array followed by the buffered values. Values are
+     * copied in bulk when the buffer already stores the component type, otherwise they are unboxed one at a time.
+     *
+     * @param existing The existing array or null
+     * @param componentType The component type of the array
+     *
+     * @return The new array
+     */
+    public Object toArray(Object existing, Class<?> componentType) {
+        int offset = existing == null ? 0 : Array.getLength(existing);
+        Object array = Array.newInstance(componentType, offset + size);
+
+        if (existing != null) {
+            System.arraycopy(existing, 0, array, 0, offset);
+        }
+
+        if (size == 0) {
+            return array;
+        }
+
+        Object storage = storage();
+        Class<?> storedType = storage.getClass().getComponentType();
+
+        // System.arraycopy neither boxes nor unboxes, so mixed arrays are copied element by element
+        if (storedType == componentType || !storedType.isPrimitive() && !componentType.isPrimitive()) {
+            System.arraycopy(storage, 0, array, offset, size);
+        } else {
+            for (int i = 0; i < size; i++) {
+                Array.set(array, offset + i, Array.get(storage, i));
+            }
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns the array which holds the buffered values.
+     *
+     * @return The array which holds the buffered values
+     */
+    private Object storage() {
+        if (ints != null) {
+            return ints;
+        } else if (longs != null) {
+            return longs;
+        } else if (doubles != null) {
+            return doubles;
+        }
+
+        return values;
+    }
+
+    /**
+     * Instantiates a collection of the given type. Outside built-in collections, it is not feasible to determine
+     * which concrete collection type to instantiate.
+     *
+     * @param collectionType The declared type of the collection
+     *
+     * @return The new collection
+     */
+    static Collection<Object> newCollection(Class<?> collectionType) {
+        if (List.class.isAssignableFrom(collectionType)) {
+            return new ArrayList<>();
+        } else if (Set.class.isAssignableFrom(collectionType)) {
+            return new HashSet<>();
+        } else if (Queue.class.isAssignableFrom(collectionType)) {
+            return new LinkedList<>();
+        }
+
+        throw new AssertionError(collectionType.getCanonicalName()
+                + " is not a supported collection type. To work around this, please initialize the field"
+                + " with an empty collection.");
+    }
+}
@@ -0,0 +1,137 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * The buffers of the collection and array fields of a single parse. Each field is assigned a fixed index, and its
+ * buffer is created when the field receives its first value. New buffers are sized from the number of arguments
+ * which have not been parsed yet, because no field can receive more values than that. The raw values of single
+ * valued options are kept here as well, so that only the value which wins is converted once parsing has finished.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public final class ValueBuffers {
+    private static final int MAX_INITIAL_CAPACITY = 8192;
+
+    private final ValueBuffer[] buffers;
+    private ValueBuffer[] spares;
+    private final String[] values;
+    private final ArgumentCursor cursor;
+
+    /**
+     * Creates the buffers for a single parse.
+     *
+     * @param count The number of buffered fields
+     * @param valueCount The number of single valued options
+     * @param cursor The cursor which walks the arguments
+     */
+    ValueBuffers(int count, int valueCount, ArgumentCursor cursor) {
+        this.buffers = new ValueBuffer[count];
+        this.values = new String[valueCount];
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the buffer with the given index, creating it if necessary.
+     *
+     * @param index The index of the buffered field
+     *
+     * @return The buffer
+     */
+    public ValueBuffer get(int index) {
+        ValueBuffer buffer = buffers[index];
+
+        if (buffer == null && spares != null && spares[index] != null) {
+            buffer = spares[index];
+            buffers[index] = buffer;
+        } else if (buffer == null) {
+            // The remaining arguments bound the number of values which the field can receive
+            buffer = new ValueBuffer(Math.min(cursor.remaining() + 1, MAX_INITIAL_CAPACITY));
+            buffers[index] = buffer;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer with the given index if the field has received any values.
+     *
+     * @param index The index of the buffered field
+     *
+     * @return The buffer or null if the field has not received any values
+     */
+    public ValueBuffer find(int index) {
+        return buffers[index];
+    }
+
+    /**
+     * Sets the raw value of the single valued option with the given index, replacing any value which it received
+     * earlier.
+     *
+     * @param index The index of the single valued option
+     * @param value The raw value
+     */
+    public void setValue(int index, String value) {
+        values[index] = value;
+    }
+
+    /**
+     * Returns the raw value of the single valued option with the given index.
+     *
+     * @param index The index of the single valued option
+     *
+     * @return The last value which the option received or null if it has not received one
+     */
+    String getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Empties every buffer so that they can be reused by another parse. The emptied buffers are set aside until
+     * their fields receive a value again, so fields without values are still reported as such by
+     * {@link #find(int)}.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+
+        if (spares == null) {
+            spares = new ValueBuffer[buffers.length];
+        }
+
+        for (int i = 0; i < buffers.length; i++) {
+            ValueBuffer buffer = buffers[i];
+
+            if (buffer != null) {
+                buffer.clear();
+                spares[i] = buffer;
+                buffers[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Converts a single string value into the type of a field. A parser is resolved once per field when the field is
+ * first bound, so converting a value is a single call regardless of how many types are supported. Parsers for types
+ * which are not supported by default can be registered with {@link InfluxCli#register(Class, ValueParser)}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@FunctionalInterface
+public interface ValueParser {
+    /**
+     * Parses a string value. Runtime exceptions which are thrown by this method are reported as a
+     * {@link ParseException} which names the value and the type of the field.
+     *
+     * @param value The string value to parse, which is null for a boolean flag without a value
+     *
+     * @return The parsed value
+     * @throws ParseException If the value cannot be parsed
+     */
+    Object parse(String value) throws ParseException;
+}
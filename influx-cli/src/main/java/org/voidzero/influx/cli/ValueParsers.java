@@ -0,0 +1,172 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.RethrownException;
+import org.voidzero.influx.cli.exception.UnsupportedTypeConversionException;
+
+/**
+ * The table which maps each type to the {@link ValueParser} which converts strings into it. The types which are
+ * supported by default are always converted by their built-in parser. Every other type is converted by a parser
+ * which has been registered with {@link InfluxCli}, or else by the converter which is declared on the field.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+final class ValueParsers {
+    private static final Map<Class<?>, ValueParser> BUILTIN = new HashMap<>();
+
+    static {
+        BUILTIN.put(String.class, value -> value);
+        BUILTIN.put(int.class, value -> BinderSupport.toInt(value, int.class));
+        BUILTIN.put(Integer.class, value -> BinderSupport.toInt(value, Integer.class));
+        BUILTIN.put(short.class, value -> BinderSupport.toShort(value, short.class));
+        BUILTIN.put(Short.class, value -> BinderSupport.toShort(value, Short.class));
+        BUILTIN.put(long.class, value -> BinderSupport.toLong(value, long.class));
+        BUILTIN.put(Long.class, value -> BinderSupport.toLong(value, Long.class));
+        BUILTIN.put(float.class, value -> BinderSupport.toFloat(value, float.class));
+        BUILTIN.put(Float.class, value -> BinderSupport.toFloat(value, Float.class));
+        BUILTIN.put(double.class, value -> BinderSupport.toDouble(value, double.class));
+        BUILTIN.put(Double.class, value -> BinderSupport.toDouble(value, Double.class));
+        BUILTIN.put(byte.class, value -> BinderSupport.toByte(value, byte.class));
+        BUILTIN.put(Byte.class, value -> BinderSupport.toByte(value, Byte.class));
+        BUILTIN.put(BigInteger.class, value -> BinderSupport.toBigInteger(value, BigInteger.class));
+        BUILTIN.put(BigDecimal.class, value -> BinderSupport.toBigDecimal(value, BigDecimal.class));
+        BUILTIN.put(char.class, value -> BinderSupport.toChar(value, char.class));
+        BUILTIN.put(Character.class, value -> BinderSupport.toChar(value, Character.class));
+        BUILTIN.put(boolean.class, value -> BinderSupport.toBoolean(value, boolean.class));
+        BUILTIN.put(Boolean.class, value -> BinderSupport.toBoolean(value, Boolean.class));
+    }
+
+    /**
+     * This class cannot be instantiated.
+     */
+    private ValueParsers() {
+        throw new RuntimeException("This class cannot be instantiated");
+    }
+
+    /**
+     * Returns the built-in parser for the given type.
+     *
+     * @param type The type to parse strings into
+     *
+     * @return The built-in parser or null if the type is not supported by default
+     */
+    static ValueParser builtin(Class<?> type) {
+        return type == null ? null : BUILTIN.get(type);
+    }
+
+    /**
+     * Resolves the parser which should be used when neither a built-in nor a registered parser applies.
+     *
+     * @param type The type to parse strings into
+     * @param converterCache The instances of the converter declared on the field or null if there isn't one
+     *
+     * @return The parser
+     */
+    static ValueParser fallback(Class<?> type, ConverterCache converterCache) {
+        if (converterCache != null) {
+            return value -> read(converterCache.get(), value);
+        }
+
+        return value -> {
+            throw new UnsupportedTypeConversionException("Unsupported type: " + type.getCanonicalName());
+        };
+    }
+
+    /**
+     * Adapts a type converter to the parser interface.
+     *
+     * @param typeConverter The type converter
+     *
+     * @return The parser
+     */
+    static ValueParser of(TypeConverter<?> typeConverter) {
+        return value -> read(typeConverter, value);
+    }
+
+    /**
+     * Resolves the parser for a field: a built-in parser if there is one, then a parser registered for the type of
+     * the field and finally the converter which is declared on the field.
+     *
+     * @param targetType The type to parse strings into, which is the element type for collections and arrays
+     * @param fieldType The declared type of the field, which is used to look up registered parsers
+     * @param converterCache The instances of the converter declared on the field or null if there isn't one
+     * @param valueParsers The registered parsers or null
+     *
+     * @return The parser
+     */
+    static ValueParser resolve(Class<?> targetType, Class<?> fieldType, ConverterCache converterCache,
+                               Map<Class<?>, ValueParser> valueParsers) {
+        ValueParser parser = builtin(targetType);
+
+        if (parser == null && valueParsers != null) {
+            parser = valueParsers.get(fieldType);
+        }
+
+        return parser == null ? fallback(targetType, converterCache) : parser;
+    }
+
+    /**
+     * Parses the given value, reporting runtime failures as a {@link ParseException}.
+     *
+     * @param parser The parser to use
+     * @param value The string value to parse
+     * @param targetType The type which is reported if parsing fails
+     *
+     * @return The parsed value
+     * @throws ParseException If the value cannot be parsed
+     */
+    static Object parse(ValueParser parser, String value, Class<?> targetType) throws ParseException {
+        try {
+            return parser.parse(value);
+        } catch (RuntimeException e) {
+            throw BinderSupport.failure(value, targetType);
+        }
+    }
+
+    /**
+     * Reads a value with a type converter. Any exception which is thrown by the converter is rethrown.
+     *
+     * @param typeConverter The type converter
+     * @param value The string value to convert
+     *
+     * @return The converted value
+     * @throws RethrownException If the converter fails
+     */
+    static Object read(TypeConverter<?> typeConverter, String value) throws RethrownException {
+        try {
+            return typeConverter.read(value);
+        } catch (Exception e) {
+            throw new RethrownException(e);
+        }
+    }
+}
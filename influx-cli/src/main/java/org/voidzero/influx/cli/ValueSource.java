@@ -0,0 +1,95 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Supplies the values of the variables which options read their defaults from, see
+ * {@link org.voidzero.influx.cli.annotation.Arg#environmentVariable()}. Variables are only looked up for the fields
+ * which declare one, and only when the command line does not override them. Commands which declare
+ * {@link org.voidzero.influx.cli.annotation.Command#environmentPrefix()} list the variables instead, see
+ * {@link #forEach(BiConsumer)}. Implementations must be thread-safe.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+@FunctionalInterface
+public interface ValueSource {
+    /**
+     * Returns the value of the variable with the given name.
+     *
+     * @param name The name of the variable
+     *
+     * @return The value of the variable or null if it is not set
+     */
+    String get(String name);
+
+    /**
+     * Passes each variable and its value to the given action. Sources which cannot list their variables list none,
+     * in which case options are only bound to the variables which they declare.
+     *
+     * @param action The action which receives the name and the value of each variable
+     */
+    default void forEach(BiConsumer<? super String, ? super String> action) {
+    }
+
+    /**
+     * Returns a snapshot of the environment and the system properties. System properties take precedence over
+     * environment variables unless they are empty. The environment of the process is copied once. Each snapshot reads
+     * a system property the first time it is looked up and keeps that value, so creating a snapshot is cheap and
+     * properties which change after they were first read are not seen.
+     *
+     * @return The snapshot
+     */
+    static ValueSource system() {
+        return SystemValueSource.snapshot();
+    }
+
+    /**
+     * Returns a source which contains a copy of the given variables, which is mostly useful in tests.
+     *
+     * @param variables The values of the variables keyed by name
+     *
+     * @return The source
+     */
+    static ValueSource of(Map<String, String> variables) {
+        Map<String, String> copy = Map.copyOf(variables);
+
+        return new ValueSource() {
+            @Override
+            public String get(String name) {
+                return copy.get(name);
+            }
+
+            @Override
+            public void forEach(BiConsumer<? super String, ? super String> action) {
+                copy.forEach(action);
+            }
+        };
+    }
+}
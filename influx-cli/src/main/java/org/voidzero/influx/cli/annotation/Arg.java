@@ -120,7 +120,8 @@ public @interface Arg {
 
     /**
      * This is only necessary if the field is a type that is not supported by default. In that case, this type is
-     * instantiated and used to parse the value.
+     * instantiated and used to parse the value. The converter is instantiated once per thread, or once in total if
+     * it is annotated with {@link ThreadSafeConverter}.
      *
      * @return The class of the ValueParser to use.
      */
@@ -75,4 +75,16 @@ public @interface Command {
      * @return The tokens which should trigger the display of the help message.
      */
     String[] helpTokens() default {"-h", "--help"};
+
+    /**
+     * The prefix of the variables which options read their defaults from when they do not declare
+     * {@link Arg#environmentVariable()}. The name of the variable of each option is the prefix followed by its long
+     * flag, upper-cased and with hyphens replaced by underscores, so with the prefix "APP_" the option
+     * {@code --max-retries} reads {@code APP_MAX_RETRIES}. The variables are listed once per bind and each is matched
+     * against an index of the options, so the cost depends on the number of variables rather than the number of
+     * options. Defaults to empty string, which disables this.
+     *
+     * @return The prefix of the variables or empty string if options are not bound by convention
+     */
+    String environmentPrefix() default "";
 }
@@ -74,14 +74,27 @@ public @interface Ordered {
     /**
      * This is only necessary if the field is a collection. In that case, this is the type of the objects which the
      * collection will contain. This is necessary because of Java type erasure. Generics are not available at runtime.
+     * Fields of type {@code Iterable}, {@code Stream} or {@code Spliterator} are collections whose values are only
+     * converted into this type when they are consumed, so they can receive very large numbers of values.
      *
      * @return The type of the objects which the collection will contain.
      */
     Class<?> collectionType() default Object.class;
 
+    /**
+     * Reads the values of a collection, an array or a lazily converted {@code Iterable}, {@code Stream} or
+     * {@code Spliterator} from standard input if the command line does not contain any values for it. Collections and
+     * arrays are populated before binding returns. Lazily converted fields read and convert their values while they
+     * are consumed, so the application can start processing them while they are still arriving. Only one field of a
+     * class may read standard input.
+     *
+     * @return How values are read from standard input.
+     */
+    StandardInput standardInput() default StandardInput.NONE;
 
     /**
-     * The parser to use for this option. This is only necessary when the field type is not supported.
+     * The parser to use for this option. This is only necessary when the field type is not supported. The parser is
+     * instantiated once per thread, or once in total if it is annotated with {@link ThreadSafeConverter}.
      *
      * @return The parser to use for this option.
      */
@@ -38,12 +38,12 @@ public class HelpException extends Exception {
     private final Class<?> classType;
 
     /**
-     * Default no-arg constructor.
+     * Default no-arg constructor. A help request is not an error, so the stack trace is not recorded.
      *
      * @param classType the class type for which help was requested
      */
     public HelpException(final Class<?> classType) {
-        super();
+        super(null, null, false, false);
         this.classType = classType;
     }
 
@@ -63,17 +63,34 @@ public class ParseException extends Exception {
         this.value = value;
     }
 
+    /**
+     * Constructs a new exception with the specified field, value, and message, which optionally does not record a
+     * stack trace. The library reports invalid input with exceptions which do not record a stack trace, because they
+     * are shown to the user by their message and filling in the stack trace dominates the cost of rejecting input.
+     *
+     * @param field The field which could not be populated or null
+     * @param value The value that could not be parsed or null
+     * @param message The message to include in the exception
+     * @param writableStackTrace False if the stack trace should not be recorded
+     */
+    public ParseException(Field field, String value, String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+        this.field = field;
+        this.value = value;
+    }
+
     /**
      * Returns the exit status which should be passed back to the shell
      * for this exception. Allowing this to be different on a field by
      * field basis can allow shell programs to determine which fields
-     * were invalid.
+     * were invalid. Fields which do not declare an exit status report {@link #DEFAULT_ERROR_EXIT_STATUS}.
      *
      * @return The exit status which should be passed back to the shell
      */
     public int getExitStatus() {
-        if (field != null && field.isAnnotationPresent(Arg.class)) {
-            Arg arg = field.getAnnotation(Arg.class);
+        Arg arg = field == null ? null : field.getAnnotation(Arg.class);
+
+        if (arg != null && arg.exitStatus() != 0) {
             return arg.exitStatus();
         }
 
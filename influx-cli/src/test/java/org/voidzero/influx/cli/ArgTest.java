@@ -295,6 +295,17 @@ public class ArgTest {
         assertTrue(config.getHelp());
     }
 
+    @Test
+    public void testShortNameWithAttachedValue() throws ParseException, HelpException {
+        String[] args = {"-HBs1234"};
+        TwoBooleanAndShort config = (TwoBooleanAndShort) new InfluxCli().bind(TwoBooleanAndShort.class, args);
+        assertNotNull(config);
+
+        assertEquals(Short.valueOf((short) 1234), config.getShortValue());
+        assertTrue(config.getBooleanValue());
+        assertTrue(config.getHelp());
+    }
+
     @Test
     public void testBooleanDefaultFalse() throws ParseException, HelpException {
         String[] args = {};
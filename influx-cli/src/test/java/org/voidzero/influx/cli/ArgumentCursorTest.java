@@ -0,0 +1,130 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link ArgumentCursor}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ArgumentCursorTest {
+
+    @Test
+    public void testArgumentsAreNotCopied() {
+        String[] args = {"--name", "value"};
+        ArgumentCursor cursor = new ArgumentCursor(args, 0);
+
+        assertSame(args[0], cursor.nextFlag());
+        assertEquals(2, cursor.getFlagStart());
+        assertEquals(6, cursor.getFlagEnd());
+        assertNull(cursor.takeInlineValue());
+        assertSame(args[1], cursor.next());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testInlineValue() {
+        String[] args = {"--name=a=b", "--empty="};
+        ArgumentCursor cursor = new ArgumentCursor(args, 0);
+
+        cursor.nextFlag();
+        assertEquals("name", args[0].substring(cursor.getFlagStart(), cursor.getFlagEnd()));
+        assertEquals("a=b", cursor.takeInlineValue());
+        assertNull(cursor.takeInlineValue());
+
+        cursor.nextFlag();
+        assertEquals("empty", args[1].substring(cursor.getFlagStart(), cursor.getFlagEnd()));
+        assertEquals("", cursor.takeInlineValue());
+    }
+
+    @Test
+    public void testOffset() {
+        ArgumentCursor cursor = new ArgumentCursor(new String[]{"sub", "-x"}, 1);
+
+        assertEquals("-x", cursor.peek());
+        assertEquals("-x", cursor.nextFlag());
+        assertEquals(1, cursor.getFlagStart());
+        assertEquals(2, cursor.getFlagEnd());
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testClusterIsExpandedInPlace() {
+        ArgumentCursor cursor = new ArgumentCursor(new String[]{"-ab", "next"}, 0);
+        cursor.startCluster();
+
+        assertTrue(cursor.isInCluster());
+        assertEquals("-a", cursor.nextFlag());
+        assertTrue(cursor.isInCluster());
+        assertEquals("-b", cursor.nextFlag());
+        assertFalse(cursor.isInCluster());
+        assertEquals("next", cursor.next());
+    }
+
+    @Test
+    public void testClusterFlagsAreCached() {
+        ArgumentCursor first = new ArgumentCursor(new String[]{"-vq"}, 0);
+        ArgumentCursor second = new ArgumentCursor(new String[]{"-qv"}, 0);
+        first.startCluster();
+        second.startCluster();
+
+        String flag = first.nextFlag();
+        second.nextFlag();
+
+        assertSame(flag, second.nextFlag());
+    }
+
+    @Test
+    public void testRemainingCluster() {
+        ArgumentCursor cursor = new ArgumentCursor(new String[]{"-vj8", "in.txt"}, 0);
+        cursor.startCluster();
+
+        assertEquals("-v", cursor.nextFlag());
+        assertEquals("-j", cursor.nextFlag());
+        assertEquals("8", cursor.remainingCluster());
+        assertFalse(cursor.isInCluster());
+        assertEquals("in.txt", cursor.next());
+    }
+
+    @Test
+    public void testNonAsciiClusterFlag() {
+        ArgumentCursor cursor = new ArgumentCursor(new String[]{"-éè"}, 0);
+        cursor.startCluster();
+
+        assertEquals("-é", cursor.nextFlag());
+        assertEquals("-è", cursor.nextFlag());
+        assertFalse(cursor.hasNext());
+    }
+}
@@ -0,0 +1,333 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link ArgumentFile} and for expanding argument files while binding.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ArgumentFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWhitespaceAndQuoting() throws IOException {
+        Path path = write("--name 'a b'\n\t\"c \\\"d\\\" \\e\"  f\\ g\r\nh\\\ni '' \n");
+
+        assertEquals(Arrays.asList("--name", "a b", "c \"d\" \\e", "f g", "hi", ""), tokens(path, 1024));
+    }
+
+    @Test
+    public void testNulDelimited() throws IOException {
+        Path path = write("a b\0'c'\0\0d\ne\0");
+
+        assertEquals(Arrays.asList("a b", "'c'", "d\ne"), tokens(path, 1024));
+    }
+
+    @Test
+    public void testTokensSpanWindows() throws IOException {
+        Path path = write("première 'deuxième fois' troisième\n");
+
+        assertEquals(Arrays.asList("première", "deuxième fois", "troisième"), tokens(path, 3));
+        assertEquals(Arrays.asList("première", "deuxième fois", "troisième"), tokens(path, 1));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertEquals(new ArrayList<>(), tokens(write(""), 1024));
+        assertEquals(new ArrayList<>(), tokens(write(" \n\n"), 1024));
+    }
+
+    @Test
+    public void testUnterminatedQuote() throws IOException {
+        try (ArgumentFile file = new ArgumentFile(write("a \"b c"))) {
+            assertEquals("a", file.next());
+            file.next();
+            fail("The quote was not terminated");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unterminated quote in argument file"));
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testBackslashAtEndOfDoubleQuote() throws IOException {
+        try (ArgumentFile file = new ArgumentFile(write("a \"b\\"))) {
+            assertEquals("a", file.next());
+            file.next();
+            fail("The quote was not terminated");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unterminated quote in argument file"));
+        }
+    }
+
+    @Test
+    public void testLiteralLines() throws IOException {
+        Path path = write("a b\r\n'c'\n\n\"d\\\"\r\n\r\ne\0f");
+
+        assertEquals(Arrays.asList("a b", "'c'", "\"d\\\"", "e\0f"), tokens(path, ArgumentFileFormat.NEWLINE, 1024));
+        assertEquals(Arrays.asList("a b", "'c'", "\"d\\\"", "e\0f"), tokens(path, ArgumentFileFormat.NEWLINE, 1));
+    }
+
+    @Test
+    public void testLiteralNul() throws IOException {
+        Path path = write("a b\n'c'\0\0\"d\\\"\0");
+
+        assertEquals(Arrays.asList("a b\n'c'", "\"d\\\""), tokens(path, ArgumentFileFormat.NUL, 1024));
+    }
+
+    @Test
+    public void testLiteralFormatWhileBinding() throws IOException, ParseException, HelpException {
+        Path path = write("src/it's here.txt\nsrc/\"quoted\" \\ name.txt\n");
+
+        Job job = (Job) new InfluxCli().setExpandArgumentFiles(true).setArgumentFileFormat(ArgumentFileFormat.NEWLINE)
+                .bind(Job.class, new String[]{"first", "@" + path});
+
+        assertEquals("first", job.target);
+        assertEquals(Arrays.asList("src/it's here.txt", "src/\"quoted\" \\ name.txt"), job.inputs);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws ParseException, HelpException {
+        Job job = (Job) new InfluxCli().bind(Job.class, new String[]{"--name", "@release"});
+
+        assertEquals("@release", job.name);
+    }
+
+    @Test
+    public void testFlagsAndOrderedValuesFromFile() throws IOException, ParseException, HelpException {
+        Path path = write("--name nightly\n--retries 3\nsrc/a.txt\n'src/b c.txt'\n");
+
+        Job job = (Job) new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{
+            "first", "@" + path, "last", "-v"
+        });
+
+        assertEquals("nightly", job.name);
+        assertEquals(3, job.retries);
+        assertTrue(job.verbose);
+        assertEquals("first", job.target);
+        assertEquals(Arrays.asList("src/a.txt", "src/b c.txt", "last"), job.inputs);
+    }
+
+    @Test
+    public void testValuesFileForCollectionOption() throws IOException, ParseException, HelpException {
+        Path path = write("-x\0--y\0z\0");
+
+        Job job = (Job) new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{
+            "--exclude", "@" + path, "--exclude", "w", "--name", "n"
+        });
+
+        assertArrayEquals(new String[]{"-x", "--y", "z", "w"}, job.excludes);
+        assertEquals("n", job.name);
+    }
+
+    @Test
+    public void testValueOfSingleValuedOption() throws IOException, ParseException, HelpException {
+        Path path = write("nightly --retries 2");
+
+        Job job = (Job) new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{
+            "--name", "@" + path
+        });
+
+        assertEquals("nightly", job.name);
+        assertEquals(2, job.retries);
+    }
+
+    @Test
+    public void testMissingFile() {
+        try {
+            new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{"@missing.txt"});
+            fail("The argument file does not exist");
+        } catch (ParseException e) {
+            assertEquals("Unable to read argument file missing.txt", e.getMessage());
+        } catch (HelpException e) {
+            fail("Help was not requested");
+        }
+    }
+
+    @Test
+    public void testSubCommandsInChain() throws IOException, ParseException, HelpException {
+        Path path = write("run --name nightly one two");
+
+        CommandChain chain = new InfluxCli().setExpandArgumentFiles(true).bindChain(Root.class, new String[]{
+            "@" + path
+        });
+
+        Job job = chain.getInstance(Job.class);
+        assertEquals("nightly", job.name);
+        assertEquals("one", job.target);
+        assertEquals(Arrays.asList("two"), job.inputs);
+    }
+
+    @Test
+    public void testHelpInFile() throws IOException, ParseException {
+        Path path = write("--help --name nightly");
+
+        try {
+            new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{"@" + path});
+            fail("Help was requested");
+        } catch (HelpException e) {
+            assertEquals(Job.class, e.getClassType());
+        }
+    }
+
+    @Test
+    public void testLargeFile() throws IOException, ParseException, HelpException {
+        Path path = folder.newFile().toPath();
+        int count = 100_000;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("--name large target\n");
+
+            for (int i = 0; i < count; i++) {
+                writer.write("/data/" + i + ".log\n");
+            }
+        }
+
+        Job job = (Job) new InfluxCli().setExpandArgumentFiles(true).bind(Job.class, new String[]{"@" + path});
+
+        assertEquals(count, job.inputs.size());
+        assertEquals("/data/99999.log", job.inputs.get(count - 1));
+        assertNull(job.excludes);
+    }
+
+    /**
+     * Writes the given content to a temporary file.
+     *
+     * @param content The content of the file
+     *
+     * @return The location of the file
+     * @throws IOException If the file cannot be written
+     */
+    private Path write(String content) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    /**
+     * Reads every token of the given file.
+     *
+     * @param path The location of the file
+     * @param windowSize The number of bytes which are mapped at once
+     *
+     * @return The tokens
+     * @throws IOException If the file cannot be read
+     */
+    private static List<String> tokens(Path path, long windowSize) throws IOException {
+        return tokens(path, ArgumentFileFormat.QUOTED, windowSize);
+    }
+
+    /**
+     * Reads every token of the given file in the given format.
+     *
+     * @param path The location of the file
+     * @param format The format of the file
+     * @param windowSize The number of bytes which are mapped at once
+     *
+     * @return The tokens
+     * @throws IOException If the file cannot be read
+     */
+    private static List<String> tokens(Path path, ArgumentFileFormat format, long windowSize) throws IOException {
+        List<String> tokens = new ArrayList<>();
+
+        try (ArgumentFile file = new ArgumentFile(path, format, windowSize)) {
+            for (String token = file.next(); token != null; token = file.next()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * A command with sub-commands.
+     */
+    public static class Root {
+        Job run;
+
+        /**
+         * Default constructor.
+         */
+        public Root() {
+        }
+    }
+
+    /**
+     * A job which processes many files.
+     */
+    @Command(name = "run")
+    public static class Job {
+        @Arg
+        String name;
+
+        @Arg
+        int retries;
+
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(flag = "exclude", collectionType = String.class)
+        String[] excludes;
+
+        @Ordered(order = 0)
+        String target;
+
+        @Ordered(order = 1, collectionType = String.class)
+        List<String> inputs;
+
+        /**
+         * Default constructor.
+         */
+        public Job() {
+        }
+    }
+}
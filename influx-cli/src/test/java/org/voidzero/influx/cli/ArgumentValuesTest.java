@@ -0,0 +1,210 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UncheckedParseException;
+
+/**
+ * Tests for {@code Iterable}, {@code Stream} and {@code Spliterator} fields, whose values are converted lazily.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ArgumentValuesTest {
+
+    @Test
+    public void testIterable() throws ParseException, HelpException {
+        Copy copy = (Copy) new InfluxCli().bind(Copy.class, new String[]{"a.txt", "-v", "b.txt", "--exclude", "x"});
+
+        assertEquals(Arrays.asList("a.txt", "b.txt"), list(copy.paths));
+        assertEquals(Arrays.asList("x"), list(copy.excludes));
+
+        // The values are kept, so they can be iterated again
+        assertEquals(Arrays.asList("a.txt", "b.txt"), list(copy.paths));
+    }
+
+    @Test
+    public void testFieldWithoutValues() throws ParseException, HelpException {
+        Copy copy = (Copy) new InfluxCli().bind(Copy.class, new String[]{"-v"});
+
+        assertNull(copy.paths);
+        assertNull(copy.excludes);
+    }
+
+    @Test
+    public void testValuesAreConvertedWhenConsumed() throws ParseException, HelpException {
+        Sizes sizes = (Sizes) new InfluxCli().bind(Sizes.class, new String[]{"1", "2", "three"});
+
+        Spliterator<Integer> spliterator = sizes.sizes.spliterator();
+        List<Integer> values = new ArrayList<>();
+
+        assertTrue(spliterator.tryAdvance(values::add));
+        assertTrue(spliterator.tryAdvance(values::add));
+        assertEquals(Arrays.asList(1, 2), values);
+
+        try {
+            spliterator.tryAdvance(values::add);
+            fail("The value is not a number");
+        } catch (UncheckedParseException e) {
+            assertTrue(e.getCause().getMessage().startsWith("Failed to parse string three into an instance of"));
+        }
+    }
+
+    @Test
+    public void testSpliteratorIsSizedAndSplitsEvenly() throws ParseException, HelpException {
+        Spliterator<Long> spliterator = ((Totals) new InfluxCli().bind(Totals.class, range(10))).totals;
+
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(10, spliterator.getExactSizeIfKnown());
+
+        Spliterator<Long> prefix = spliterator.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(5, prefix.getExactSizeIfKnown());
+        assertEquals(5, spliterator.getExactSizeIfKnown());
+
+        List<Long> values = new ArrayList<>();
+        prefix.forEachRemaining(values::add);
+        spliterator.forEachRemaining(values::add);
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), values);
+    }
+
+    @Test
+    public void testSingleValueDoesNotSplit() throws ParseException, HelpException {
+        Spliterator<Long> spliterator = ((Totals) new InfluxCli().bind(Totals.class, range(1))).totals;
+
+        assertNull(spliterator.trySplit());
+        assertEquals(1, spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    public void testParallelStream() throws ParseException, HelpException {
+        int count = 1_000_000;
+        Sizes sizes = (Sizes) new InfluxCli().bind(Sizes.class, range(count));
+
+        List<Integer> values = sizes.sizes.parallel().collect(Collectors.toList());
+
+        assertEquals(count, values.size());
+        assertEquals(Integer.valueOf(0), values.get(0));
+        assertEquals(Integer.valueOf(count - 1), values.get(count - 1));
+    }
+
+    /**
+     * Returns the numbers from zero up to the given count as arguments.
+     *
+     * @param count The number of arguments
+     *
+     * @return The arguments
+     */
+    private static String[] range(int count) {
+        String[] args = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            args[i] = String.valueOf(i);
+        }
+
+        return args;
+    }
+
+    /**
+     * Copies the values of an iterable into a list.
+     *
+     * @param values The values to copy
+     *
+     * @return The list
+     */
+    private static List<String> list(Iterable<String> values) {
+        List<String> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * Copies files which are passed as ordered arguments.
+     */
+    public static class Copy {
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(flag = "exclude", collectionType = String.class)
+        Iterable<String> excludes;
+
+        @Ordered(order = 0, collectionType = String.class)
+        Iterable<String> paths;
+
+        /**
+         * Default constructor.
+         */
+        public Copy() {
+        }
+    }
+
+    /**
+     * Streams numbers which are passed as ordered arguments.
+     */
+    public static class Sizes {
+        @Ordered(order = 0, collectionType = Integer.class)
+        Stream<Integer> sizes;
+
+        /**
+         * Default constructor.
+         */
+        public Sizes() {
+        }
+    }
+
+    /**
+     * Traverses numbers which are passed as ordered arguments.
+     */
+    public static class Totals {
+        @Ordered(order = 0, collectionType = Long.class)
+        Spliterator<Long> totals;
+
+        /**
+         * Default constructor.
+         */
+        public Totals() {
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that {@link InfluxCli#bindAll(Iterable, Class, java.util.concurrent.Executor)} binds in parallel and returns
+ * the results in input order.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class BindAllTest {
+
+    @Test
+    public void testResultsAreInInputOrder() {
+        List<String[]> argsList = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            // Every seventh line is malformed and every hundredth requests help
+            if (i % 100 == 0) {
+                argsList.add(new String[]{"--help"});
+            } else {
+                argsList.add(new String[]{"--id", i % 7 == 0 ? "x" + i : Integer.toString(i)});
+            }
+        }
+
+        List<BindResult> results = new InfluxCli().bindAll(argsList, Job.class).collect(Collectors.toList());
+
+        assertEquals(argsList.size(), results.size());
+
+        for (int i = 0; i < results.size(); i++) {
+            BindResult result = results.get(i);
+
+            if (i % 100 == 0) {
+                assertTrue(result.isHelpRequested());
+                assertEquals(Job.class, ((HelpException) result.getException()).getClassType());
+            } else if (i % 7 == 0) {
+                assertFalse(result.isSuccess());
+                assertNull(result.getInstance());
+                assertEquals("Failed to parse string x" + i + " into an instance of class int",
+                        ((ParseException) result.getException()).getMessage());
+            } else {
+                assertTrue(result.isSuccess());
+                assertEquals(i, ((Job) result.getInstance()).id);
+            }
+        }
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger tasks = new AtomicInteger();
+        List<String[]> argsList = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            argsList.add(new String[]{"--id", Integer.toString(i)});
+        }
+
+        try {
+            long sum = new InfluxCli().bindAll(argsList, Job.class, task -> {
+                tasks.incrementAndGet();
+                executor.execute(task);
+            }).mapToLong(result -> ((Job) result.getInstance()).id).sum();
+
+            assertEquals(999 * 1000 / 2, sum);
+            assertEquals((1000 + BatchIterator.CHUNK_SIZE - 1) / BatchIterator.CHUNK_SIZE, tasks.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInputIsReadLazily() {
+        AtomicInteger produced = new AtomicInteger();
+        Iterable<String[]> endless = () -> new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String[] next() {
+                return new String[]{"--id", Integer.toString(produced.getAndIncrement())};
+            }
+        };
+
+        List<BindResult> first = new InfluxCli().bindAll(endless, Job.class).limit(10).collect(Collectors.toList());
+
+        assertEquals(9, ((Job) first.get(9).getInstance()).id);
+        assertTrue(produced.get() <= BatchIterator.CHUNK_SIZE * BatchIterator.MAX_CHUNKS_IN_FLIGHT * 2);
+    }
+
+    @Test
+    public void testEmptyInput() {
+        assertEquals(0, new InfluxCli().bindAll(new ArrayList<>(), Job.class).count());
+    }
+
+    /**
+     * A job from a manifest.
+     */
+    public static class Job {
+        @Arg
+        int id;
+
+        /**
+         * Default constructor.
+         */
+        public Job() {
+        }
+    }
+}
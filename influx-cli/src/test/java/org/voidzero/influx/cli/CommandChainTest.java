@@ -0,0 +1,217 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for binding the options of a command and its sub-commands with {@link InfluxCli#bindChain(Class, String[])}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class CommandChainTest {
+
+    @Test
+    public void testParentOptionsAreKept() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{
+            "--verbose", "remote", "add", "origin", "--config", "a", "-u", "https://example.com", "--config", "b"
+        });
+
+        assertEquals(3, chain.size());
+        assertTrue(chain.getInstance(Git.class).verbose);
+        assertEquals(Arrays.asList("a", "b"), chain.getInstance(Git.class).config);
+        assertSame(chain.getLeaf().getInstance(), chain.getInstance());
+        assertEquals("origin", chain.getInstance(Add.class).name);
+        assertEquals("https://example.com", chain.getInstance(Add.class).url);
+        assertNull(chain.getInstance(Status.class));
+    }
+
+    @Test
+    public void testClusterSpansLevels() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{"remote", "-vq"});
+
+        assertTrue(chain.getInstance(Git.class).verbose);
+        assertTrue(chain.getInstance(Remote.class).quiet);
+    }
+
+    @Test
+    public void testClosestDeclarationWins() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{
+            "--url", "root", "remote", "add", "--url", "leaf"
+        });
+
+        assertEquals("root", chain.getInstance(Git.class).url);
+        assertEquals("leaf", chain.getInstance(Add.class).url);
+    }
+
+    @Test
+    public void testWithoutSubCommand() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{"--verbose"});
+
+        assertEquals(1, chain.size());
+        assertTrue(((Git) chain.getInstance()).verbose);
+    }
+
+    @Test
+    public void testPositionalValueStopsRouting() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{"status", "remote"});
+
+        assertEquals(2, chain.size());
+        assertEquals("remote", chain.getInstance(Status.class).path);
+    }
+
+    @Test
+    public void testUnknownFlagIsIgnored() throws ParseException, HelpException {
+        CommandChain chain = new InfluxCli().bindChain(Git.class, new String[]{"status", "--unknown", "x", "-v"});
+
+        assertTrue(chain.getInstance(Git.class).verbose);
+        assertNull(chain.getInstance(Status.class).path);
+    }
+
+    @Test
+    public void testRequiredParentOption() throws HelpException {
+        try {
+            new InfluxCli().bindChain(Required.class, new String[]{"status"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Required argument --token is not set", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testHelpNamesSelectedSubCommand() throws ParseException {
+        try {
+            new InfluxCli().bindChain(Git.class, new String[]{"--verbose", "status", "--help"});
+            fail("Expected a HelpException");
+        } catch (HelpException e) {
+            assertEquals(Status.class, e.getClassType());
+        }
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively.
+     */
+    public static class Git {
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(collectionType = String.class)
+        List<String> config;
+
+        @Arg
+        String url;
+
+        Remote remote;
+
+        Status status;
+
+        /**
+         * Default constructor.
+         */
+        public Git() {
+        }
+    }
+
+    /**
+     * Manages remotes.
+     */
+    @Command(name = "remote")
+    public static class Remote {
+        @Arg(code = 'q')
+        boolean quiet;
+
+        Add add;
+
+        /**
+         * Default constructor.
+         */
+        public Remote() {
+        }
+    }
+
+    /**
+     * Adds a remote.
+     */
+    @Command(name = "add")
+    public static class Add {
+        @Ordered(order = 0)
+        String name;
+
+        @Arg(code = 'u')
+        String url;
+
+        /**
+         * Default constructor.
+         */
+        public Add() {
+        }
+    }
+
+    /**
+     * Shows the status of a path.
+     */
+    @Command(name = "status")
+    public static class Status {
+        @Ordered(order = 0)
+        String path;
+
+        /**
+         * Default constructor.
+         */
+        public Status() {
+        }
+    }
+
+    /**
+     * A command with a required option and a sub-command.
+     */
+    public static class Required {
+        @Arg(required = true)
+        String token;
+
+        Status status;
+
+        /**
+         * Default constructor.
+         */
+        public Required() {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.DuplicateOptionException;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link CommandModel}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class CommandModelTest {
+
+    @Test
+    public void testModelIsCachedPerClass() {
+        assertSame(CommandModel.of(ModelConfig.class), CommandModel.of(ModelConfig.class));
+    }
+
+    @Test
+    public void testHelpTokens() {
+        CommandModel<ModelConfig> model = CommandModel.of(ModelConfig.class);
+        assertTrue(model.isHelpToken("-?"));
+        assertFalse(model.isHelpToken("--help"));
+        assertTrue(CommandModel.of(DuplicateConfig.class).isHelpToken("--help"));
+    }
+
+    @Test
+    public void testFieldsAreIndexed() {
+        CommandModel<ModelConfig> model = CommandModel.of(ModelConfig.class);
+        assertSame(model.getNamedField("name"), model.getNamedField("n"));
+        assertEquals(2, model.getOrderedFields().size());
+        assertEquals("first", model.getOrderedFields().get(0).getField().getName());
+        assertEquals(1, model.getRequiredFields().size());
+        assertEquals(1, model.getBooleanFields().size());
+        assertNull(model.getNamedField("ignored"));
+    }
+
+    @Test
+    public void testOptionsExcludeIgnoredAndOrderedFields() {
+        List<OptionInfo> options = CommandModel.of(ModelConfig.class).getOptions();
+        assertEquals(2, options.size());
+        assertEquals("name", options.get(0).getFlag());
+        assertEquals("verbose", options.get(1).getFlag());
+    }
+
+    @Test
+    public void testRepeatedBindsShareModel() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli();
+
+        for (int i = 0; i < 3; i++) {
+            ModelConfig config = (ModelConfig) influxCli.bind(ModelConfig.class, new String[]{"-n", "n" + i, "a", "b"});
+            assertEquals("n" + i, config.name);
+            assertEquals("a", config.first);
+            assertEquals("b", config.second);
+        }
+    }
+
+    @Test
+    public void testDuplicatesDoNotPreventHelp() {
+        String help = InfluxCli.help(DuplicateConfig.class);
+        assertTrue(help.contains("--value"));
+    }
+
+    @Test(expected = DuplicateOptionException.class)
+    public void testDuplicatesPreventBinding() throws ParseException, HelpException {
+        new InfluxCli().bind(DuplicateConfig.class, new String[]{});
+    }
+
+    @Command(helpTokens = {"-?"})
+    private static class ModelConfig {
+        @Arg(code = 'n', required = true)
+        private String name;
+
+        private boolean verbose;
+
+        @Ignore
+        private String ignored;
+
+        @Ordered(order = 1)
+        private String second;
+
+        @Ordered(order = 0)
+        private String first;
+
+        public ModelConfig() {
+        }
+    }
+
+    private static class DuplicateConfig {
+        @Arg(flag = "value")
+        private String firstValue;
+
+        @Arg(flag = "value")
+        private String secondValue;
+
+        public DuplicateConfig() {
+        }
+    }
+}
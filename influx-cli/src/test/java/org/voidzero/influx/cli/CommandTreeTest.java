@@ -0,0 +1,185 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link CommandTree} and for routing arguments to nested sub-commands.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class CommandTreeTest {
+
+    @Test
+    public void testTreeIsCompiledOnce() {
+        assertSame(CommandTree.of(Root.class), CommandTree.of(Root.class));
+        assertSame(CommandTree.of(Level1.class), CommandTree.of(Root.class).find("level1"));
+    }
+
+    @Test
+    public void testFind() {
+        CommandTree root = CommandTree.of(Root.class);
+
+        assertEquals(Level1.class, root.find("level1").getClassType());
+        assertEquals(Level3.class, root.find("level1").find("level2").find("level3").getClassType());
+        assertNull(root.find("level2"));
+        assertNull(root.find("unknown"));
+    }
+
+    @Test
+    public void testFirstDeclaredNameWins() {
+        assertEquals(Level1.class, CommandTree.of(Root.class).find("level1").getClassType());
+        assertNull(CommandTree.of(Root.class).find("other"));
+    }
+
+    @Test
+    public void testRouteThroughFourLevels() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(Root.class, new String[]{
+            "level1", "level2", "level3", "--depth", "3"
+        });
+
+        assertEquals(3, ((Level3) context.getInstance()).depth);
+    }
+
+    @Test
+    public void testUnknownNameIsBoundToParent() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(Root.class, new String[]{"level1", "level3"});
+
+        assertTrue(context.getInstance() instanceof Level1);
+        assertEquals("level3", ((Level1) context.getInstance()).name);
+    }
+
+    @Test
+    public void testRecursiveCommand() throws ParseException, HelpException {
+        ParseContext<?> context = new InfluxCli().bindContext(Recursive.class, new String[]{
+            "again", "again", "--count", "2"
+        });
+
+        assertEquals(2, ((Recursive) context.getInstance()).count);
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively.
+     */
+    public static class Root {
+        Level1 level1;
+
+        Other other;
+
+        /**
+         * Default constructor.
+         */
+        public Root() {
+        }
+    }
+
+    /**
+     * The first level of sub-commands.
+     */
+    @Command(name = "level1")
+    public static class Level1 {
+        Level2 level2;
+
+        @Ordered(order = 0)
+        String name;
+
+        /**
+         * Default constructor.
+         */
+        public Level1() {
+        }
+    }
+
+    /**
+     * A sub-command whose name is shadowed by {@link Level1}.
+     */
+    @Command(name = "level1")
+    public static class Other {
+        /**
+         * Default constructor.
+         */
+        public Other() {
+        }
+    }
+
+    /**
+     * The second level of sub-commands.
+     */
+    @Command(name = "level2")
+    public static class Level2 {
+        Level3 level3;
+
+        /**
+         * Default constructor.
+         */
+        public Level2() {
+        }
+    }
+
+    /**
+     * The third level of sub-commands.
+     */
+    @Command(name = "level3")
+    public static class Level3 {
+        @Arg
+        int depth;
+
+        /**
+         * Default constructor.
+         */
+        public Level3() {
+        }
+    }
+
+    /**
+     * A command which is its own sub-command.
+     */
+    @Command(name = "again")
+    public static class Recursive {
+        Recursive again;
+
+        @Arg
+        int count;
+
+        /**
+         * Default constructor.
+         */
+        public Recursive() {
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.ThreadSafeConverter;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link ConverterCache}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ConverterCacheTest {
+
+    @Test
+    public void testConverterIsInstantiatedOncePerBind() throws ParseException, HelpException {
+        String[] args = new String[10003];
+        args[10002] = "in";
+        args[0] = "--single";
+        args[1] = "x";
+
+        for (int i = 2; i < args.length - 1; i += 2) {
+            args[i] = "--values";
+            args[i + 1] = "v" + i;
+        }
+
+        final int before = CountingConverter.INSTANCES.get();
+        CachedConfig config = (CachedConfig) new InfluxCli().bind(CachedConfig.class, args);
+
+        assertEquals(5000, config.values.size());
+        assertEquals("v2", config.values.get(0).name);
+        assertEquals("x", config.single.name);
+        assertEquals("in", config.input.name);
+        assertTrue(CountingConverter.INSTANCES.get() - before <= 1);
+    }
+
+    @Test
+    public void testThreadSafeConverterIsShared() throws Exception {
+        ConverterCache cache = ConverterCache.of(SharedConverter.class);
+        assertTrue(cache.isShared());
+
+        AtomicReference<TypeConverter<?>> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(cache.get());
+            } catch (ParseException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertSame(cache.get(), other.get());
+    }
+
+    @Test
+    public void testConverterIsInstantiatedPerThread() throws Exception {
+        ConverterCache cache = ConverterCache.of(CountingConverter.class);
+        assertFalse(cache.isShared());
+        assertSame(cache.get(), cache.get());
+
+        AtomicReference<TypeConverter<?>> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(cache.get());
+            } catch (ParseException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotSame(cache.get(), other.get());
+    }
+
+    /**
+     * A value which is not supported by default.
+     */
+    public static class Tag {
+        private final String name;
+
+        /**
+         * Creates a tag with the given name.
+         *
+         * @param name The name of the tag
+         */
+        public Tag(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Converts strings into tags and counts how often it is instantiated.
+     */
+    public static class CountingConverter implements TypeConverter<Tag> {
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        /**
+         * Counts the new instance.
+         */
+        public CountingConverter() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public Class<Tag> getType() {
+            return Tag.class;
+        }
+
+        @Override
+        public Tag read(String value) {
+            return new Tag(value);
+        }
+
+        @Override
+        public String write(Tag value) {
+            return value.name;
+        }
+    }
+
+    /**
+     * A stateless converter which may be shared between threads.
+     */
+    @ThreadSafeConverter
+    public static class SharedConverter implements TypeConverter<String> {
+        @Override
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public String read(String value) {
+            return value;
+        }
+
+        @Override
+        public String write(String value) {
+            return value;
+        }
+    }
+
+    /**
+     * Declares the same converter on named, collection and ordered fields.
+     */
+    public static class CachedConfig {
+        @Arg(converter = CountingConverter.class)
+        private Tag single;
+
+        @Arg(collectionType = Tag.class, converter = CountingConverter.class)
+        private List<Tag> values;
+
+        @Ordered(order = 0, converter = CountingConverter.class)
+        private Tag input;
+
+        /**
+         * Default constructor.
+         */
+        public CachedConfig() {
+        }
+    }
+}
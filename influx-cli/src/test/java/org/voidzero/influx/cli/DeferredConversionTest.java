@@ -0,0 +1,209 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that options are converted once, from the value which wins, after the arguments have been parsed.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class DeferredConversionTest {
+    private static final String PORT_VARIABLE = "DEFERRED_CONVERSION_TEST_PORT";
+    private static final String MANIFEST_VARIABLE = "DEFERRED_CONVERSION_TEST_MANIFEST";
+    private static final String TARGET_VARIABLE = "DEFERRED_CONVERSION_TEST_TARGET";
+
+    @Before
+    public void setUp() {
+        RecordingConverter.VALUES.clear();
+    }
+
+    @Test
+    public void testRepeatedOptionIsConvertedOnce() throws ParseException, HelpException {
+        Deploy deploy = (Deploy) new InfluxCli().bind(Deploy.class, new String[]{
+            "--manifest", "base.yml", "--port", "1", "--manifest", "staging.yml", "--manifest", "override.yml"
+        });
+
+        assertEquals("override.yml", deploy.manifest.name);
+        assertEquals(Arrays.asList("override.yml"), RecordingConverter.VALUES);
+    }
+
+    @Test
+    public void testOverriddenValueIsNotValidated() throws ParseException, HelpException {
+        Deploy deploy = (Deploy) new InfluxCli().bind(Deploy.class, new String[]{"--port", "any", "--port", "80"});
+
+        assertEquals(80, deploy.port);
+    }
+
+    @Test
+    public void testWinningValueIsValidated() throws HelpException {
+        try {
+            new InfluxCli().bind(Deploy.class, new String[]{"--port", "80", "--port", "any"});
+            fail("The last value is not a number");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string any into an instance of class int", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testOverriddenVariableIsNotConverted() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of(PORT_VARIABLE, "not a port")));
+        Deploy deploy = (Deploy) influxCli.bind(Deploy.class, new String[]{"--port", "443"});
+
+        assertEquals(443, deploy.port);
+    }
+
+    @Test
+    public void testVariableIsConvertedWithoutOverride() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of(PORT_VARIABLE, "8443")));
+        Deploy deploy = (Deploy) influxCli.bind(Deploy.class, new String[0]);
+
+        assertEquals(8443, deploy.port);
+        assertEquals(Collections.emptyList(), RecordingConverter.VALUES);
+    }
+
+    @Test
+    public void testVariableIsConvertedByDeclaredConverter() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of(MANIFEST_VARIABLE, "env.yml")));
+        Release release = (Release) influxCli.bind(Release.class, new String[0]);
+
+        assertEquals("env.yml", release.manifest.name);
+        assertEquals(Arrays.asList("env.yml"), RecordingConverter.VALUES);
+    }
+
+    @Test
+    public void testVariableIsConvertedByRegisteredParser() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().register(Manifest.class, (ValueParser) value -> new Manifest("@" + value))
+                .setValueSource(ValueSource.of(Map.of(MANIFEST_VARIABLE, "env.yml", TARGET_VARIABLE, "prod")));
+        Release release = (Release) influxCli.bind(Release.class, new String[]{"--manifest", "cli.yml"});
+
+        assertEquals("@cli.yml", release.manifest.name);
+        assertEquals("@prod", release.target.name);
+        assertEquals(Collections.emptyList(), RecordingConverter.VALUES);
+    }
+
+    @Test
+    public void testRepeatedOptionInReusableBinder() throws ParseException, HelpException {
+        ReusableBinder<Deploy> binder = new InfluxCli().newReusableBinder(Deploy.class);
+        Deploy deploy = new Deploy();
+
+        binder.bind(deploy, new String[]{"--manifest", "a.yml", "--manifest", "b.yml"});
+        binder.bind(deploy, new String[]{"--port", "22"});
+
+        assertEquals(null, deploy.manifest);
+        assertEquals(22, deploy.port);
+        assertEquals(Arrays.asList("b.yml"), RecordingConverter.VALUES);
+    }
+
+    /**
+     * A manifest which is expensive to load.
+     */
+    public static class Manifest {
+        private final String name;
+
+        /**
+         * Creates a manifest with the given name.
+         *
+         * @param name The name of the manifest
+         */
+        public Manifest(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Converts strings into manifests and records every value which it converts.
+     */
+    public static class RecordingConverter implements TypeConverter<Manifest> {
+        static final List<String> VALUES = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Class<Manifest> getType() {
+            return Manifest.class;
+        }
+
+        @Override
+        public Manifest read(String value) {
+            VALUES.add(value);
+            return new Manifest(value);
+        }
+
+        @Override
+        public String write(Manifest value) {
+            return value.name;
+        }
+    }
+
+    /**
+     * Releases a manifest, which may be read from the environment, to a target which can only be read from it.
+     */
+    public static class Release {
+        @Arg(converter = RecordingConverter.class, environmentVariable = MANIFEST_VARIABLE)
+        Manifest manifest;
+
+        @Ignore
+        @Arg(environmentVariable = TARGET_VARIABLE)
+        Manifest target;
+
+        /**
+         * Default constructor.
+         */
+        public Release() {
+        }
+    }
+
+    /**
+     * Deploys a manifest to a port.
+     */
+    public static class Deploy {
+        @Arg(converter = RecordingConverter.class)
+        Manifest manifest;
+
+        @Arg(environmentVariable = PORT_VARIABLE)
+        int port;
+
+        /**
+         * Default constructor.
+         */
+        public Deploy() {
+        }
+    }
+}
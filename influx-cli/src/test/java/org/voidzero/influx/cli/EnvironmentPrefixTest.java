@@ -0,0 +1,216 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link Command#environmentPrefix()}, which binds options to variables by convention.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class EnvironmentPrefixTest {
+
+    @Test
+    public void testVariablesAreMatchedByName() throws ParseException, HelpException {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("APP_MAX_RETRIES", "7");
+        variables.put("APP_DRY_RUN", "true");
+        variables.put("APP_HOST", "example.com");
+
+        Service service = bind(variables);
+
+        assertEquals(7, service.maxRetries);
+        assertTrue(service.dryRun);
+        assertEquals("example.com", service.host);
+    }
+
+    @Test
+    public void testCommandLineOverridesVariable() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of("APP_MAX_RETRIES", "many")));
+        Service service = (Service) influxCli.bind(Service.class, new String[]{"--max-retries", "2"});
+
+        assertEquals(2, service.maxRetries);
+    }
+
+    @Test
+    public void testDeclaredVariableTakesPrecedence() throws ParseException, HelpException {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("APP_TIMEOUT", "1");
+        variables.put("SERVICE_TIMEOUT", "30");
+
+        assertEquals(30, bind(variables).timeout);
+        assertEquals(0, bind(Map.of("APP_TIMEOUT", "1")).timeout);
+    }
+
+    @Test
+    public void testUnknownVariablesAreIgnored() throws ParseException, HelpException {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("APP_UNKNOWN", "value");
+        variables.put("MAX_RETRIES", "3");
+        variables.put("app_host", "example.com");
+
+        Service service = bind(variables);
+
+        assertEquals(0, service.maxRetries);
+        assertNull(service.host);
+        assertFalse(service.dryRun);
+    }
+
+    @Test
+    public void testVariableIsConvertedByConverter() throws ParseException, HelpException {
+        Service service = bind(Map.of("APP_MANIFEST", "base.yml"));
+
+        assertEquals("base.yml", service.manifest.getName());
+    }
+
+    @Test
+    public void testReusableBinderRestoresVariables() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of("APP_MAX_RETRIES", "4")));
+        ReusableBinder<Service> binder = influxCli.newReusableBinder(Service.class);
+        Service service = new Service();
+
+        binder.bind(service, new String[]{"--max-retries", "9"});
+        assertEquals(9, service.maxRetries);
+
+        binder.bind(service, new String[0]);
+        assertEquals(4, service.maxRetries);
+    }
+
+    @Test
+    public void testWithoutPrefix() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of("LIMIT", "5", "_LIMIT", "5")));
+
+        assertEquals(0, ((Plain) influxCli.bind(Plain.class, new String[0])).limit);
+    }
+
+    /**
+     * Binds a service with the given variables.
+     *
+     * @param variables The values of the variables keyed by name
+     *
+     * @return The service
+     */
+    private static Service bind(Map<String, String> variables) throws ParseException, HelpException {
+        return (Service) new InfluxCli().setValueSource(ValueSource.of(variables)).bind(Service.class, new String[0]);
+    }
+
+    /**
+     * A manifest which is loaded from a file.
+     */
+    public static class Manifest {
+        private final String name;
+
+        /**
+         * Creates a manifest with the given name.
+         *
+         * @param name The name of the manifest
+         */
+        public Manifest(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the name of the manifest.
+         *
+         * @return The name of the manifest
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Converts strings into manifests.
+     */
+    public static class ManifestConverter implements TypeConverter<Manifest> {
+        @Override
+        public Class<Manifest> getType() {
+            return Manifest.class;
+        }
+
+        @Override
+        public Manifest read(String value) {
+            return new Manifest(value);
+        }
+
+        @Override
+        public String write(Manifest value) {
+            return value.getName();
+        }
+    }
+
+    /**
+     * A service which reads its configuration from variables which start with APP_.
+     */
+    @Command(environmentPrefix = "APP_")
+    public static class Service {
+        int maxRetries;
+
+        @Arg(flag = "dry-run")
+        boolean dryRun;
+
+        @Arg
+        String host;
+
+        @Arg(environmentVariable = "SERVICE_TIMEOUT")
+        int timeout;
+
+        @Arg(converter = ManifestConverter.class)
+        Manifest manifest;
+
+        /**
+         * Default constructor.
+         */
+        public Service() {
+        }
+    }
+
+    /**
+     * A command which does not bind variables by convention.
+     */
+    public static class Plain {
+        int limit;
+
+        /**
+         * Default constructor.
+         */
+        public Plain() {
+        }
+    }
+}
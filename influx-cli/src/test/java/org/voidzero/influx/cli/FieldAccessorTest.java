@@ -0,0 +1,108 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import org.junit.Test;
+
+/**
+ * Tests for {@link FieldAccessor}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class FieldAccessorTest {
+
+    @Test
+    public void testAccessorIsResolvedOnce() throws NoSuchFieldException {
+        Field field = AccessorConfig.class.getDeclaredField("count");
+        assertSame(FieldAccessor.of(field), FieldAccessor.of(field));
+    }
+
+    @Test
+    public void testPrimitiveFieldWithoutAccessorMethods() throws NoSuchFieldException, IllegalAccessException {
+        AccessorConfig instance = new AccessorConfig();
+        FieldAccessor accessor = FieldAccessor.of(AccessorConfig.class.getDeclaredField("count"));
+
+        accessor.set(instance, 42);
+        assertEquals(42, instance.count);
+        assertEquals(42, accessor.get(instance));
+    }
+
+    @Test
+    public void testFluentSetter() throws NoSuchFieldException, IllegalAccessException {
+        AccessorConfig instance = new AccessorConfig();
+        FieldAccessor accessor = FieldAccessor.of(AccessorConfig.class.getDeclaredField("name"));
+
+        accessor.set(instance, "test");
+        assertEquals("test", accessor.get(instance));
+        assertTrue(instance.setterCalled);
+    }
+
+    @Test
+    public void testStaticField() throws NoSuchFieldException, IllegalAccessException {
+        FieldAccessor accessor = FieldAccessor.of(AccessorConfig.class.getDeclaredField("shared"));
+
+        accessor.set(null, "static");
+        assertEquals("static", AccessorConfig.shared);
+        assertEquals("static", accessor.get(new AccessorConfig()));
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void testStaticFinalFieldCannotBeWritten() throws NoSuchFieldException, IllegalAccessException {
+        FieldAccessor.of(AccessorConfig.class.getDeclaredField("CONSTANT")).set(null, "changed");
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testWrongValueType() throws NoSuchFieldException, IllegalAccessException {
+        FieldAccessor.of(AccessorConfig.class.getDeclaredField("name")).set(new AccessorConfig(), 42);
+    }
+
+    private static class AccessorConfig {
+        private static final String CONSTANT = "constant";
+
+        private static String shared;
+
+        private int count;
+
+        private String name;
+
+        private boolean setterCalled;
+
+        public AccessorConfig() {
+        }
+
+        public AccessorConfig setName(String name) {
+            this.name = name;
+            this.setterCalled = true;
+            return this;
+        }
+    }
+}
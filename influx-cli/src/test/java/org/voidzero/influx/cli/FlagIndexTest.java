@@ -0,0 +1,130 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link FlagIndex}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class FlagIndexTest {
+
+    @Test
+    public void testLookupByRange() {
+        FlagIndex<String> index = FlagIndex.of("name", "n", "verbose");
+
+        assertEquals(3, index.size());
+        assertEquals("name", index.get("--name=value", 2, 6));
+        assertEquals("n", index.get("-n", 1, 2));
+        assertEquals("verbose", index.get("verbose"));
+        assertNull(index.get("--nam", 2, 5));
+        assertNull(index.get("--names", 2, 7));
+        assertNull(index.get("unknown"));
+    }
+
+    @Test
+    public void testCanonicalNameIsReturned() {
+        String name = "count";
+        FlagIndex<String> index = FlagIndex.of(name);
+
+        assertSame(name, index.get("--count", 2, 7));
+    }
+
+    @Test
+    public void testManyNames() {
+        Map<String, Integer> entries = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            entries.put("option-" + i, i);
+        }
+
+        FlagIndex<Integer> index = new FlagIndex<>(entries);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), index.get("--option-" + i, 2, 9 + String.valueOf(i).length()));
+        }
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        FlagIndex<String> index = FlagIndex.of();
+
+        assertEquals(0, index.size());
+        assertNull(index.get("name"));
+        assertNull(index.get(""));
+    }
+
+    @Test
+    public void testInlineValue() throws ParseException, HelpException {
+        InlineConfig config = (InlineConfig) new InfluxCli().bind(InlineConfig.class, new String[]{
+            "--name=a=b", "--count=42", "--verbose=false", "--unknown=x", "in.txt"
+        });
+
+        assertEquals("a=b", config.name);
+        assertEquals(42, config.count);
+        assertEquals(Boolean.FALSE, config.verbose);
+        assertEquals("in.txt", config.input);
+    }
+
+    @Test
+    public void testBooleanWithoutInlineValue() throws ParseException, HelpException {
+        InlineConfig config = (InlineConfig) new InfluxCli().bind(InlineConfig.class, new String[]{"--verbose"});
+        assertTrue(config.verbose);
+    }
+
+    /**
+     * Declares options which may be given as --name=value.
+     */
+    public static class InlineConfig {
+        private String name;
+
+        private int count;
+
+        private Boolean verbose;
+
+        @Ordered(order = 0)
+        private String input;
+
+        /**
+         * Default constructor.
+         */
+        public InlineConfig() {
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that a frozen {@link InfluxCli} cannot be changed and can be shared by threads which bind concurrently.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class FrozenInfluxCliTest {
+
+    private static final int THREADS = 64;
+
+    private static final int ITERATIONS = 500;
+
+    @Test
+    public void testFreezeCopiesConfiguration() throws Exception {
+        InfluxCli influxCli = new InfluxCli().register(Point.class, new PointConverter());
+        InfluxCli frozen = influxCli.freeze();
+
+        assertFalse(influxCli.isFrozen());
+        assertTrue(frozen.isFrozen());
+        assertSame(frozen, frozen.freeze());
+        assertSame(influxCli.getOut(), frozen.getOut());
+
+        // Changes to the original instance do not leak into the frozen copy
+        influxCli.register(Point.class, value -> new Point(0, 0));
+        Bot bot = (Bot) frozen.bind(Bot.class, new String[]{"--origin", "3,4"});
+
+        assertEquals(3, bot.origin.column);
+        assertEquals(4, bot.origin.row);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRegisterConverterAfterFreeze() {
+        new InfluxCli().freeze().register(Point.class, new PointConverter());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRegisterParserAfterFreeze() {
+        new InfluxCli().freeze().register(Point.class, value -> new Point(0, 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSetOutAfterFreeze() {
+        new InfluxCli().freeze().setOut(System.out);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSetExitMechanismAfterFreeze() {
+        new InfluxCli().freeze().setExitMechanism(status -> { });
+    }
+
+    @Test
+    public void testConcurrentBinding() throws InterruptedException {
+        InfluxCli influxCli = new InfluxCli().register(Point.class, new PointConverter()).freeze();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int id = thread;
+
+            executor.execute(() -> {
+                try {
+                    start.await();
+
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        verify(influxCli, id, i);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        // Release every thread at once to maximize contention
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(), Arrays.asList(failures.toArray()));
+    }
+
+    /**
+     * Binds arguments which are unique to the given thread and iteration, and verifies that they were not mixed up
+     * with the arguments of another thread.
+     *
+     * @param influxCli The shared instance
+     * @param id The number of the thread
+     * @param iteration The number of the iteration
+     * @throws Exception If binding fails
+     */
+    private static void verify(InfluxCli influxCli, int id, int iteration) throws Exception {
+        String name = "user" + id;
+        String column = Integer.toString(iteration);
+
+        Bot bot = (Bot) influxCli.bind(Bot.class, new String[]{
+            "-vq", "--origin", column + "," + id, "--tag", name, "--tag", column, name
+        });
+
+        assertTrue(bot.verbose);
+        assertTrue(bot.quiet);
+        assertEquals(iteration, bot.origin.column);
+        assertEquals(id, bot.origin.row);
+        assertEquals(Arrays.asList(name, column), bot.tags);
+        assertEquals(name, bot.user);
+
+        Deploy deploy = (Deploy) influxCli.bind(Bot.class, new String[]{"deploy", "--count", column});
+
+        assertEquals(iteration, deploy.count);
+
+        CommandChain chain = influxCli.bindChain(Bot.class, new String[]{"deploy", "-v", "--count", column});
+
+        assertTrue(chain.getInstance(Bot.class).verbose);
+        assertNull(chain.getInstance(Bot.class).user);
+        assertEquals(iteration, chain.getInstance(Deploy.class).count);
+    }
+
+    /**
+     * The top level command of a chat bot.
+     */
+    public static class Bot {
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(code = 'q')
+        boolean quiet;
+
+        @Arg
+        Point origin;
+
+        @Arg(flag = "tag", collectionType = String.class)
+        List<String> tags;
+
+        @Ordered(order = 0)
+        String user;
+
+        Deploy deploy;
+
+        /**
+         * Default constructor.
+         */
+        public Bot() {
+        }
+    }
+
+    /**
+     * A sub-command of the chat bot.
+     */
+    @Command(name = "deploy")
+    public static class Deploy {
+        @Arg
+        int count;
+
+        /**
+         * Default constructor.
+         */
+        public Deploy() {
+        }
+    }
+
+    /**
+     * A value which requires a registered converter.
+     */
+    public static class Point {
+        private final int column;
+        private final int row;
+
+        Point(int column, int row) {
+            this.column = column;
+            this.row = row;
+        }
+    }
+
+    /**
+     * Parses points formatted as column,row.
+     */
+    public static class PointConverter implements TypeConverter<Point> {
+        @Override
+        public Class<Point> getType() {
+            return Point.class;
+        }
+
+        @Override
+        public Point read(String value) throws ParseException {
+            int comma = value.indexOf(',');
+            return new Point(Integer.parseInt(value.substring(0, comma)), Integer.parseInt(value.substring(comma + 1)));
+        }
+
+        @Override
+        public String write(Point value) {
+            return value.column + "," + value.row;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+
+/**
+ * Tests for help messages, which are rendered once per class and width.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class HelpRendererTest {
+
+    @Test
+    public void testHelpIsRenderedOncePerWidth() {
+        String help = InfluxCli.help(Server.class);
+
+        assertSame(help, InfluxCli.help(Server.class));
+        assertSame(help, InfluxCli.help(Server.class, InfluxCli.WORDWRAP_THRESHOLD));
+        assertNotSame(help, InfluxCli.help(Server.class, 40));
+        assertSame(InfluxCli.help(Server.class, 40), InfluxCli.help(Server.class, 40));
+    }
+
+    @Test
+    public void testCachedWidthsAreBounded() {
+        for (int width = 1; width <= 100; width++) {
+            InfluxCli.help(Bounded.class, width);
+        }
+
+        assertSame(InfluxCli.help(Bounded.class, 1), InfluxCli.help(Bounded.class, 1));
+
+        String help = InfluxCli.help(Bounded.class, 100);
+
+        assertEquals(help, InfluxCli.help(Bounded.class, 100));
+        assertNotSame(help, InfluxCli.help(Bounded.class, 100));
+    }
+
+    @Test
+    public void testNarrowWidth() {
+        String expected = "Options:\n"
+                + "      --port  The port which the server\n"
+                + "              listens on, which must\n"
+                + "              not be in use\n"
+                + "\n"
+                + "\n"
+                + "network:\n"
+                + "  -b, --bind  Address\n"
+                + "Done";
+
+        assertEquals(expected, InfluxCli.help(Server.class, 40));
+    }
+
+    @Test
+    public void testWordsLongerThanWidthAreBroken() {
+        String help = InfluxCli.help(Server.class, 12);
+
+        assertTrue(help.replaceAll("\\s", "").contains("Theportwhichtheserverlistenson,whichmustnotbeinuse"));
+    }
+
+    @Test
+    public void testCategoriesWithoutDefaultOptions() {
+        assertEquals("The following options are accepted: \n\nnetwork:\n      --host  Accepts a string value",
+                InfluxCli.help(Remote.class));
+    }
+
+    @Test
+    public void testAppendable() throws IOException {
+        StringWriter writer = new StringWriter();
+        InfluxCli.help(Server.class, 40, writer);
+
+        assertEquals(InfluxCli.help(Server.class, 40), writer.toString());
+    }
+
+    @Test
+    public void testShowHelpUsesWidth() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        InfluxCli influxCli = new InfluxCli()
+                .setOut(new PrintStream(outputStream))
+                .setHelpWidth(40)
+                .setExitMechanism(status -> {
+                    if (status != 0) {
+                        throw new RuntimeException("Exit called with status " + status);
+                    }
+                })
+                .freeze();
+
+        influxCli.bindOrExit(Server.class, new String[]{"--help"});
+
+        assertEquals(40, influxCli.getHelpWidth());
+        assertEquals(InfluxCli.help(Server.class, 40) + System.lineSeparator(), outputStream.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWidthMustBePositive() {
+        new InfluxCli().setHelpWidth(0);
+    }
+
+    /**
+     * A server whose options are split into categories.
+     */
+    @Command(openingText = "Options:", closingText = "Done")
+    public static class Server {
+        @Arg(description = "The port which the server listens on, which must not be in use")
+        int port;
+
+        @Arg(code = 'b', flag = "bind", category = "network", description = "Address")
+        String address;
+
+        /**
+         * Default constructor.
+         */
+        public Server() {
+        }
+    }
+
+    /**
+     * A command whose only option is categorized.
+     */
+    public static class Remote {
+        @Arg(category = "network")
+        String host;
+
+        /**
+         * Default constructor.
+         */
+        public Remote() {
+        }
+    }
+
+    /**
+     * A command which is only rendered by the test of the bounded cache.
+     */
+    public static class Bounded {
+        @Arg(description = "The number of retries")
+        int retries;
+
+        /**
+         * Default constructor.
+         */
+        public Bounded() {
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ignore;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that {@link ReusableBinder} restores instances between binds and does not allocate once it is warm.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ReusableBinderTest {
+    private static final int WARMUP_BINDS = 2_000;
+    private static final int MEASURED_BINDS = 10_000;
+    /**
+     * Each bind converts the weight into a new int[1], which is a converted value rather than overhead of the binder.
+     */
+    private static final long BYTES_PER_BIND_BUDGET = 32;
+
+    @Test
+    public void testBindIntoSuppliedInstance() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+
+        assertSame(server, binder.bind(server, new String[]{"--host", "db", "--port", "5432", "--verbose", "start"}));
+        assertEquals(Server.class, binder.getClassType());
+        assertEquals("db", server.host);
+        assertEquals(5432, server.port);
+        assertTrue(server.verbose);
+        assertEquals("start", server.action);
+    }
+
+    @Test
+    public void testFieldsAreRestoredBetweenBinds() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+
+        binder.bind(server, new String[]{"--host", "db", "--port", "5432", "--verbose", "start", "--tag", "a"});
+        binder.bind(server, new String[]{"--host", "web"});
+
+        assertEquals("web", server.host);
+        assertEquals(8080, server.port);
+        assertFalse(server.verbose);
+        assertNull(server.action);
+        assertEquals(new ArrayList<>(), server.tags);
+        assertNull(server.weights);
+    }
+
+    @Test
+    public void testCollectionsAreRefilledInPlace() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+        List<String> tags = server.tags;
+
+        binder.bind(server, new String[]{"--host", "db", "--tag", "a", "--tag", "b", "--weight", "1", "--weight", "2"});
+        binder.bind(server, new String[]{"--host", "db", "--tag", "c", "--weight", "3"});
+
+        assertSame(tags, server.tags);
+        assertEquals(Arrays.asList("c"), server.tags);
+        assertArrayEquals(new int[]{3}, server.weights);
+    }
+
+    @Test
+    public void testNullCollectionIsRestored() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+        server.tags = null;
+        server.roles = null;
+
+        binder.bind(server, new String[]{"--host", "db"});
+
+        assertEquals(new ArrayList<>(), server.tags);
+        assertEquals(Arrays.asList("reader"), server.roles);
+
+        // The restored collection is not the default itself, which later binds would otherwise modify
+        binder.bind(server, new String[]{"--host", "db", "--role", "writer"});
+        binder.bind(server, new String[]{"--host", "db"});
+
+        assertEquals(Arrays.asList("reader"), server.roles);
+    }
+
+    @Test
+    public void testImmutableCollectionsAreReplaced() throws ParseException, HelpException {
+        ReusableBinder<Client> binder = new InfluxCli().newReusableBinder(Client.class);
+        Client client = new Client();
+
+        binder.bind(client, new String[]{"--name", "n"});
+
+        assertEquals(Arrays.asList("reader"), client.roles);
+        assertEquals(Arrays.asList("eu"), client.regions);
+        assertEquals(Arrays.asList("tcp"), client.protocols);
+
+        binder.bind(client, new String[]{"--name", "n", "--role", "writer", "--region", "us", "--protocol", "udp"});
+
+        assertEquals(Arrays.asList("reader", "writer"), client.roles);
+        assertEquals(Arrays.asList("eu", "us"), client.regions);
+        assertEquals(Arrays.asList("tcp", "udp"), client.protocols);
+
+        binder.bind(client, new String[]{"--name", "n"});
+
+        assertEquals(Arrays.asList("reader"), client.roles);
+        assertEquals(Arrays.asList("eu"), client.regions);
+        assertEquals(Arrays.asList("tcp"), client.protocols);
+    }
+
+    @Test
+    public void testIgnoredFieldsAreKept() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+        server.connections = 3;
+
+        binder.bind(server, new String[]{"--host", "db"});
+
+        assertEquals(3, server.connections);
+    }
+
+    @Test
+    public void testEnvironmentDefaultsAreRestored() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli()
+                .setValueSource(ValueSource.of(Map.of("REUSABLE_BINDER_TEST_USER", "admin")))
+                .newReusableBinder(Server.class);
+        Server server = new Server();
+
+        binder.bind(server, new String[]{"--host", "db", "--user", "guest"});
+        assertEquals("guest", server.user);
+
+        binder.bind(server, new String[]{"--host", "db"});
+        assertEquals("admin", server.user);
+    }
+
+    @Test
+    public void testRequiredFieldIsVerifiedOnEveryBind() throws ParseException, HelpException {
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+
+        binder.bind(server, new String[]{"--host", "db"});
+
+        try {
+            binder.bind(server, new String[]{"--port", "1"});
+            fail("The host was carried over from the previous bind");
+        } catch (ParseException e) {
+            assertEquals("Required argument --host is not set", e.getMessage());
+        }
+
+        // A failed bind does not prevent the binder from being reused
+        binder.bind(server, new String[]{"--host", "web", "stop"});
+        assertEquals("stop", server.action);
+    }
+
+    @Test(expected = HelpException.class)
+    public void testHelp() throws ParseException, HelpException {
+        new InfluxCli().newReusableBinder(Server.class).bind(new Server(), new String[]{"--help"});
+    }
+
+    @Test
+    public void testSteadyStateBindDoesNotAllocate() throws ParseException, HelpException {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        assumeTrue(allocationBean.isThreadAllocatedMemoryEnabled());
+
+        ReusableBinder<Server> binder = new InfluxCli().newReusableBinder(Server.class);
+        Server server = new Server();
+
+        // Small integers are cached by Integer.valueOf and the tags are refilled in place, so only the array allocates
+        String[] args = {"--host", "db", "--port", "99", "-v", "start", "--host", "web", "--tag", "a", "--tag", "b",
+            "--weight", "1"};
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_BINDS; i++) {
+            binder.bind(server, args);
+        }
+
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < MEASURED_BINDS; i++) {
+            binder.bind(server, args);
+        }
+
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue("Allocated " + allocated + " bytes in " + MEASURED_BINDS + " binds",
+                allocated <= BYTES_PER_BIND_BUDGET * MEASURED_BINDS);
+
+        assertEquals("web", server.host);
+        assertEquals(Arrays.asList("a", "b"), server.tags);
+        assertArrayEquals(new int[]{1}, server.weights);
+    }
+
+    /**
+     * A server which is started and stopped from the command line.
+     */
+    public static class Server {
+        @Arg(required = true)
+        String host;
+
+        @Arg
+        int port = 8080;
+
+        @Arg(code = 'v')
+        boolean verbose;
+
+        @Arg(environmentVariable = "REUSABLE_BINDER_TEST_USER")
+        String user;
+
+        @Arg(flag = "tag", collectionType = String.class)
+        List<String> tags = new ArrayList<>();
+
+        @Arg(flag = "role", collectionType = String.class)
+        List<String> roles = new ArrayList<>(List.of("reader"));
+
+        @Arg(flag = "weight", collectionType = int.class)
+        int[] weights;
+
+        @Ordered(order = 0)
+        String action;
+
+        @Ignore
+        int connections;
+
+        /**
+         * Default constructor.
+         */
+        public Server() {
+        }
+    }
+
+    /**
+     * A client whose collections are initialized with collections which cannot be modified.
+     */
+    public static class Client {
+        @Arg
+        String name;
+
+        @Arg(flag = "role", collectionType = String.class)
+        List<String> roles = List.of("reader");
+
+        @Arg(flag = "region", collectionType = String.class)
+        List<String> regions = Arrays.asList("eu");
+
+        @Arg(flag = "protocol", collectionType = String.class)
+        List<String> protocols = Collections.unmodifiableList(new ArrayList<>(List.of("tcp")));
+
+        /**
+         * Default constructor.
+         */
+        public Client() {
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.annotation.StandardInput;
+import org.voidzero.influx.cli.exception.DuplicateOptionException;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UncheckedParseException;
+
+/**
+ * Tests for ordered fields which read their values from standard input.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class StandardInputTest {
+
+    @Test
+    public void testNulDelimitedList() throws ParseException, HelpException {
+        Remove remove = (Remove) new InfluxCli().setIn(input("a b\0\0c\nd\0e")).bind(Remove.class, new String[]{
+            "--force"
+        });
+
+        assertTrue(remove.force);
+        assertEquals(Arrays.asList("a b", "c\nd", "e"), remove.paths);
+    }
+
+    @Test
+    public void testNewlineDelimitedArray() throws ParseException, HelpException {
+        Sum sum = (Sum) new InfluxCli().setIn(input("1\r\n2\n\n3")).bind(Sum.class, new String[0]);
+
+        assertArrayEquals(new int[]{1, 2, 3}, sum.values);
+    }
+
+    @Test
+    public void testCommandLineTakesPrecedence() throws ParseException, HelpException {
+        RecordingInputStream in = new RecordingInputStream("x\0y\0");
+        Remove remove = (Remove) new InfluxCli().setIn(in).bind(Remove.class, new String[]{"one", "two"});
+
+        assertEquals(Arrays.asList("one", "two"), remove.paths);
+        assertFalse(in.read);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws ParseException, HelpException {
+        RecordingInputStream in = new RecordingInputStream("1\n");
+        Plain plain = (Plain) new InfluxCli().setIn(in).bind(Plain.class, new String[0]);
+
+        assertEquals(null, plain.values);
+        assertFalse(in.read);
+    }
+
+    @Test
+    public void testInvalidValue() throws HelpException {
+        try {
+            new InfluxCli().setIn(input("1\ntwo\n")).bind(Sum.class, new String[0]);
+            fail("The value is not a number");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string two into an instance of class int", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSecondStandardInputFieldIsRejected() throws HelpException {
+        RecordingInputStream in = new RecordingInputStream("a\nb\n");
+
+        try {
+            new InfluxCli().setIn(in).bind(Merge.class, new String[0]);
+            fail("Only one field can read standard input");
+        } catch (ParseException e) {
+            assertTrue(e instanceof DuplicateOptionException);
+            assertEquals("Duplicate standard input field: right", e.getMessage());
+            assertFalse(in.read);
+        }
+    }
+
+    @Test
+    public void testStreamIsReadWhenConsumed() throws ParseException, HelpException {
+        RecordingInputStream in = new RecordingInputStream("3\n1\n2\n");
+        Sizes sizes = (Sizes) new InfluxCli().setIn(in).bind(Sizes.class, new String[0]);
+
+        assertFalse(in.read);
+        assertEquals(Arrays.asList(1, 2, 3), sizes.sizes.sorted().collect(Collectors.toList()));
+        assertTrue(in.read);
+    }
+
+    @Test
+    public void testStreamFromCommandLine() throws ParseException, HelpException {
+        Sizes sizes = (Sizes) new InfluxCli().setIn(input("9\n")).bind(Sizes.class, new String[]{"4", "5"});
+
+        assertEquals(Arrays.asList(4, 5), sizes.sizes.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testIterableCanOnlyBeReadOnce() throws ParseException, HelpException {
+        Names names = (Names) new InfluxCli().setIn(input("ann\nbob\n")).bind(Names.class, new String[0]);
+        List<String> values = new ArrayList<>();
+
+        for (String name : names.names) {
+            values.add(name);
+        }
+
+        assertEquals(Arrays.asList("ann", "bob"), values);
+
+        try {
+            names.names.iterator();
+            fail("Standard input was read twice");
+        } catch (IllegalStateException e) {
+            assertEquals("Standard input can only be read once", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidValueOfStream() throws ParseException, HelpException {
+        Sizes sizes = (Sizes) new InfluxCli().setIn(input("1\nlarge\n")).bind(Sizes.class, new String[0]);
+        Iterator<Integer> iterator = sizes.sizes.iterator();
+
+        assertEquals(Integer.valueOf(1), iterator.next());
+
+        try {
+            iterator.next();
+            fail("The value is not a number");
+        } catch (UncheckedParseException e) {
+            assertTrue(e.getCause().getMessage().startsWith("Failed to parse string large into an instance of"));
+        }
+    }
+
+    /**
+     * Returns a stream of the given UTF-8 input.
+     *
+     * @param content The content of the stream
+     *
+     * @return The stream
+     */
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * An input stream which remembers whether it has been read.
+     */
+    private static class RecordingInputStream extends ByteArrayInputStream {
+        private boolean read;
+
+        /**
+         * Creates a stream of the given UTF-8 input.
+         *
+         * @param content The content of the stream
+         */
+        RecordingInputStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            read = true;
+            return super.read(buffer, offset, length);
+        }
+
+        @Override
+        public int read(byte[] buffer) throws IOException {
+            read = true;
+            return super.read(buffer);
+        }
+    }
+
+    /**
+     * Removes files which are listed by {@code find -print0}.
+     */
+    public static class Remove {
+        @Arg
+        boolean force;
+
+        @Ordered(order = 0, collectionType = String.class, standardInput = StandardInput.NUL)
+        List<String> paths;
+
+        /**
+         * Default constructor.
+         */
+        public Remove() {
+        }
+    }
+
+    /**
+     * Adds numbers which are listed one per line.
+     */
+    public static class Sum {
+        @Ordered(order = 0, standardInput = StandardInput.NEWLINE)
+        int[] values;
+
+        /**
+         * Default constructor.
+         */
+        public Sum() {
+        }
+    }
+
+    /**
+     * Does not accept standard input.
+     */
+    public static class Plain {
+        @Ordered(order = 0, collectionType = String.class)
+        List<String> values;
+
+        /**
+         * Default constructor.
+         */
+        public Plain() {
+        }
+    }
+
+    /**
+     * Streams numbers which are listed one per line.
+     */
+    public static class Sizes {
+        @Ordered(order = 0, collectionType = Integer.class, standardInput = StandardInput.NEWLINE)
+        Stream<Integer> sizes;
+
+        /**
+         * Default constructor.
+         */
+        public Sizes() {
+        }
+    }
+
+    /**
+     * Merges two lists which would both be read from standard input.
+     */
+    public static class Merge {
+        @Ordered(order = 0, collectionType = String.class, standardInput = StandardInput.NEWLINE)
+        Iterable<String> left;
+
+        @Ordered(order = 1, collectionType = String.class, standardInput = StandardInput.NEWLINE)
+        List<String> right;
+
+        /**
+         * Default constructor.
+         */
+        public Merge() {
+        }
+    }
+
+    /**
+     * Iterates over names which are listed one per line.
+     */
+    public static class Names {
+        @Ordered(order = 0, collectionType = String.class, standardInput = StandardInput.NEWLINE)
+        Iterable<String> names;
+
+        /**
+         * Default constructor.
+         */
+        public Names() {
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Command;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Verify that {@link InfluxCli#tryBind(Class, String[])} returns failures instead of throwing them.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class TryBindTest {
+
+    @Test
+    public void testSuccess() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--channel", "ops", "--count", "2"});
+
+        assertTrue(result.isSuccess());
+        assertFalse(result.isHelpRequested());
+        assertEquals(2, ((Message) result.getInstance()).count);
+        assertEquals(0, result.getExitStatus());
+        assertNull(result.getMessage());
+        assertNull(result.getException());
+    }
+
+    @Test
+    public void testHelp() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--count", "2", "--help"});
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.isHelpRequested());
+        assertEquals(Message.class, result.getHelpClassType());
+        assertEquals(0, result.getExitStatus());
+        assertNull(result.getMessage());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testHelpForSubCommand() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"edit", "-h"});
+
+        assertEquals(Edit.class, result.getHelpClassType());
+    }
+
+    @Test
+    public void testInvalidValue() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--channel", "ops", "--count", "x"});
+
+        assertFalse(result.isSuccess());
+        assertFalse(result.isHelpRequested());
+        assertNull(result.getInstance());
+        assertEquals("x", result.getValue());
+        assertEquals("Failed to parse string x into an instance of class int", result.getMessage());
+        assertEquals(ParseException.DEFAULT_ERROR_EXIT_STATUS, result.getExitStatus());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testInvalidValueReportsField() throws NoSuchFieldException {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--channel", "ops", "--jobs=x"});
+
+        assertEquals(Message.class.getDeclaredField("jobs"), result.getField());
+        assertEquals("x", result.getValue());
+        assertEquals(3, result.getExitStatus());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testLoneHyphen() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--channel", "ops", "-"});
+
+        assertFalse(result.isSuccess());
+        assertEquals("Unexpected argument -", result.getMessage());
+        assertEquals("-", result.getValue());
+        assertEquals(ParseException.DEFAULT_ERROR_EXIT_STATUS, result.getExitStatus());
+        assertEquals(0, result.getException().getStackTrace().length);
+
+        assertEquals("-", ((Copy) new InfluxCli().tryBind(Copy.class, new String[]{"-"}).getInstance()).source);
+    }
+
+    @Test
+    public void testEmptyArgument() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--channel", "ops", ""});
+
+        assertFalse(result.isSuccess());
+        assertEquals("Unexpected argument ", result.getMessage());
+        assertEquals(0, result.getException().getStackTrace().length);
+
+        assertEquals("", ((Copy) new InfluxCli().tryBind(Copy.class, new String[]{""}).getInstance()).source);
+    }
+
+    @Test
+    public void testTooManyPositionalValues() throws NoSuchFieldException {
+        BindResult result = new InfluxCli().tryBind(Copy.class, new String[]{"x", "y"});
+
+        assertFalse(result.isSuccess());
+        assertEquals("Unexpected argument y", result.getMessage());
+        assertEquals("y", result.getValue());
+        assertEquals(Copy.class.getDeclaredField("source"), result.getField());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test
+    public void testMissingRequiredValue() throws NoSuchFieldException {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{"--count", "2"});
+
+        assertFalse(result.isSuccess());
+        assertEquals("Required argument --channel is not set", result.getMessage());
+        assertEquals(Message.class.getDeclaredField("channel"), result.getField());
+        assertEquals(7, result.getExitStatus());
+        assertEquals(0, result.getException().getStackTrace().length);
+    }
+
+    @Test(expected = HelpException.class)
+    public void testBindStillThrowsHelpException() throws ParseException, HelpException {
+        new InfluxCli().bind(Message.class, new String[]{"--help"});
+    }
+
+    @Test
+    public void testIsInteger() {
+        assertTrue(BinderSupport.isInteger("0"));
+        assertTrue(BinderSupport.isInteger("-12"));
+        assertTrue(BinderSupport.isInteger("+12"));
+        assertTrue(BinderSupport.isInteger("99999999999999999999"));
+        assertFalse(BinderSupport.isInteger(null));
+        assertFalse(BinderSupport.isInteger(""));
+        assertFalse(BinderSupport.isInteger("-"));
+        assertFalse(BinderSupport.isInteger("1.5"));
+        assertFalse(BinderSupport.isInteger(" 1"));
+        assertFalse(BinderSupport.isInteger("0x10"));
+    }
+
+    @Test
+    public void testOutOfRangeValue() {
+        BindResult result = new InfluxCli().tryBind(Message.class, new String[]{
+            "--channel", "ops", "--count", "99999999999"
+        });
+
+        assertEquals("Failed to parse string 99999999999 into an instance of class int", result.getMessage());
+    }
+
+    /**
+     * A message which is posted by a chat bot.
+     */
+    public static class Message {
+        @Arg(required = true, exitStatus = 7)
+        String channel;
+
+        @Arg
+        int count;
+
+        @Arg(exitStatus = 3)
+        int jobs;
+
+        Edit edit;
+
+        /**
+         * Default constructor.
+         */
+        public Message() {
+        }
+    }
+
+    /**
+     * Edits a message.
+     */
+    @Command(name = "edit")
+    public static class Edit {
+        /**
+         * Default constructor.
+         */
+        public Edit() {
+        }
+    }
+
+    /**
+     * Copies a single file.
+     */
+    public static class Copy {
+        @Ordered(order = 0)
+        String source;
+
+        /**
+         * Default constructor.
+         */
+        public Copy() {
+        }
+    }
+}
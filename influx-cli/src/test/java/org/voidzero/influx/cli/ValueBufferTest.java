@@ -0,0 +1,238 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.annotation.Ordered;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link ValueBuffer} and {@link ValueBuffers}, and for the collection and array fields which are populated
+ * from them.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ValueBufferTest {
+
+    @Test
+    public void testBufferGrows() {
+        ValueBuffer buffer = new ValueBuffer(1);
+
+        for (int i = 0; i < 100; i++) {
+            buffer.add(i);
+        }
+
+        assertEquals(100, buffer.size());
+        assertEquals(Integer.valueOf(99), ((Integer[]) buffer.toArray(null, Integer.class))[99]);
+    }
+
+    @Test
+    public void testAddToCreatesCollection() {
+        ValueBuffer buffer = new ValueBuffer(2);
+        buffer.add("a");
+        buffer.add("b");
+
+        assertEquals(ArrayList.class, buffer.addTo(null, List.class).getClass());
+        assertEquals(HashSet.class, buffer.addTo(null, Set.class).getClass());
+        assertEquals(LinkedList.class, buffer.addTo(null, Queue.class).getClass());
+    }
+
+    @Test
+    public void testAddToKeepsExistingElements() {
+        ValueBuffer buffer = new ValueBuffer(1);
+        buffer.add("b");
+
+        List<String> existing = new ArrayList<>(List.of("a"));
+
+        assertSame(existing, buffer.addTo(existing, List.class));
+        assertEquals(Arrays.asList("a", "b"), existing);
+    }
+
+    @Test
+    public void testToArrayKeepsExistingElements() {
+        ValueBuffer buffer = new ValueBuffer(1);
+        buffer.add("b");
+
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) buffer.toArray(new String[]{"a"}, String.class));
+    }
+
+    @Test
+    public void testToPrimitiveArray() {
+        ValueBuffer buffer = new ValueBuffer(2);
+        buffer.add(2);
+        buffer.add(3);
+
+        assertArrayEquals(new int[]{1, 2, 3}, (int[]) buffer.toArray(new int[]{1}, int.class));
+    }
+
+    @Test
+    public void testPrimitiveValuesAreCopiedInBulk() {
+        ValueBuffer buffer = new ValueBuffer(1);
+
+        for (long i = 0; i < 10; i++) {
+            buffer.addLong(i);
+        }
+
+        long[] array = (long[]) buffer.toArray(null, long.class);
+        assertEquals(10, array.length);
+        assertEquals(9L, array[9]);
+        assertEquals(Arrays.asList(0L, 1L), buffer.addTo(new ArrayList<Long>(), List.class).subList(0, 2));
+    }
+
+    @Test
+    public void testBuffersAreCreatedLazily() {
+        ValueBuffers buffers = new ValueBuffers(2, 0, new ArgumentCursor(new String[]{"a", "b"}, 0));
+
+        assertNull(buffers.find(1));
+        assertSame(buffers.get(1), buffers.find(1));
+        assertNull(buffers.find(0));
+    }
+
+    @Test
+    public void testTypedArray() throws ParseException, HelpException {
+        Values values = (Values) new InfluxCli().bind(Values.class, new String[]{"-n", "1", "-n", "2", "-n", "3"});
+
+        assertArrayEquals(new Integer[]{1, 2, 3}, values.numbers);
+    }
+
+    @Test
+    public void testInitializedCollectionIsKept() throws ParseException, HelpException {
+        Values values = (Values) new InfluxCli().bind(Values.class, new String[]{"-t", "b", "-t", "c"});
+
+        assertEquals(Arrays.asList("a", "b", "c"), values.tags);
+    }
+
+    @Test
+    public void testTrailingOrderedArrayReceivesRemainingValues() throws ParseException, HelpException {
+        Values values = (Values) new InfluxCli().bind(Values.class, new String[]{"first", "x", "y", "z"});
+
+        assertEquals("first", values.first);
+        assertArrayEquals(new String[]{"x", "y", "z"}, values.rest);
+    }
+
+    @Test
+    public void testPrimitiveArrays() throws ParseException, HelpException {
+        Vectors vectors = (Vectors) new InfluxCli().bind(Vectors.class, new String[]{
+            "--sizes", "1", "--sizes", "2", "--weights", "0.5", "--counts", "7", "--levels", "3", "9", "10"
+        });
+
+        assertArrayEquals(new int[]{1, 2}, vectors.sizes);
+        assertArrayEquals(new double[]{0.5}, vectors.weights, 0.0);
+        assertArrayEquals(new short[]{7}, vectors.counts);
+        assertArrayEquals(new long[]{0, 3}, vectors.levels);
+        assertArrayEquals(new long[]{9, 10}, vectors.rest);
+    }
+
+    @Test
+    public void testInvalidPrimitiveValue() throws HelpException {
+        try {
+            new InfluxCli().bind(Vectors.class, new String[]{"--sizes", "x"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string x into an instance of class int", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testManyPositionalValues() throws ParseException, HelpException {
+        String[] args = new String[200_001];
+        args[0] = "first";
+
+        for (int i = 1; i < args.length; i++) {
+            args[i] = "value" + i;
+        }
+
+        Values values = (Values) new InfluxCli().bind(Values.class, args);
+
+        assertEquals(200_000, values.rest.length);
+        assertEquals("value200000", values.rest[199_999]);
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively.
+     */
+    public static class Values {
+        @Arg(code = 'n', collectionType = Integer.class)
+        private Integer[] numbers;
+
+        @Arg(code = 't', collectionType = String.class)
+        private List<String> tags = new ArrayList<>(List.of("a"));
+
+        @Ordered(order = 0)
+        private String first;
+
+        @Ordered(order = 1, collectionType = String.class)
+        private String[] rest;
+
+        /**
+         * Default constructor.
+         */
+        public Values() {
+        }
+    }
+
+    /**
+     * Public so that it can be instantiated reflectively.
+     */
+    public static class Vectors {
+        @Arg
+        private int[] sizes;
+
+        @Arg(collectionType = Double.class)
+        private double[] weights;
+
+        @Arg
+        private short[] counts;
+
+        @Arg
+        private long[] levels = {0};
+
+        @Ordered(order = 0)
+        private long[] rest;
+
+        /**
+         * Default constructor.
+         */
+        public Vectors() {
+        }
+    }
+}
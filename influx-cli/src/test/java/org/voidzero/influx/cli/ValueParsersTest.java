@@ -0,0 +1,166 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+import org.voidzero.influx.cli.exception.UnsupportedTypeConversionException;
+
+/**
+ * Tests for {@link ValueParsers}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ValueParsersTest {
+
+    @Test
+    public void testParserIsResolvedOncePerField() {
+        FieldModel field = CommandModel.of(ParserConfig.class).getNamedField("count");
+        assertSame(field.getValueParser(null), field.getValueParser(null));
+        assertSame(ValueParsers.builtin(int.class), field.getValueParser(null));
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        assertNull(ValueParsers.builtin(Range.class));
+        assertNull(ValueParsers.builtin(null));
+
+        try {
+            new InfluxCli().bind(ParserConfig.class, new String[]{"--range", "1..2"});
+            fail("Expected an UnsupportedTypeConversionException");
+        } catch (UnsupportedTypeConversionException e) {
+            assertEquals("Unsupported type: " + Range.class.getCanonicalName(), e.getMessage());
+        } catch (ParseException | HelpException e) {
+            fail("Unexpected exception " + e);
+        }
+    }
+
+    @Test
+    public void testRegisteredParser() throws ParseException, HelpException {
+        ParserConfig config = (ParserConfig) new InfluxCli()
+                .register(Range.class, ValueParsersTest::parseRange)
+                .bind(ParserConfig.class, new String[]{"--range", "1..2"});
+
+        assertEquals(1, config.range.from);
+        assertEquals(2, config.range.to);
+    }
+
+    @Test
+    public void testRegisteredParserForCollection() throws ParseException, HelpException {
+        ParserConfig config = (ParserConfig) new InfluxCli()
+                .register(List.class, ValueParsersTest::parseRange)
+                .bind(ParserConfig.class, new String[]{"--ranges", "1..2", "--ranges", "3..4"});
+
+        assertEquals(2, config.ranges.size());
+        assertEquals(4, config.ranges.get(1).to);
+    }
+
+    @Test
+    public void testBuiltinTypeCannotBeOverridden() throws ParseException, HelpException {
+        ParserConfig config = (ParserConfig) new InfluxCli()
+                .register(int.class, value -> -1)
+                .bind(ParserConfig.class, new String[]{"--count", "42"});
+
+        assertEquals(42, config.count);
+    }
+
+    @Test
+    public void testRuntimeExceptionIsReported() {
+        InfluxCli influxCli = new InfluxCli().register(Range.class, value -> {
+            throw new IllegalArgumentException(value);
+        });
+
+        try {
+            influxCli.bind(ParserConfig.class, new String[]{"--range", "x"});
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string x into an instance of class " + Range.class, e.getMessage());
+        } catch (HelpException e) {
+            fail("Unexpected exception " + e);
+        }
+    }
+
+    @Test
+    public void testReflectionUtilReportsInvalidNumbers() {
+        try {
+            ReflectionUtil.parse(Integer.class, "abc");
+            fail("Expected a ParseException");
+        } catch (ParseException e) {
+            assertEquals("Failed to parse string abc into an instance of class " + Integer.class, e.getMessage());
+        }
+    }
+
+    private static Range parseRange(String value) {
+        String[] parts = value.split("\\.\\.");
+        return new Range(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    /**
+     * A type which is not supported by default.
+     */
+    public static class Range {
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a new range.
+         *
+         * @param from The first value
+         * @param to The last value
+         */
+        public Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Declares fields which are parsed by built-in and registered parsers.
+     */
+    public static class ParserConfig {
+        private int count;
+
+        private Range range;
+
+        @Arg(collectionType = Range.class)
+        private List<Range> ranges;
+
+        /**
+         * Default constructor.
+         */
+        public ParserConfig() {
+        }
+    }
+}
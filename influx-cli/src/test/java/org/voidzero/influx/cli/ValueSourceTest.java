@@ -0,0 +1,153 @@
+package org.voidzero.influx.cli;
+
+/*-
+ * #%L
+ * influx-cli
+ * %%
+ * Copyright (C) 2024 John Dunlap
+ * %%
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.voidzero.influx.cli.annotation.Arg;
+import org.voidzero.influx.cli.exception.HelpException;
+import org.voidzero.influx.cli.exception.ParseException;
+
+/**
+ * Tests for {@link ValueSource}.
+ *
+ * @author <a href="mailto:john.david.dunlap@gmail.com">John Dunlap</a>
+ */
+public class ValueSourceTest {
+    private static final String PROPERTY = "VALUE_SOURCE_TEST_PROPERTY";
+
+    @Test
+    public void testSystemSnapshot() {
+        System.setProperty(PROPERTY, "before");
+
+        try {
+            ValueSource snapshot = ValueSource.system();
+
+            assertEquals("before", snapshot.get(PROPERTY));
+            System.setProperty(PROPERTY, "after");
+
+            assertEquals("before", snapshot.get(PROPERTY));
+            assertEquals("after", ValueSource.system().get(PROPERTY));
+        } finally {
+            System.clearProperty(PROPERTY);
+        }
+
+        assertNull(ValueSource.system().get(PROPERTY));
+    }
+
+    @Test
+    public void testListingKeepsPropertiesWhichWereRead() {
+        System.setProperty(PROPERTY, "before");
+
+        try {
+            ValueSource snapshot = ValueSource.system();
+            snapshot.get(PROPERTY);
+            System.setProperty(PROPERTY, "after");
+
+            Map<String, String> listed = new HashMap<>();
+            snapshot.forEach(listed::put);
+
+            assertEquals("before", listed.get(PROPERTY));
+            assertEquals(System.getProperty("java.version"), listed.get("java.version"));
+        } finally {
+            System.clearProperty(PROPERTY);
+        }
+    }
+
+    @Test
+    public void testEmptyPropertyDoesNotOverrideEnvironment() {
+        assumeFalse(System.getenv().isEmpty());
+
+        Map.Entry<String, String> variable = System.getenv().entrySet().iterator().next();
+        String previous = System.getProperty(variable.getKey());
+        System.setProperty(variable.getKey(), "");
+
+        try {
+            assertEquals(variable.getValue(), ValueSource.system().get(variable.getKey()));
+        } finally {
+            if (previous == null) {
+                System.clearProperty(variable.getKey());
+            } else {
+                System.setProperty(variable.getKey(), previous);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyOfMap() {
+        Map<String, String> variables = new HashMap<>();
+        variables.put("A", "1");
+
+        ValueSource source = ValueSource.of(variables);
+        variables.put("A", "2");
+
+        assertEquals("1", source.get("A"));
+        assertNull(source.get("B"));
+    }
+
+    @Test
+    public void testVariablesAreReadFromSource() throws ParseException, HelpException {
+        InfluxCli influxCli = new InfluxCli().setValueSource(ValueSource.of(Map.of("VALUE_SOURCE_TEST_LIMIT", "12")));
+        Limits limits = (Limits) influxCli.bind(Limits.class, new String[0]);
+
+        assertEquals(12, limits.limit);
+    }
+
+    @Test
+    public void testFrozenCopyKeepsSource() throws ParseException, HelpException {
+        ValueSource source = name -> "VALUE_SOURCE_TEST_LIMIT".equals(name) ? "5" : null;
+        InfluxCli frozen = new InfluxCli().setValueSource(source).freeze();
+
+        assertSame(source, frozen.getValueSource());
+        assertEquals(5, ((Limits) frozen.bind(Limits.class, new String[0])).limit);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFrozenSourceCannotBeReplaced() {
+        new InfluxCli().freeze().setValueSource(ValueSource.of(Map.of()));
+    }
+
+    /**
+     * A command whose option defaults to a variable.
+     */
+    public static class Limits {
+        @Arg(environmentVariable = "VALUE_SOURCE_TEST_LIMIT")
+        int limit;
+
+        /**
+         * Default constructor.
+         */
+        public Limits() {
+        }
+    }
+}